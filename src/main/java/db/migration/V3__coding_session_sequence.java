@@ -0,0 +1,34 @@
+// src\main\java\db\migration\V3__coding_session_sequence.java
+package db.migration;
+
+import io.github.emadbytes.codetrack.model.CodingSession;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Creates the sequence coding session IDs are drawn from.
+ * Hibernate's pooled optimizer treats every value of the sequence as the upper
+ * end of a block of {@link CodingSession#ID_ALLOCATION_SIZE} IDs, so the
+ * sequence starts one block above the highest existing ID. This needs a
+ * query, which is why this migration is written in Java rather than SQL.
+ */
+public class V3__coding_session_sequence extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet result = statement.executeQuery("select coalesce(max(id), 0) from coding_sessions")) {
+                result.next();
+                maxId = result.getLong(1);
+            }
+            statement.execute("create sequence coding_sessions_seq start with "
+                    + (maxId + CodingSession.ID_ALLOCATION_SIZE)
+                    + " increment by " + CodingSession.ID_ALLOCATION_SIZE);
+        }
+    }
+}
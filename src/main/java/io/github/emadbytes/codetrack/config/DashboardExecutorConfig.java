@@ -0,0 +1,34 @@
+// src\main\java\io\github\emadbytes\codetrack\config\DashboardExecutorConfig.java
+package io.github.emadbytes.codetrack.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configures the bounded executor used to compute dashboard sections
+ * concurrently.
+ * Every running section holds a database connection, so the pool size should
+ * stay well below the size of the connection pool. When the queue is full the
+ * requesting thread computes the section itself.
+ */
+@Configuration
+public class DashboardExecutorConfig {
+
+    @Bean(name = "dashboardSectionExecutor")
+    ThreadPoolTaskExecutor dashboardSectionExecutor(
+            @Value("${codetrack.dashboard.parallel.threads:4}") int threads,
+            @Value("${codetrack.dashboard.parallel.queue-capacity:64}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
@@ -27,6 +29,7 @@ public class DevDataConfig {
     private final Random random = new Random();
 
     @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     CommandLineRunner initDatabase(
             UserRepository userRepository,
             CodingSessionRepository sessionRepository,
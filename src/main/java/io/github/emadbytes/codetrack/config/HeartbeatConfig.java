@@ -0,0 +1,37 @@
+// src\main\java\io\github\emadbytes\codetrack\config\HeartbeatConfig.java
+package io.github.emadbytes.codetrack.config;
+
+import io.github.emadbytes.codetrack.service.HeartbeatService;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatWriteBuffer;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically completes heartbeat sessions whose editor stopped sending
+ * heartbeats, so they do not stay in progress until the next heartbeat,
+ * and writes buffered heartbeats once the flush interval has passed.
+ */
+@Configuration
+@EnableScheduling
+public class HeartbeatConfig {
+
+    private final HeartbeatService heartbeatService;
+    private final HeartbeatWriteBuffer heartbeatWriteBuffer;
+
+    public HeartbeatConfig(HeartbeatService heartbeatService, HeartbeatWriteBuffer heartbeatWriteBuffer) {
+        this.heartbeatService = heartbeatService;
+        this.heartbeatWriteBuffer = heartbeatWriteBuffer;
+    }
+
+    @Scheduled(fixedDelayString = "${codetrack.heartbeat.sweep-interval:PT1M}")
+    void closeIdleSessions() {
+        heartbeatService.closeIdleSessions();
+    }
+
+    @Scheduled(fixedDelayString = "${codetrack.heartbeat.write-behind.flush-interval:PT1S}")
+    void flushHeartbeats() {
+        heartbeatWriteBuffer.flush();
+    }
+}
@@ -0,0 +1,39 @@
+// src\main\java\io\github\emadbytes\codetrack\config\HeartbeatWalConfig.java
+package io.github.emadbytes.codetrack.config;
+
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.service.HeartbeatService;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatLogApplier;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatWriteAheadLog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Sets up the local write-ahead log for heartbeats and the thread applying it.
+ * Disabled by default; with codetrack.heartbeat.wal.enabled=true heartbeat
+ * requests are acknowledged once logged, and recorded as sessions shortly after.
+ */
+@Configuration
+@ConditionalOnProperty(name = "codetrack.heartbeat.wal.enabled", havingValue = "true")
+public class HeartbeatWalConfig {
+
+    @Bean(destroyMethod = "close")
+    HeartbeatWriteAheadLog heartbeatWriteAheadLog(
+            @Value("${codetrack.heartbeat.wal.directory:./data/heartbeat-wal}") Path directory,
+            @Value("${codetrack.heartbeat.wal.segment-size:67108864}") int segmentSize) throws IOException {
+        return new HeartbeatWriteAheadLog(directory, segmentSize);
+    }
+
+    @Bean
+    HeartbeatLogApplier heartbeatLogApplier(HeartbeatWriteAheadLog heartbeatWriteAheadLog,
+            HeartbeatService heartbeatService, UserRepository userRepository,
+            @Value("${codetrack.heartbeat.wal.apply-chunk-size:5000}") int chunkSize) {
+        return new HeartbeatLogApplier(heartbeatWriteAheadLog, heartbeatService, userRepository, chunkSize);
+    }
+}
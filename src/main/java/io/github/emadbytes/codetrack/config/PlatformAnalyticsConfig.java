@@ -0,0 +1,29 @@
+// src\main\java\io\github\emadbytes\codetrack\config\PlatformAnalyticsConfig.java
+package io.github.emadbytes.codetrack.config;
+
+import io.github.emadbytes.codetrack.service.stats.PlatformSessionColumns;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically appends newly completed sessions to the platform-wide session
+ * columns. The first refresh loads the whole session history.
+ */
+@Configuration
+@EnableScheduling
+public class PlatformAnalyticsConfig {
+
+    private final PlatformSessionColumns platformSessionColumns;
+
+    public PlatformAnalyticsConfig(PlatformSessionColumns platformSessionColumns) {
+        this.platformSessionColumns = platformSessionColumns;
+    }
+
+    @Scheduled(initialDelayString = "${codetrack.analytics.refresh-initial-delay:PT10S}",
+            fixedDelayString = "${codetrack.analytics.refresh-interval:PT1M}")
+    void refreshSessionColumns() {
+        platformSessionColumns.refresh();
+    }
+}
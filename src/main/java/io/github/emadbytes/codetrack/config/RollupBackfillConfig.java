@@ -0,0 +1,42 @@
+// src\main\java\io\github\emadbytes\codetrack\config\RollupBackfillConfig.java
+package io.github.emadbytes.codetrack.config;
+
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.repository.UserDailyActivityRepository;
+import io.github.emadbytes.codetrack.service.DailyActivityRollupService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Backfills the daily activity rollup on startup.
+ * Databases created before the rollup existed have sessions but no rollup
+ * rows; those are rebuilt once from the coding_sessions table.
+ */
+@Configuration
+@ConditionalOnProperty(name = "codetrack.rollup.backfill-on-startup", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RollupBackfillConfig {
+
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    CommandLineRunner backfillDailyActivity(
+            CodingSessionRepository sessionRepository,
+            UserDailyActivityRepository dailyActivityRepository,
+            DailyActivityRollupService rollupService) {
+
+        return args -> {
+            if (dailyActivityRepository.count() == 0 && sessionRepository.count() > 0) {
+                log.info("Daily activity rollup is empty. Backfilling from coding sessions...");
+                int rows = rollupService.rebuildAll();
+                log.info("Backfilled {} daily activity rows", rows);
+            }
+        };
+    }
+}
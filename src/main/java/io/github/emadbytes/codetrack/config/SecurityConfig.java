@@ -7,9 +7,12 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -26,6 +29,27 @@ public class SecurityConfig {
                 this.oAuth2UserService = oAuth2UserService;
         }
 
+        /**
+         * Editor plugins post heartbeats with HTTP Basic on every request.
+         * The chain ignores sessions, so a browser's login cookie cannot
+         * authenticate these requests, which is what makes skipping CSRF
+         * protection safe here.
+         */
+        @Bean
+        @Order(1)
+        public SecurityFilterChain heartbeatFilterChain(HttpSecurity http) throws Exception {
+                http
+                                .securityMatcher("/api/heartbeats/**")
+                                .csrf(csrf -> csrf.disable())
+                                .sessionManagement(session -> session
+                                                .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                                .authorizeHttpRequests(auth -> auth
+                                                .anyRequest().authenticated())
+                                .httpBasic(Customizer.withDefaults());
+
+                return http.build();
+        }
+
         @Bean
         public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
                 http
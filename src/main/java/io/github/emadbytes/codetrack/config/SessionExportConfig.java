@@ -0,0 +1,50 @@
+// src\main\java\io\github\emadbytes\codetrack\config\SessionExportConfig.java
+package io.github.emadbytes.codetrack.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Configures the threads that write streaming responses such as session exports.
+ * Every running export holds a database connection for as long as the client
+ * keeps reading, so the number of concurrent exports is bounded; further
+ * requests are rejected instead of queued indefinitely.
+ */
+@Configuration
+public class SessionExportConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor exportExecutor;
+    private final Duration timeout;
+
+    public SessionExportConfig(@Qualifier("sessionExportExecutor") ThreadPoolTaskExecutor exportExecutor,
+            @Value("${codetrack.export.timeout:PT30M}") Duration timeout) {
+        this.exportExecutor = exportExecutor;
+        this.timeout = timeout;
+    }
+
+    @Bean(name = "sessionExportExecutor")
+    static ThreadPoolTaskExecutor sessionExportExecutor(
+            @Value("${codetrack.export.threads:2}") int threads,
+            @Value("${codetrack.export.queue-capacity:8}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("export-");
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportExecutor);
+        configurer.setDefaultTimeout(timeout.toMillis());
+    }
+}
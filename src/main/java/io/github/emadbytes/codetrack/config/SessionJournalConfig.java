@@ -0,0 +1,29 @@
+// src\main\java\io\github\emadbytes\codetrack\config\SessionJournalConfig.java
+package io.github.emadbytes.codetrack.config;
+
+import io.github.emadbytes.codetrack.service.SessionJournalService;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically snapshots the daily activity of users with many journal events
+ * since their last snapshot, so replaying them stays short.
+ */
+@Configuration
+@EnableScheduling
+public class SessionJournalConfig {
+
+    private final SessionJournalService sessionJournalService;
+
+    public SessionJournalConfig(SessionJournalService sessionJournalService) {
+        this.sessionJournalService = sessionJournalService;
+    }
+
+    @Scheduled(initialDelayString = "${codetrack.journal.snapshot-initial-delay:PT5M}",
+            fixedDelayString = "${codetrack.journal.snapshot-interval:PT1H}")
+    void takeSnapshots() {
+        sessionJournalService.takeSnapshots();
+    }
+}
@@ -0,0 +1,38 @@
+// src\main\java\io\github\emadbytes\codetrack\config\SessionReaperConfig.java
+package io.github.emadbytes.codetrack.config;
+
+import io.github.emadbytes.codetrack.service.SessionReaperService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Periodically cancels coding sessions that have been left in progress for
+ * longer than the idle cutoff. Enabled by default; disable it with
+ * codetrack.reaper.enabled=false.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "codetrack.reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class SessionReaperConfig {
+
+    private final SessionReaperService sessionReaperService;
+    private final Duration idleCutoff;
+
+    public SessionReaperConfig(SessionReaperService sessionReaperService,
+            @Value("${codetrack.reaper.idle-cutoff:PT12H}") Duration idleCutoff) {
+        this.sessionReaperService = sessionReaperService;
+        this.idleCutoff = idleCutoff;
+    }
+
+    @Scheduled(initialDelayString = "${codetrack.reaper.initial-delay:PT1M}",
+            fixedDelayString = "${codetrack.reaper.interval:PT15M}")
+    void reapStaleSessions() {
+        sessionReaperService.reapStaleSessions(idleCutoff);
+    }
+}
@@ -0,0 +1,49 @@
+// src\main\java\io\github\emadbytes\codetrack\config\SyntheticDataConfig.java
+package io.github.emadbytes.codetrack.config;
+
+import io.github.emadbytes.codetrack.service.SyntheticDataService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.LocalDate;
+
+/**
+ * Generates a synthetic dataset on startup for load tests and benchmarks.
+ * Disabled by default; enable it with codetrack.synthetic.enabled=true and size
+ * the dataset with the other codetrack.synthetic properties.
+ */
+@Configuration
+@ConditionalOnProperty(name = "codetrack.synthetic.enabled", havingValue = "true")
+@Slf4j
+public class SyntheticDataConfig {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    CommandLineRunner generateSyntheticData(
+            SyntheticDataService syntheticDataService,
+            @Value("${codetrack.synthetic.users:100}") int users,
+            @Value("${codetrack.synthetic.years:2}") int years,
+            @Value("${codetrack.synthetic.sessions-per-day:3}") double sessionsPerDay,
+            @Value("${codetrack.synthetic.projects:20}") int projects,
+            @Value("${codetrack.synthetic.skew:1.1}") double skew,
+            @Value("${codetrack.synthetic.seed:42}") long seed,
+            @Value("${codetrack.synthetic.threads:4}") int threads,
+            @Value("${codetrack.synthetic.batch-size:1000}") int batchSize,
+            @Value("${codetrack.synthetic.username-prefix:loaduser}") String usernamePrefix) {
+
+        return args -> {
+            SyntheticDataService.Settings settings = new SyntheticDataService.Settings(users, years,
+                    sessionsPerDay, projects, skew, seed, threads, batchSize, usernamePrefix, LocalDate.now());
+            SyntheticDataService.Summary summary = syntheticDataService.generate(settings);
+            log.info("Synthetic data: {}", summary);
+        };
+    }
+}
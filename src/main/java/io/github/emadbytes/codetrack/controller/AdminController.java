@@ -0,0 +1,209 @@
+// src\main\java\io\github\emadbytes\codetrack\controller\AdminController.java
+package io.github.emadbytes.codetrack.controller;
+
+import io.github.emadbytes.codetrack.service.SessionExportService;
+import io.github.emadbytes.codetrack.service.SessionImportService;
+import io.github.emadbytes.codetrack.service.SessionJournalService;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatWriteAheadLog;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatWriteBuffer;
+import io.github.emadbytes.codetrack.service.stats.DashboardStatsCache;
+import io.github.emadbytes.codetrack.service.stats.PlatformSessionColumns;
+import io.github.emadbytes.codetrack.service.stats.SessionColumnStore;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller exposing operational information to administrators.
+ * Access is restricted to the ADMIN role by the security configuration.
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final DashboardStatsCache dashboardStatsCache;
+    private final SessionExportService sessionExportService;
+    private final SessionImportService sessionImportService;
+    private final HeartbeatWriteBuffer heartbeatWriteBuffer;
+    private final SessionJournalService sessionJournalService;
+    private final ObjectProvider<HeartbeatWriteAheadLog> heartbeatWriteAheadLog;
+    private final SessionColumnStore sessionColumnStore;
+    private final PlatformSessionColumns platformSessionColumns;
+
+    public AdminController(DashboardStatsCache dashboardStatsCache, SessionExportService sessionExportService,
+            SessionImportService sessionImportService, HeartbeatWriteBuffer heartbeatWriteBuffer,
+            SessionJournalService sessionJournalService, ObjectProvider<HeartbeatWriteAheadLog> heartbeatWriteAheadLog,
+            SessionColumnStore sessionColumnStore, PlatformSessionColumns platformSessionColumns) {
+        this.dashboardStatsCache = dashboardStatsCache;
+        this.sessionExportService = sessionExportService;
+        this.sessionImportService = sessionImportService;
+        this.heartbeatWriteBuffer = heartbeatWriteBuffer;
+        this.sessionJournalService = sessionJournalService;
+        this.heartbeatWriteAheadLog = heartbeatWriteAheadLog;
+        this.sessionColumnStore = sessionColumnStore;
+        this.platformSessionColumns = platformSessionColumns;
+    }
+
+    @Operation(summary = "Show the hit, miss and eviction counters of the dashboard cache")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache statistics successfully retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = DashboardStatsCache.Statistics.class)))
+    })
+    @GetMapping("/dashboard-cache")
+    public DashboardStatsCache.Statistics getDashboardCacheStatistics() {
+        return dashboardStatsCache.getStatistics();
+    }
+
+    @Operation(summary = "Show how many users and sessions the analytics session columns hold and their estimated memory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Column statistics successfully retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SessionColumnStore.Statistics.class)))
+    })
+    @GetMapping("/session-columns")
+    public SessionColumnStore.Statistics getSessionColumnStatistics() {
+        return sessionColumnStore.getStatistics();
+    }
+
+    @Operation(summary = "Show the coalescing and flush counters of the heartbeat write buffer")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Buffer statistics successfully retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeartbeatWriteBuffer.Statistics.class)))
+    })
+    @GetMapping("/heartbeat-buffer")
+    public HeartbeatWriteBuffer.Statistics getHeartbeatBufferStatistics() {
+        return heartbeatWriteBuffer.getStatistics();
+    }
+
+    @Operation(summary = "Show the positions of the heartbeat write-ahead log and how far applying it lags behind")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Log statistics successfully retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeartbeatWriteAheadLog.Statistics.class))),
+            @ApiResponse(responseCode = "404", description = "The heartbeat write-ahead log is not enabled")
+    })
+    @GetMapping("/heartbeat-wal")
+    public HeartbeatWriteAheadLog.Statistics getHeartbeatLogStatistics() {
+        HeartbeatWriteAheadLog writeAheadLog = heartbeatWriteAheadLog.getIfAvailable();
+        if (writeAheadLog == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The heartbeat write-ahead log is not enabled");
+        }
+        return writeAheadLog.getStatistics();
+    }
+
+    @Operation(summary = "Rebuild the daily activity of every user from the session event journal")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Daily activity rebuilt", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SessionJournalService.Report.class)))
+    })
+    @PostMapping("/journal/replay")
+    public SessionJournalService.Report replayJournal() {
+        return sessionJournalService.replayAll();
+    }
+
+    @Operation(summary = "Snapshot the daily activity of users with many journal events since their last snapshot")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of snapshots taken")
+    })
+    @PostMapping("/journal/snapshots")
+    public int takeJournalSnapshots() {
+        return sessionJournalService.takeSnapshots();
+    }
+
+    @Operation(summary = "Show the size of the off-heap platform session columns and the last journal event applied")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Column statistics successfully retrieved", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PlatformSessionColumns.Statistics.class)))
+    })
+    @GetMapping("/analytics")
+    public PlatformSessionColumns.Statistics getPlatformAnalyticsStatistics() {
+        return platformSessionColumns.getStatistics();
+    }
+
+    @Operation(summary = "Total the completed sessions of every user, optionally within a date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Totals per user, most minutes first")
+    })
+    @GetMapping("/analytics/users")
+    public List<PlatformSessionColumns.UserTotals> getTotalsByUser(
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate) {
+        return platformSessionColumns.totalsByUser(startDate, endDate);
+    }
+
+    @Operation(summary = "Total the completed sessions of every project across all users, optionally within a date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Totals per project, most minutes first")
+    })
+    @GetMapping("/analytics/projects")
+    public List<PlatformSessionColumns.ProjectTotals> getTotalsByProject(
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate) {
+        return platformSessionColumns.totalsByProject(startDate, endDate);
+    }
+
+    @Operation(summary = "Total the completed sessions of all users per day, for the last 30 days by default")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Totals per day of the range"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    @GetMapping("/analytics/days")
+    public List<PlatformSessionColumns.DayTotals> getTotalsByDay(
+            @RequestParam(required = false) LocalDate startDate,
+            @RequestParam(required = false) LocalDate endDate) {
+        if (endDate == null) {
+            endDate = LocalDate.now();
+        }
+        if (startDate == null) {
+            startDate = endDate.minusDays(29);
+        }
+        try {
+            return platformSessionColumns.totalsByDay(startDate, endDate);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @Operation(summary = "Export the coding sessions of every user as CSV or NDJSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Coding sessions are streamed as an attachment", content = {
+                    @Content(mediaType = "text/csv"),
+                    @Content(mediaType = "application/x-ndjson") }),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format")
+    })
+    @GetMapping("/sessions/export")
+    public ResponseEntity<StreamingResponseBody> exportAllSessions(@RequestParam(defaultValue = "csv") String format) {
+        SessionExportService.Format exportFormat = ExportResponses.resolveFormat(format);
+        StreamingResponseBody body = output -> sessionExportService.exportAllSessions(exportFormat, output);
+        return ExportResponses.attachment("sessions-all", exportFormat, body);
+    }
+
+    @Operation(summary = "Import completed coding sessions of any user from a CSV or NDJSON file, matched by username")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sessions imported, invalid rows are listed in the report", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SessionImportService.Report.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or unreadable file")
+    })
+    @PostMapping("/sessions/import")
+    public SessionImportService.Report importSessions(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "csv") String format) {
+        SessionExportService.Format importFormat = ExportResponses.resolveFormat(format);
+        try (InputStream input = file.getInputStream()) {
+            return sessionImportService.importSessions(importFormat, input);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read import file: " + e.getMessage(), e);
+        }
+    }
+}
@@ -3,24 +3,31 @@ package io.github.emadbytes.codetrack.controller;
 
 import io.github.emadbytes.codetrack.dto.CodingSessionDTO;
 import io.github.emadbytes.codetrack.dto.NewSessionRequest;
+import io.github.emadbytes.codetrack.dto.SessionCursor;
+import io.github.emadbytes.codetrack.dto.SessionPage;
 import io.github.emadbytes.codetrack.exception.UserNotFoundException;
 import io.github.emadbytes.codetrack.model.CodingSession;
 import io.github.emadbytes.codetrack.model.User;
 import io.github.emadbytes.codetrack.service.CodingSessionService;
+import io.github.emadbytes.codetrack.service.SessionExportService;
+import io.github.emadbytes.codetrack.service.SessionImportService;
 import io.github.emadbytes.codetrack.service.UserService;
 
 import jakarta.validation.Valid;
 
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,6 +36,9 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * Controller for managing coding sessions.
  * Handles web requests related to coding session management.
@@ -38,12 +48,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 @Slf4j
 public class CodingSessionController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CodingSessionService codingSessionService;
     private final UserService userService;
+    private final SessionExportService sessionExportService;
+    private final SessionImportService sessionImportService;
 
-    public CodingSessionController(CodingSessionService codingSessionService, UserService userService) {
+    public CodingSessionController(CodingSessionService codingSessionService, UserService userService,
+            SessionExportService sessionExportService, SessionImportService sessionImportService) {
         this.codingSessionService = codingSessionService;
         this.userService = userService;
+        this.sessionExportService = sessionExportService;
+        this.sessionImportService = sessionImportService;
     }
 
     @Operation(summary = "Show detailed view of a specific coding session")
@@ -53,14 +70,10 @@ public class CodingSessionController {
     })
     @GetMapping("/{id}")
     public String viewSession(@PathVariable Long id, Model model) {
-        CodingSession rawSession = codingSessionService.getSession(id);
-        CodingSessionDTO sessionDto = CodingSessionDTO.fromEntity(rawSession);
+        CodingSessionDTO sessionDto = codingSessionService.getSessionView(id);
 
         // Use a different name to avoid conflict with HttpSession
         model.addAttribute("codingSession", sessionDto);
-        model.addAttribute("rawSession", rawSession);
-
-        log.debug("Added to model - codingSession: {}", sessionDto);
 
         return "sessions/detail";
     }
@@ -73,28 +86,77 @@ public class CodingSessionController {
     @GetMapping
     public String listSessions(
             @AuthenticationPrincipal UserDetails userDetails,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean count,
             Model model) {
 
         User user = userService.getUserByUsername(userDetails.getUsername())
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + userDetails.getUsername()));
-        Page<CodingSession> sessions = codingSessionService.getUserSessions(
-                user, PageRequest.of(page, size));
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        SessionPage sessions = codingSessionService.getUserSessions(
+                user, SessionCursor.decode(after), SessionCursor.decode(before), pageSize, count);
 
-        model.addAttribute("sessions", sessions.map(CodingSessionDTO::fromEntity));
-        model.addAttribute("currentPage", page);
-        model.addAttribute("totalPages", sessions.getTotalPages());
+        model.addAttribute("sessions", sessions);
+        model.addAttribute("pageSize", pageSize);
+        model.addAttribute("count", count);
 
         // Add current session if exists
-        CodingSession currentSession = codingSessionService.getCurrentSession(user);
+        CodingSessionDTO currentSession = codingSessionService.getCurrentSession(user);
         if (currentSession != null) {
-            model.addAttribute("currentSession", CodingSessionDTO.fromEntity(currentSession));
+            model.addAttribute("currentSession", currentSession);
         }
 
         return "sessions/list";
     }
 
+    @Operation(summary = "Export all of the user's coding sessions as CSV or NDJSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Coding sessions are streamed as an attachment", content = {
+                    @Content(mediaType = "text/csv"),
+                    @Content(mediaType = "application/x-ndjson") }),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSessions(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        User user = userService.getUserByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + userDetails.getUsername()));
+        SessionExportService.Format exportFormat = ExportResponses.resolveFormat(format);
+        Long userId = user.getId();
+
+        // The body is written on an async thread after this method returns
+        StreamingResponseBody body = output -> sessionExportService.exportUserSessions(userId, exportFormat, output);
+        return ExportResponses.attachment("sessions-" + user.getUsername(), exportFormat, body);
+    }
+
+    @Operation(summary = "Import completed coding sessions for the user from a CSV or NDJSON file")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sessions imported, invalid rows are listed in the report", content = @Content(mediaType = "application/json", schema = @Schema(implementation = SessionImportService.Report.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported format or unreadable file"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    @PostMapping("/import")
+    @ResponseBody
+    public SessionImportService.Report importSessions(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        User user = userService.getUserByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + userDetails.getUsername()));
+        SessionExportService.Format importFormat = ExportResponses.resolveFormat(format);
+        try (InputStream input = file.getInputStream()) {
+            return sessionImportService.importUserSessions(user.getId(), importFormat, input);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read import file: " + e.getMessage(), e);
+        }
+    }
+
     @Operation(summary = "Show the form for starting a new coding session")
     @GetMapping("/start")
     public String showStartForm(Model model) {
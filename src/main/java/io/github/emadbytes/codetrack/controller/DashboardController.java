@@ -14,6 +14,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -99,6 +100,8 @@ public class DashboardController {
 
         model.addAttribute("detailedStats",
                 dashboardService.getDetailedStats(user, startDate, endDate));
+        model.addAttribute("rangeTotals",
+                dashboardService.getRangeTotals(user, startDate, endDate));
 
         return "dashboard/detailed-stats";
     }
@@ -115,4 +118,18 @@ public class DashboardController {
         model.addAttribute("projectStats", dashboardService.getProjectStats(user));
         return "dashboard/project-stats";
     }
+
+    @Operation(summary = "Display coding time per weekday and hour of the day")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Heatmap successfully retrieved", content = @Content(mediaType = "text/html", schema = @Schema(implementation = String.class)))
+    })
+    @GetMapping("/heatmap")
+    public String showHeatmap(@AuthenticationPrincipal UserDetails userDetails, Model model) {
+        User user = userService.getUserByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        model.addAttribute("heatmap", dashboardService.getProductivityHeatmap(user));
+        model.addAttribute("weekdays", DayOfWeek.values());
+        return "dashboard/heatmap";
+    }
 }
\ No newline at end of file
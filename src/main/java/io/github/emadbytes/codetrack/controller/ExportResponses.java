@@ -0,0 +1,56 @@
+// src\main\java\io\github\emadbytes\codetrack\controller\ExportResponses.java
+package io.github.emadbytes.codetrack.controller;
+
+import io.github.emadbytes.codetrack.service.SessionExportService;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers shared by the session export endpoints.
+ */
+final class ExportResponses {
+
+    private ExportResponses() {
+    }
+
+    /**
+     * Resolves the format request parameter of an export endpoint.
+     *
+     * @param format the requested format name
+     * @return the matching export format
+     * @throws ResponseStatusException with status 400 if the format is not supported
+     */
+    static SessionExportService.Format resolveFormat(String format) {
+        try {
+            return SessionExportService.Format.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+    }
+
+    /**
+     * Wraps a streaming export body in a downloadable response.
+     *
+     * @param fileName file name without extension
+     * @param format   format of the body
+     * @param body     writer of the body
+     * @return the response
+     */
+    static ResponseEntity<StreamingResponseBody> attachment(String fileName, SessionExportService.Format format,
+            StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName + "." + format.getFileExtension(), StandardCharsets.UTF_8)
+                        .build().toString())
+                .body(body);
+    }
+}
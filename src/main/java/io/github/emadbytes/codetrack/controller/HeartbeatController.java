@@ -0,0 +1,104 @@
+// src\main\java\io\github\emadbytes\codetrack\controller\HeartbeatController.java
+package io.github.emadbytes.codetrack.controller;
+
+import io.github.emadbytes.codetrack.dto.HeartbeatRequest;
+import io.github.emadbytes.codetrack.exception.UserNotFoundException;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.service.HeartbeatService;
+import io.github.emadbytes.codetrack.service.UserService;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatLogApplier;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatWriteAheadLog;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import java.util.List;
+
+/**
+ * Controller receiving heartbeats from editor plugins.
+ * Plugins authenticate with HTTP Basic and send the heartbeats collected
+ * since their last request as a JSON array. When the heartbeat write-ahead
+ * log is enabled, batches are logged and acknowledged with 202 Accepted, and
+ * recorded as sessions in the background. Batches are refused with 503
+ * Service Unavailable while the log is not being applied.
+ */
+@RestController
+@RequestMapping("/api/heartbeats")
+public class HeartbeatController {
+
+    private final HeartbeatService heartbeatService;
+    private final UserService userService;
+    private final HeartbeatWriteAheadLog writeAheadLog;
+    private final HeartbeatLogApplier logApplier;
+    private final int maxBatchSize;
+
+    public HeartbeatController(HeartbeatService heartbeatService, UserService userService,
+            ObjectProvider<HeartbeatWriteAheadLog> writeAheadLog, ObjectProvider<HeartbeatLogApplier> logApplier,
+            @Value("${codetrack.heartbeat.max-batch-size:1000}") int maxBatchSize) {
+        this.heartbeatService = heartbeatService;
+        this.userService = userService;
+        this.writeAheadLog = writeAheadLog.getIfAvailable();
+        this.logApplier = logApplier.getIfAvailable();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Operation(summary = "Record a batch of editor heartbeats as coding sessions")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Heartbeats recorded", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeartbeatService.Result.class))),
+            @ApiResponse(responseCode = "202", description = "Heartbeats logged, they are recorded shortly", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HeartbeatService.Result.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid heartbeat"),
+            @ApiResponse(responseCode = "409", description = "The session changed concurrently, the batch can be sent again"),
+            @ApiResponse(responseCode = "413", description = "Too many heartbeats in one batch"),
+            @ApiResponse(responseCode = "503", description = "Logged heartbeats are not being recorded, the batch can be sent again later")
+    })
+    @PostMapping
+    public ResponseEntity<HeartbeatService.Result> recordHeartbeats(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody List<@Valid HeartbeatRequest> heartbeats) {
+
+        if (heartbeats.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "At most " + maxBatchSize + " heartbeats are accepted per request");
+        }
+        User user = userService.getUserByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UserNotFoundException("User not found: " + userDetails.getUsername()));
+
+        List<HeartbeatService.Heartbeat> batch = heartbeats.stream()
+                .map(request -> new HeartbeatService.Heartbeat(
+                        request.getTime(), request.getProject(), request.getFileType()))
+                .toList();
+        if (writeAheadLog != null) {
+            if (logApplier == null || !logApplier.isApplying()) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Heartbeats cannot be recorded right now, please retry later");
+            }
+            writeAheadLog.append(user.getId(), batch);
+            return ResponseEntity.accepted().body(new HeartbeatService.Result(batch.size(), 0, 0, 0));
+        }
+        try {
+            return ResponseEntity.ok(heartbeatService.ingest(user, batch));
+        } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "The coding session changed while recording heartbeats, please retry", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+// src\main\java\io\github\emadbytes\codetrack\dto\ActiveSession.java
+package io.github.emadbytes.codetrack.dto;
+
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable snapshot of a user's in-progress coding session.
+ *
+ * @param sessionId   ID of the session
+ * @param userId      ID of the user owning the session
+ * @param startTime   when the session started
+ * @param projectName project the session is tracked against, may be null
+ */
+public record ActiveSession(
+        Long sessionId,
+        Long userId,
+        LocalDateTime startTime,
+        String projectName) {
+
+    /**
+     * Creates a snapshot from a session start event.
+     *
+     * @param event the started session
+     * @return snapshot of the session
+     */
+    public static ActiveSession of(SessionStartedEvent event) {
+        return new ActiveSession(event.sessionId(), event.userId(), event.startTime(), event.projectName());
+    }
+
+    /**
+     * Converts the snapshot to a session DTO for display.
+     *
+     * @param username the owner's username
+     * @return DTO of the in-progress session
+     */
+    public CodingSessionDTO toDto(String username) {
+        return new CodingSessionDTO(sessionId, userId, username, startTime, null, null, projectName,
+                SessionStatus.IN_PROGRESS, null);
+    }
+}
@@ -6,7 +6,6 @@ import io.github.emadbytes.codetrack.model.SessionStatus;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
 
@@ -17,7 +16,6 @@ import java.time.LocalDateTime;
  */
 @Data
 @NoArgsConstructor
-@Slf4j
 public class CodingSessionDTO {
     private Long id;
     private Long userId;
@@ -30,6 +28,36 @@ public class CodingSessionDTO {
     private Long durationMinutes;
     private String formattedDuration;
 
+    /**
+     * Creates a DTO directly from selected columns.
+     * Used as a JPQL constructor expression so that read-only views are
+     * loaded without managing {@link CodingSession} entities.
+     *
+     * @param id              session ID
+     * @param userId          owner's ID
+     * @param username        owner's username
+     * @param startTime       start of the session
+     * @param endTime         end of the session, null while in progress
+     * @param description     optional description
+     * @param projectName     optional project name
+     * @param status          session status
+     * @param durationMinutes duration in minutes, null while in progress
+     */
+    public CodingSessionDTO(Long id, Long userId, String username, LocalDateTime startTime,
+            LocalDateTime endTime, String description, String projectName, SessionStatus status,
+            Long durationMinutes) {
+        this.id = id;
+        this.userId = userId;
+        this.username = username;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.description = description;
+        this.projectName = projectName;
+        this.status = status;
+        this.durationMinutes = durationMinutes;
+        this.formattedDuration = formatDuration(durationMinutes);
+    }
+
     /**
      * Converts a CodingSession entity to its DTO representation.
      *
@@ -37,26 +65,22 @@ public class CodingSessionDTO {
      * @return DTO representation of the coding session
      */
     public static CodingSessionDTO fromEntity(CodingSession session) {
-        log.debug("Converting session to DTO. Input session: {}", session);
-
-        CodingSessionDTO dto = new CodingSessionDTO();
-        dto.setId(session.getId());
-        dto.setUserId(session.getUser().getId());
-        dto.setUsername(session.getUser().getUsername());
-        dto.setStartTime(session.getStartTime());
-        dto.setEndTime(session.getEndTime());
-        dto.setDescription(session.getDescription());
-        dto.setProjectName(session.getProjectName());
-        dto.setStatus(session.getStatus());
-        dto.setDurationMinutes(session.getDurationMinutes());
+        return new CodingSessionDTO(
+                session.getId(),
+                session.getUser().getId(),
+                session.getUser().getUsername(),
+                session.getStartTime(),
+                session.getEndTime(),
+                session.getDescription(),
+                session.getProjectName(),
+                session.getStatus(),
+                session.getDurationMinutes());
+    }
 
-        if (session.getDurationMinutes() != null) {
-            long hours = session.getDurationMinutes() / 60;
-            long minutes = session.getDurationMinutes() % 60;
-            dto.setFormattedDuration(String.format("%dh %dm", hours, minutes));
+    private static String formatDuration(Long durationMinutes) {
+        if (durationMinutes == null) {
+            return null;
         }
-
-        log.debug("Converted DTO: {}", dto);
-        return dto;
+        return String.format("%dh %dm", durationMinutes / 60, durationMinutes % 60);
     }
 }
\ No newline at end of file
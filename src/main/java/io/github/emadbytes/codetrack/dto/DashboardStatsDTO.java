@@ -68,4 +68,9 @@ public class DashboardStatsDTO {
      */
     private Long currentMonthDailyAverage;
 
+    /**
+     * Whether some figures are fallback values because their section timed out
+     */
+    private boolean partial;
+
 }
@@ -0,0 +1,26 @@
+// src\main\java\io\github\emadbytes\codetrack\dto\HeartbeatRequest.java
+package io.github.emadbytes.codetrack.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a single heartbeat sent by an editor plugin.
+ * Plugins send heartbeats in batches while the user is editing.
+ */
+@Data
+public class HeartbeatRequest {
+
+    @NotNull(message = "Time is required")
+    private LocalDateTime time;
+
+    @Size(max = 100, message = "Project name cannot exceed 100 characters")
+    private String project;
+
+    @Size(max = 50, message = "File type cannot exceed 50 characters")
+    private String fileType;
+}
@@ -0,0 +1,26 @@
+// src\main\java\io\github\emadbytes\codetrack\dto\HeatmapDTO.java
+package io.github.emadbytes.codetrack.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for the weekday by hour productivity heatmap.
+ */
+@Data
+public class HeatmapDTO {
+
+    /**
+     * Coding minutes per weekday (Monday first) and hour of the day
+     */
+    private long[][] minutes;
+
+    /**
+     * Largest value in the heatmap, used to scale the cell colors
+     */
+    private long maxMinutes;
+
+    /**
+     * Hour of the day with the most coding time over all weekdays
+     */
+    private Integer mostProductiveHour;
+}
@@ -0,0 +1,50 @@
+// src\main\java\io\github\emadbytes\codetrack\dto\SessionCursor.java
+package io.github.emadbytes.codetrack.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the session list, ordered by start time and ID (both descending).
+ * Encoded as an opaque URL-safe string for use in links.
+ *
+ * @param startTime start time of the session at the position
+ * @param id        ID of the session at the position
+ */
+public record SessionCursor(LocalDateTime startTime, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * @return URL-safe representation of this cursor
+     */
+    public String encode() {
+        String raw = startTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor previously produced by {@link #encode()}.
+     *
+     * @param value encoded cursor, may be null or blank
+     * @return the cursor, or null if the value is missing or malformed
+     */
+    public static SessionCursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return null;
+            }
+            return new SessionCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
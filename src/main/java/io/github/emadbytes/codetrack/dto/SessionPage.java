@@ -0,0 +1,38 @@
+// src\main\java\io\github\emadbytes\codetrack\dto\SessionPage.java
+package io.github.emadbytes.codetrack.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a user's coding sessions, addressed by cursors instead of
+ * page numbers.
+ */
+@Data
+public class SessionPage {
+
+    /**
+     * Sessions on this page, newest first
+     */
+    private List<CodingSessionDTO> content;
+
+    /**
+     * Cursor of the following (older) page, null on the last page
+     */
+    private String nextCursor;
+
+    /**
+     * Cursor of the preceding (newer) page, null on the first page
+     */
+    private String previousCursor;
+
+    /**
+     * Total number of sessions of the user, only set when requested
+     */
+    private Long totalElements;
+
+    public boolean isEmpty() {
+        return content == null || content.isEmpty();
+    }
+}
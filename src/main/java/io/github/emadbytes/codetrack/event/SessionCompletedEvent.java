@@ -0,0 +1,43 @@
+// src\main\java\io\github\emadbytes\codetrack\event\SessionCompletedEvent.java
+package io.github.emadbytes.codetrack.event;
+
+import io.github.emadbytes.codetrack.model.CodingSession;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published when a coding session has been completed.
+ * Carries a detached snapshot of the session so listeners never touch the
+ * entity or its lazy associations outside the originating transaction.
+ *
+ * @param sessionId       ID of the completed session
+ * @param userId          ID of the user owning the session
+ * @param startTime       when the session started
+ * @param endTime         when the session ended
+ * @param durationMinutes recorded duration in minutes
+ * @param projectName     project the session was tracked against, may be null
+ */
+public record SessionCompletedEvent(
+        Long sessionId,
+        Long userId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Long durationMinutes,
+        String projectName) {
+
+    /**
+     * Creates an event from a completed session.
+     *
+     * @param session the completed session
+     * @return event describing the session
+     */
+    public static SessionCompletedEvent of(CodingSession session) {
+        return new SessionCompletedEvent(
+                session.getId(),
+                session.getUser().getId(),
+                session.getStartTime(),
+                session.getEndTime(),
+                session.getDurationMinutes(),
+                session.getProjectName());
+    }
+}
@@ -0,0 +1,35 @@
+// src\main\java\io\github\emadbytes\codetrack\event\SessionStartedEvent.java
+package io.github.emadbytes.codetrack.event;
+
+import io.github.emadbytes.codetrack.model.CodingSession;
+
+import java.time.LocalDateTime;
+
+/**
+ * Application event published when a new coding session has been started.
+ *
+ * @param sessionId   ID of the started session
+ * @param userId      ID of the user owning the session
+ * @param startTime   when the session started
+ * @param projectName project the session is tracked against, may be null
+ */
+public record SessionStartedEvent(
+        Long sessionId,
+        Long userId,
+        LocalDateTime startTime,
+        String projectName) {
+
+    /**
+     * Creates an event from a newly started session.
+     *
+     * @param session the started session
+     * @return event describing the session
+     */
+    public static SessionStartedEvent of(CodingSession session) {
+        return new SessionStartedEvent(
+                session.getId(),
+                session.getUser().getId(),
+                session.getStartTime(),
+                session.getProjectName());
+    }
+}
@@ -0,0 +1,16 @@
+// src\main\java\io\github\emadbytes\codetrack\event\SessionsImportedEvent.java
+package io.github.emadbytes.codetrack.event;
+
+/**
+ * Application event published after completed sessions have been imported in
+ * bulk for a user and the daily activity rollup has been rebuilt, and after
+ * the rollup has been rebuilt from the session journal.
+ * Listeners holding derived per-user state should drop it and reload.
+ *
+ * @param userId        ID of the user the sessions were imported for
+ * @param importedCount number of sessions imported, or replayed from the journal
+ */
+public record SessionsImportedEvent(
+        Long userId,
+        long importedCount) {
+}
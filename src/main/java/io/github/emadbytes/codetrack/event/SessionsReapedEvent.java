@@ -0,0 +1,18 @@
+// src\main\java\io\github\emadbytes\codetrack\event\SessionsReapedEvent.java
+package io.github.emadbytes.codetrack.event;
+
+import java.util.List;
+
+/**
+ * Application event published when abandoned in-progress sessions of a user
+ * have been cancelled in bulk by the session reaper.
+ * The sessions were updated directly in the database, so listeners holding
+ * state about them should drop it.
+ *
+ * @param userId     ID of the user owning the sessions
+ * @param sessionIds IDs of the cancelled sessions
+ */
+public record SessionsReapedEvent(
+        Long userId,
+        List<Long> sessionIds) {
+}
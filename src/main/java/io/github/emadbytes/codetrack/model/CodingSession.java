@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -23,18 +24,29 @@ import java.time.LocalDateTime;
 @AllArgsConstructor // Lombok: Generates a constructor with all arguments
 public class CodingSession {
 
+    /**
+     * Number of IDs reserved per sequence call; must match the increment of
+     * the coding_sessions_seq sequence.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Unique identifier for the coding session.
-     * Auto-generated when a new session is persisted.
+     * Drawn from a sequence in blocks, so that inserts can be batched; an
+     * identity column would force one round trip per inserted session.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coding_sessions_seq")
+    @SequenceGenerator(name = "coding_sessions_seq", sequenceName = "coding_sessions_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
      * The user who owns this coding session.
      * Many sessions can belong to one user.
+     * Excluded from toString so logging a session never initializes the lazy proxy.
      */
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -79,6 +91,20 @@ public class CodingSession {
     @Column(name = "duration_minutes")
     private Long durationMinutes;
 
+    /**
+     * The timestamp of the latest editor heartbeat that extended the session.
+     * Null for sessions that were started by hand and never received one.
+     */
+    private LocalDateTime lastHeartbeat;
+
+    /**
+     * Optimistic lock version, incremented on every update.
+     * Of two concurrent status changes only the first to commit succeeds,
+     * without holding a lock on the row while the change is prepared.
+     */
+    @Version
+    private Long version;
+
     /**
      * Automatically calculates and updates the session duration
      * when the session is completed and has an end time.
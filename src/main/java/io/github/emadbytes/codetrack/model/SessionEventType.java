@@ -0,0 +1,31 @@
+// src\main\java\io\github\emadbytes\codetrack\model\SessionEventType.java
+package io.github.emadbytes.codetrack.model;
+
+/**
+ * Enumeration of the lifecycle events recorded in the session event journal.
+ */
+public enum SessionEventType {
+    /**
+     * A session was started, by hand or by its first heartbeat.
+     * Also recorded for sessions imported or generated in bulk.
+     */
+    STARTED,
+
+    /**
+     * An editor heartbeat extended a session in progress.
+     * Heartbeats of one batch are recorded as a single event at the latest one.
+     */
+    HEARTBEAT,
+
+    /**
+     * A session was completed. Carries its start time, duration and project,
+     * which is everything the daily activity needs.
+     */
+    ENDED,
+
+    /**
+     * A session was cancelled, e.g. by the session reaper. Does not count
+     * towards any statistics.
+     */
+    CANCELLED
+}
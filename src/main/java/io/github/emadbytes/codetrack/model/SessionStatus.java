@@ -22,5 +22,17 @@ public enum SessionStatus {
      * Indicates a coding session that was terminated before completion.
      * Used when a session is abandoned or stopped prematurely.
      */
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * Checks whether a session in this status may move to another status.
+     * Only sessions in progress can change; completed and cancelled sessions
+     * are final.
+     *
+     * @param target the status to move to
+     * @return true if the transition is allowed
+     */
+    public boolean canTransitionTo(SessionStatus target) {
+        return this == IN_PROGRESS && target != IN_PROGRESS;
+    }
 }
\ No newline at end of file
@@ -39,6 +39,7 @@ public class User {
 
     private boolean active = true;
 
+    @Column(name = "is_oauth2user")
     private Boolean isOAuth2User = false;
 
     @Column(name = "created_at")
@@ -0,0 +1,101 @@
+// src\main\java\io\github\emadbytes\codetrack\model\UserDailyActivity.java
+package io.github.emadbytes.codetrack.model;
+
+import jakarta.persistence.*;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entity class holding the rolled-up coding activity of a user for one day.
+ * Rows are maintained incrementally as sessions complete, so daily statistics
+ * can be read without rescanning the 'coding_sessions' table.
+ * This class maps to the 'user_daily_activity' table in the database.
+ */
+@Entity
+@Table(name = "user_daily_activity", uniqueConstraints = @UniqueConstraint(name = "uk_user_daily_activity_user_date", columnNames = {
+        "user_id", "activity_date" }))
+@Data
+@NoArgsConstructor
+public class UserDailyActivity {
+
+    /**
+     * Project key used for sessions without a project name.
+     */
+    public static final String NO_PROJECT = "";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The user the activity belongs to.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    private User user;
+
+    /**
+     * The day the sessions started on.
+     */
+    @Column(name = "activity_date", nullable = false)
+    private LocalDate activityDate;
+
+    /**
+     * Total minutes of the completed sessions started on this day.
+     */
+    @Column(name = "total_minutes", nullable = false)
+    private long totalMinutes;
+
+    /**
+     * Number of completed sessions started on this day.
+     */
+    @Column(name = "session_count", nullable = false)
+    private long sessionCount;
+
+    /**
+     * Completed minutes per project name. Sessions without a project are
+     * stored under {@link #NO_PROJECT}.
+     */
+    @ElementCollection
+    @CollectionTable(name = "user_daily_project_minutes", joinColumns = @JoinColumn(name = "daily_activity_id"))
+    @MapKeyColumn(name = "project_name")
+    @Column(name = "minutes", nullable = false)
+    private Map<String, Long> projectMinutes = new HashMap<>();
+
+    public UserDailyActivity(User user, LocalDate activityDate) {
+        this.user = user;
+        this.activityDate = activityDate;
+    }
+
+    /**
+     * Adds a completed session to this day.
+     *
+     * @param projectName project of the session, may be null
+     * @param minutes     duration of the session in minutes
+     */
+    public void addSession(String projectName, long minutes) {
+        sessionCount++;
+        totalMinutes += minutes;
+        projectMinutes.merge(projectName != null ? projectName : NO_PROJECT, minutes, Long::sum);
+    }
+
+    /**
+     * Returns the project with the most minutes on this day.
+     *
+     * @return the main project name, or null if no named project was worked on
+     */
+    public String getMainProject() {
+        return projectMinutes.entrySet().stream()
+                .filter(entry -> !NO_PROJECT.equals(entry.getKey()))
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+}
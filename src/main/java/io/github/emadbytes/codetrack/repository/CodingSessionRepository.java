@@ -1,19 +1,34 @@
 // src\main\java\io\github\emadbytes\codetrack\repository\CodingSessionRepository.java
 package io.github.emadbytes.codetrack.repository;
 
+import io.github.emadbytes.codetrack.dto.ActiveSession;
+import io.github.emadbytes.codetrack.dto.CodingSessionDTO;
 import io.github.emadbytes.codetrack.model.CodingSession;
 import io.github.emadbytes.codetrack.model.SessionStatus;
 import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.projection.CompletedSessionTotals;
+import io.github.emadbytes.codetrack.repository.projection.DailyProjectActivity;
+import io.github.emadbytes.codetrack.repository.projection.EndedSession;
+import io.github.emadbytes.codetrack.repository.projection.ProjectMinutes;
+import io.github.emadbytes.codetrack.repository.projection.SessionInterval;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for CodingSession entity.
@@ -21,6 +36,19 @@ import java.util.Optional;
  */
 public interface CodingSessionRepository extends JpaRepository<CodingSession, Long> {
 
+    /**
+     * Selects sessions and their owner's username directly into {@link CodingSessionDTO}s.
+     */
+    String SESSION_VIEW = "SELECT new io.github.emadbytes.codetrack.dto.CodingSessionDTO(" +
+            "cs.id, u.id, u.username, cs.startTime, cs.endTime, cs.description, " +
+            "cs.projectName, cs.status, cs.durationMinutes) " +
+            "FROM CodingSession cs JOIN cs.user u ";
+
+    /**
+     * Number of rows the JDBC driver fetches per round trip while streaming an export.
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
     /**
      * Finds all coding sessions for a specific user.
      *
@@ -38,6 +66,104 @@ public interface CodingSessionRepository extends JpaRepository<CodingSession, Lo
      */
     Page<CodingSession> findByUser(User user, Pageable pageable);
 
+    /**
+     * Finds the newest sessions of a user, ordered by start time and ID (both descending).
+     *
+     * @param user  the user whose sessions to find
+     * @param limit maximum number of sessions to return
+     * @return sessions of the first page, read directly into DTOs
+     */
+    @Query(SESSION_VIEW +
+            "WHERE cs.user = :user " +
+            "ORDER BY cs.startTime DESC, cs.id DESC")
+    List<CodingSessionDTO> findNewestByUser(@Param("user") User user, Limit limit);
+
+    /**
+     * Finds the sessions of a user that come after a position in the list,
+     * ordered by start time and ID (both descending).
+     * Seeks directly to the position instead of skipping rows, so every page costs the same.
+     *
+     * @param user      the user whose sessions to find
+     * @param startTime start time of the last session already shown
+     * @param id        ID of the last session already shown
+     * @param limit     maximum number of sessions to return
+     * @return older sessions
+     */
+    @Query(SESSION_VIEW +
+            "WHERE cs.user = :user " +
+            "AND (cs.startTime < :startTime OR (cs.startTime = :startTime AND cs.id < :id)) " +
+            "ORDER BY cs.startTime DESC, cs.id DESC")
+    List<CodingSessionDTO> findByUserAfter(
+            @Param("user") User user,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Limit limit);
+
+    /**
+     * Finds the sessions of a user that come before a position in the list,
+     * closest first (start time and ID ascending).
+     *
+     * @param user      the user whose sessions to find
+     * @param startTime start time of the first session already shown
+     * @param id        ID of the first session already shown
+     * @param limit     maximum number of sessions to return
+     * @return newer sessions, in ascending order
+     */
+    @Query(SESSION_VIEW +
+            "WHERE cs.user = :user " +
+            "AND (cs.startTime > :startTime OR (cs.startTime = :startTime AND cs.id > :id)) " +
+            "ORDER BY cs.startTime ASC, cs.id ASC")
+    List<CodingSessionDTO> findByUserBefore(
+            @Param("user") User user,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") Long id,
+            Limit limit);
+
+    /**
+     * Finds a single session read directly into a DTO, together with its
+     * owner's username, without loading the entity.
+     *
+     * @param id the session ID
+     * @return optional containing the session if it exists
+     */
+    @Query(SESSION_VIEW +
+            "WHERE cs.id = :id")
+    Optional<CodingSessionDTO> findViewById(@Param("id") Long id);
+
+    /**
+     * Streams all sessions of a user, oldest first, for export.
+     * Rows are read in batches of {@link #EXPORT_FETCH_SIZE} and are not managed
+     * by the persistence context, so memory use does not grow with the number of
+     * sessions. The stream must be consumed within a transaction and closed.
+     *
+     * @param userId the user's ID
+     * @return stream of the user's sessions
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SESSION_VIEW +
+            "WHERE cs.user.id = :userId " +
+            "ORDER BY cs.startTime ASC, cs.id ASC")
+    Stream<CodingSessionDTO> streamByUserId(@Param("userId") Long userId);
+
+    /**
+     * Streams the sessions of every user, grouped by user and oldest first, for export.
+     *
+     * @return stream of all sessions
+     * @see #streamByUserId(Long)
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(SESSION_VIEW +
+            "ORDER BY u.id ASC, cs.startTime ASC, cs.id ASC")
+    Stream<CodingSessionDTO> streamAll();
+
+    /**
+     * Counts all sessions of a user.
+     *
+     * @param user the user whose sessions to count
+     * @return number of sessions
+     */
+    long countByUser(User user);
+
     /**
      * Finds active (IN_PROGRESS) sessions for a user.
      *
@@ -74,6 +200,25 @@ public interface CodingSessionRepository extends JpaRepository<CodingSession, Lo
             @Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Calculates total coding duration for a user over sessions started in a
+     * half-open time range.
+     *
+     * @param userId the user's ID
+     * @param from   start of the range (inclusive)
+     * @param until  end of the range (exclusive)
+     * @return total duration in minutes
+     */
+    @Query("SELECT COALESCE(SUM(cs.durationMinutes), 0) FROM CodingSession cs " +
+            "WHERE cs.user.id = :userId " +
+            "AND cs.status = 'COMPLETED' " +
+            "AND cs.startTime >= :from " +
+            "AND cs.startTime < :until")
+    Long calculateTotalDurationByUserAndHalfOpenRange(
+            @Param("userId") Long userId,
+            @Param("from") LocalDateTime from,
+            @Param("until") LocalDateTime until);
+
     /**
      * Finds the latest active session for a user.
      *
@@ -82,4 +227,207 @@ public interface CodingSessionRepository extends JpaRepository<CodingSession, Lo
      * @return optional containing the latest active session if exists
      */
     Optional<CodingSession> findFirstByUserAndStatusOrderByStartTimeDesc(User user, SessionStatus status);
+
+    /**
+     * Finds the in-progress session of every user.
+     * Used to load the active session registry at startup.
+     *
+     * @return one snapshot per in-progress session
+     */
+    @Query("SELECT new io.github.emadbytes.codetrack.dto.ActiveSession(" +
+            "cs.id, cs.user.id, cs.startTime, cs.projectName) " +
+            "FROM CodingSession cs " +
+            "WHERE cs.status = 'IN_PROGRESS'")
+    List<ActiveSession> findActiveSessions();
+
+    /**
+     * Finds the in-progress session of a user.
+     * The database allows at most one per user.
+     *
+     * @param userId the user's ID
+     * @return optional containing the in-progress session if exists
+     */
+    @Query("SELECT new io.github.emadbytes.codetrack.dto.ActiveSession(" +
+            "cs.id, cs.user.id, cs.startTime, cs.projectName) " +
+            "FROM CodingSession cs " +
+            "WHERE cs.user.id = :userId " +
+            "AND cs.status = 'IN_PROGRESS'")
+    Optional<ActiveSession> findActiveSessionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Finds in-progress sessions whose last activity, i.e. their last heartbeat
+     * or else their start, lies before a point in time, in ID order.
+     * Used to pick the next chunk of abandoned sessions to cancel.
+     *
+     * @param cutoff sessions last active before this time are stale
+     * @param limit  maximum number of sessions to return
+     * @return snapshots of the stale sessions
+     */
+    @Query("SELECT new io.github.emadbytes.codetrack.dto.ActiveSession(" +
+            "cs.id, cs.user.id, cs.startTime, cs.projectName) " +
+            "FROM CodingSession cs " +
+            "WHERE cs.status = 'IN_PROGRESS' " +
+            "AND COALESCE(cs.lastHeartbeat, cs.startTime) < :cutoff " +
+            "ORDER BY cs.id ASC")
+    List<ActiveSession> findStaleActiveSessions(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Cancels in-progress sessions with a single set-based update, without
+     * loading them. Each session is ended at its last heartbeat, or the given
+     * number of seconds after its start if it never received one, and its
+     * duration is computed by the database. Sessions that were ended, or
+     * received a heartbeat after the cutoff, in the meantime are left alone.
+     *
+     * @param ids         IDs of the sessions to cancel
+     * @param cutoff      sessions last active at or after this time are not cancelled
+     * @param idleSeconds seconds after its start at which a session without heartbeats is ended
+     * @return number of sessions cancelled
+     */
+    @Modifying
+    @Query(value = "UPDATE coding_sessions " +
+            "SET status = 'CANCELLED', " +
+            "end_time = COALESCE(last_heartbeat, DATEADD(SECOND, :idleSeconds, start_time)), " +
+            "duration_minutes = DATEDIFF(SECOND, start_time, " +
+            "COALESCE(last_heartbeat, DATEADD(SECOND, :idleSeconds, start_time))) / 60, " +
+            "version = version + 1 " +
+            "WHERE id IN (:ids) " +
+            "AND status = 'IN_PROGRESS' " +
+            "AND COALESCE(last_heartbeat, start_time) < :cutoff", nativeQuery = true)
+    int cancelInProgressSessions(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff,
+            @Param("idleSeconds") long idleSeconds);
+
+    /**
+     * Finds which of the given sessions are still in progress.
+     *
+     * @param ids IDs of the sessions to check
+     * @return IDs of the sessions still in progress
+     */
+    @Query("SELECT cs.id FROM CodingSession cs " +
+            "WHERE cs.id IN :ids " +
+            "AND cs.status = 'IN_PROGRESS'")
+    List<Long> findInProgressIds(@Param("ids") List<Long> ids);
+
+    /**
+     * Finds heartbeat sessions still in progress whose last heartbeat lies
+     * before a point in time, oldest heartbeat first.
+     *
+     * @param cutoff sessions without a heartbeat since this time are idle
+     * @param limit  maximum number of sessions to return
+     * @return snapshots of the idle sessions
+     */
+    @Query("SELECT new io.github.emadbytes.codetrack.dto.ActiveSession(" +
+            "cs.id, cs.user.id, cs.startTime, cs.projectName) " +
+            "FROM CodingSession cs " +
+            "WHERE cs.status = 'IN_PROGRESS' " +
+            "AND cs.lastHeartbeat < :cutoff " +
+            "ORDER BY cs.lastHeartbeat ASC")
+    List<ActiveSession> findIdleHeartbeatSessions(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Moves the last heartbeat of an in-progress session forward, without
+     * loading it.
+     *
+     * @param id   the session ID
+     * @param time time of the latest heartbeat
+     * @return 1 if the session was updated, 0 if it is no longer in progress
+     */
+    @Modifying
+    @Query("UPDATE CodingSession cs SET cs.lastHeartbeat = :time " +
+            "WHERE cs.id = :id " +
+            "AND cs.status = 'IN_PROGRESS'")
+    int recordHeartbeat(@Param("id") Long id, @Param("time") LocalDateTime time);
+
+    /**
+     * Finds when the latest completed session of a user that was recorded
+     * from heartbeats ended.
+     *
+     * @param userId the user's ID
+     * @return end time of that session, empty if the user has none
+     */
+    @Query("SELECT MAX(cs.endTime) FROM CodingSession cs " +
+            "WHERE cs.user.id = :userId " +
+            "AND cs.status = 'COMPLETED' " +
+            "AND cs.lastHeartbeat IS NOT NULL")
+    Optional<LocalDateTime> findLastHeartbeatSessionEnd(@Param("userId") Long userId);
+
+    /**
+     * Counts the completed sessions of a user and sums their durations.
+     *
+     * @param userId the user's ID
+     * @return number of completed sessions and their total duration in minutes
+     */
+    @Query("SELECT COUNT(cs) AS sessionCount, COALESCE(SUM(cs.durationMinutes), 0) AS totalMinutes " +
+            "FROM CodingSession cs " +
+            "WHERE cs.user.id = :userId " +
+            "AND cs.status = 'COMPLETED'")
+    CompletedSessionTotals summarizeCompletedSessions(@Param("userId") Long userId);
+
+    /**
+     * Sums the completed minutes of a user per project.
+     *
+     * @param userId the user's ID
+     * @return one row per distinct project name
+     */
+    @Query("SELECT cs.projectName AS projectName, COALESCE(SUM(cs.durationMinutes), 0) AS totalMinutes " +
+            "FROM CodingSession cs " +
+            "WHERE cs.user.id = :userId " +
+            "AND cs.status = 'COMPLETED' " +
+            "GROUP BY cs.projectName")
+    List<ProjectMinutes> sumCompletedMinutesByProject(@Param("userId") Long userId);
+
+    /**
+     * Finds the start and end time of every completed session of a user.
+     * Used to build the weekday and hour heatmap.
+     *
+     * @param userId the user's ID
+     * @return one interval per completed session
+     */
+    @Query("SELECT cs.startTime AS startTime, cs.endTime AS endTime " +
+            "FROM CodingSession cs " +
+            "WHERE cs.user.id = :userId " +
+            "AND cs.status = 'COMPLETED'")
+    List<SessionInterval> findCompletedIntervals(@Param("userId") Long userId);
+
+    /**
+     * Finds every ended (completed or cancelled) session of a user.
+     * Used to load the user's session columns for analytics.
+     *
+     * @param userId the user's ID
+     * @return one row per ended session, in no particular order
+     */
+    @Query("SELECT cs.startTime AS startTime, cs.durationMinutes AS durationMinutes, " +
+            "cs.projectName AS projectName, cs.status AS status " +
+            "FROM CodingSession cs " +
+            "WHERE cs.user.id = :userId " +
+            "AND cs.status <> 'IN_PROGRESS'")
+    List<EndedSession> findEndedSessions(@Param("userId") Long userId);
+
+    /**
+     * Finds the distinct days on which a user started a completed session.
+     *
+     * @param userId the user's ID
+     * @return one date per active day, in no particular order
+     */
+    @Query("SELECT DISTINCT cast(cs.startTime as LocalDate) " +
+            "FROM CodingSession cs " +
+            "WHERE cs.user.id = :userId " +
+            "AND cs.status = 'COMPLETED'")
+    List<LocalDate> findDistinctCompletedStartDates(@Param("userId") Long userId);
+
+    /**
+     * Summarizes the completed sessions of a user per day and project.
+     * Used to (re)build the daily activity rollup.
+     *
+     * @param userId the user's ID
+     * @return one row per day and distinct project name
+     */
+    @Query("SELECT cast(cs.startTime as LocalDate) AS activityDate, " +
+            "cs.projectName AS projectName, " +
+            "COUNT(cs) AS sessionCount, " +
+            "COALESCE(SUM(cs.durationMinutes), 0) AS totalMinutes " +
+            "FROM CodingSession cs " +
+            "WHERE cs.user.id = :userId " +
+            "AND cs.status = 'COMPLETED' " +
+            "GROUP BY cast(cs.startTime as LocalDate), cs.projectName")
+    List<DailyProjectActivity> summarizeCompletedDailyProjectActivity(@Param("userId") Long userId);
 }
\ No newline at end of file
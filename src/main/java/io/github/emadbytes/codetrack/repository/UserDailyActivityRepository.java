@@ -0,0 +1,64 @@
+// src\main\java\io\github\emadbytes\codetrack\repository\UserDailyActivityRepository.java
+package io.github.emadbytes.codetrack.repository;
+
+import io.github.emadbytes.codetrack.model.UserDailyActivity;
+import io.github.emadbytes.codetrack.repository.projection.DailyTotals;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for UserDailyActivity entity.
+ * Provides access to the user_daily_activity rollup table.
+ */
+public interface UserDailyActivityRepository extends JpaRepository<UserDailyActivity, Long> {
+
+    /**
+     * Finds the rollup row of a user for one day.
+     *
+     * @param userId       the user's ID
+     * @param activityDate the day to look up
+     * @return optional containing the row if the user has activity on that day
+     */
+    Optional<UserDailyActivity> findByUserIdAndActivityDate(Long userId, LocalDate activityDate);
+
+    /**
+     * Finds the rollup rows of a user within a date range, including the
+     * per-project minutes.
+     *
+     * @param userId    the user's ID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return rows ordered by date
+     */
+    @EntityGraph(attributePaths = "projectMinutes")
+    List<UserDailyActivity> findByUserIdAndActivityDateBetweenOrderByActivityDate(
+            Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Finds all rollup rows of a user.
+     *
+     * @param userId the user's ID
+     * @return the user's rollup rows
+     */
+    List<UserDailyActivity> findByUserId(Long userId);
+
+    /**
+     * Finds the session count and minutes of every active day of a user,
+     * without loading the per-project minutes.
+     *
+     * @param userId the user's ID
+     * @return one row per active day
+     */
+    @Query("SELECT a.activityDate AS activityDate, a.sessionCount AS sessionCount, " +
+            "a.totalMinutes AS totalMinutes " +
+            "FROM UserDailyActivity a " +
+            "WHERE a.user.id = :userId")
+    List<DailyTotals> findDailyTotalsByUserId(@Param("userId") Long userId);
+}
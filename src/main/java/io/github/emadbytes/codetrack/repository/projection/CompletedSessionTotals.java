@@ -0,0 +1,19 @@
+// src\main\java\io\github\emadbytes\codetrack\repository\projection\CompletedSessionTotals.java
+package io.github.emadbytes.codetrack.repository.projection;
+
+/**
+ * Projection holding the number of completed sessions of a user
+ * and the total minutes recorded across them.
+ */
+public interface CompletedSessionTotals {
+
+    /**
+     * @return number of completed sessions
+     */
+    Long getSessionCount();
+
+    /**
+     * @return total minutes spent in completed sessions
+     */
+    Long getTotalMinutes();
+}
@@ -0,0 +1,30 @@
+// src\main\java\io\github\emadbytes\codetrack\repository\projection\DailyProjectActivity.java
+package io.github.emadbytes.codetrack.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the sessions started on a single day for a single project.
+ */
+public interface DailyProjectActivity {
+
+    /**
+     * @return the day the sessions started on
+     */
+    LocalDate getActivityDate();
+
+    /**
+     * @return the project name, may be null or empty for unnamed sessions
+     */
+    String getProjectName();
+
+    /**
+     * @return number of sessions started on that day for the project
+     */
+    Long getSessionCount();
+
+    /**
+     * @return total minutes of those sessions
+     */
+    Long getTotalMinutes();
+}
@@ -0,0 +1,25 @@
+// src\main\java\io\github\emadbytes\codetrack\repository\projection\DailyTotals.java
+package io.github.emadbytes.codetrack.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the completed session count and minutes of a user on one day.
+ */
+public interface DailyTotals {
+
+    /**
+     * @return the day
+     */
+    LocalDate getActivityDate();
+
+    /**
+     * @return number of sessions completed on that day
+     */
+    Long getSessionCount();
+
+    /**
+     * @return total minutes of the sessions completed on that day
+     */
+    Long getTotalMinutes();
+}
@@ -0,0 +1,33 @@
+// src\main\java\io\github\emadbytes\codetrack\repository\projection\EndedSession.java
+package io.github.emadbytes.codetrack.repository.projection;
+
+import io.github.emadbytes.codetrack.model.SessionStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the fields of an ended (completed or cancelled) coding
+ * session that are needed for analytics.
+ */
+public interface EndedSession {
+
+    /**
+     * @return when the session started
+     */
+    LocalDateTime getStartTime();
+
+    /**
+     * @return the recorded duration in minutes, may be null
+     */
+    Long getDurationMinutes();
+
+    /**
+     * @return the project name, may be null
+     */
+    String getProjectName();
+
+    /**
+     * @return whether the session was completed or cancelled
+     */
+    SessionStatus getStatus();
+}
@@ -0,0 +1,18 @@
+// src\main\java\io\github\emadbytes\codetrack\repository\projection\ProjectMinutes.java
+package io.github.emadbytes.codetrack.repository.projection;
+
+/**
+ * Projection of the total completed minutes spent on a single project.
+ */
+public interface ProjectMinutes {
+
+    /**
+     * @return the project name, may be null or empty for unnamed sessions
+     */
+    String getProjectName();
+
+    /**
+     * @return total minutes spent on the project
+     */
+    Long getTotalMinutes();
+}
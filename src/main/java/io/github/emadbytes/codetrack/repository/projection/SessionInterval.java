@@ -0,0 +1,20 @@
+// src\main\java\io\github\emadbytes\codetrack\repository\projection\SessionInterval.java
+package io.github.emadbytes.codetrack.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the start and end time of a coding session.
+ */
+public interface SessionInterval {
+
+    /**
+     * @return when the session started
+     */
+    LocalDateTime getStartTime();
+
+    /**
+     * @return when the session ended
+     */
+    LocalDateTime getEndTime();
+}
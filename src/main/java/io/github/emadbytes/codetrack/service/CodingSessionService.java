@@ -1,6 +1,9 @@
 // src\main\java\io\github\emadbytes\codetrack\service\CodingSessionService.java
 package io.github.emadbytes.codetrack.service;
 
+import io.github.emadbytes.codetrack.dto.CodingSessionDTO;
+import io.github.emadbytes.codetrack.dto.SessionCursor;
+import io.github.emadbytes.codetrack.dto.SessionPage;
 import io.github.emadbytes.codetrack.model.CodingSession;
 import io.github.emadbytes.codetrack.model.User;
 import org.springframework.data.domain.Page;
@@ -41,6 +44,15 @@ public interface CodingSessionService {
      */
     CodingSession getSession(Long sessionId);
 
+    /**
+     * Retrieves a specific coding session for display.
+     * The session is read directly into a DTO, without loading the entity.
+     *
+     * @param sessionId ID of the session to retrieve
+     * @return the requested coding session
+     */
+    CodingSessionDTO getSessionView(Long sessionId);
+
     /**
      * Gets all sessions for a user with pagination.
      *
@@ -50,13 +62,29 @@ public interface CodingSessionService {
      */
     Page<CodingSession> getUserSessions(User user, Pageable pageable);
 
+    /**
+     * Gets one page of a user's sessions, newest first, using keyset pagination.
+     * At most one of the cursors should be given; without any cursor the first
+     * page is returned.
+     *
+     * @param user         the user whose sessions to retrieve
+     * @param after        return the sessions following this position (older ones)
+     * @param before       return the sessions preceding this position (newer ones)
+     * @param size         maximum number of sessions on the page
+     * @param includeTotal whether to count all sessions of the user
+     * @return page of sessions with cursors to the neighbouring pages
+     */
+    SessionPage getUserSessions(User user, SessionCursor after, SessionCursor before, int size,
+            boolean includeTotal);
+
     /**
      * Gets the current active session for a user if exists.
+     * Answered from the in-memory registry of active sessions.
      *
      * @param user the user whose active session to find
-     * @return the active session if exists
+     * @return the active session if exists, null otherwise
      */
-    CodingSession getCurrentSession(User user);
+    CodingSessionDTO getCurrentSession(User user);
 
     /**
      * Calculates total coding time within a date range.
@@ -0,0 +1,48 @@
+// src\main\java\io\github\emadbytes\codetrack\service\DailyActivityRollupService.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.model.UserDailyActivity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for the per-user daily activity rollup.
+ * Defines operations to maintain and read the user_daily_activity table.
+ */
+public interface DailyActivityRollupService {
+
+    /**
+     * Adds a completed session to the rollup row of the day it started on.
+     * Runs within the transaction that completed the session.
+     *
+     * @param event the completed session
+     */
+    void recordCompletedSession(SessionCompletedEvent event);
+
+    /**
+     * Retrieves the rollup rows of a user within a date range.
+     *
+     * @param userId    the user's ID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return rows ordered by date, days without activity are omitted
+     */
+    List<UserDailyActivity> getDailyActivity(Long userId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Rebuilds the rollup rows of a user from the coding sessions.
+     *
+     * @param userId the user's ID
+     * @return number of rollup rows written
+     */
+    int rebuild(Long userId);
+
+    /**
+     * Rebuilds the rollup rows of every user from the coding sessions.
+     *
+     * @return number of rollup rows written
+     */
+    int rebuildAll();
+}
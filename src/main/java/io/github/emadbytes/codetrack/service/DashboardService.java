@@ -3,7 +3,9 @@ package io.github.emadbytes.codetrack.service;
 
 import io.github.emadbytes.codetrack.dto.DashboardStatsDTO;
 import io.github.emadbytes.codetrack.dto.DailyActivityDTO;
+import io.github.emadbytes.codetrack.dto.HeatmapDTO;
 import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.service.stats.ActivityRangeIndex.RangeTotals;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -42,6 +44,16 @@ public interface DashboardService {
      */
     Map<LocalDate, DailyActivityDTO> getDetailedStats(User user, LocalDate startDate, LocalDate endDate);
 
+    /**
+     * Sums the completed sessions of a user within a date range.
+     *
+     * @param user      the user whose totals to calculate
+     * @param startDate start of the date range
+     * @param endDate   end of the date range
+     * @return session count and total minutes of the range
+     */
+    RangeTotals getRangeTotals(User user, LocalDate startDate, LocalDate endDate);
+
     /**
      * Gets statistics grouped by project.
      *
@@ -50,6 +62,15 @@ public interface DashboardService {
      */
     Map<String, Long> getProjectStats(User user);
 
+    /**
+     * Gets the coding time of a user per weekday and hour of the day.
+     * Sessions spanning several hours are split between them.
+     *
+     * @param user the user whose heatmap to retrieve
+     * @return heatmap of coding minutes
+     */
+    HeatmapDTO getProductivityHeatmap(User user);
+
     /**
      * Calculates the current coding streak (consecutive days with activity).
      *
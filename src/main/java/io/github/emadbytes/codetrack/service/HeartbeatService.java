@@ -0,0 +1,57 @@
+// src\main\java\io\github\emadbytes\codetrack\service\HeartbeatService.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for recording coding sessions from editor heartbeats.
+ * Heartbeats are coalesced into sessions: a heartbeat extends the user's
+ * session in progress unless it comes after an idle gap or for another
+ * project, in which case the session is completed at its last heartbeat and a
+ * new one is started.
+ */
+public interface HeartbeatService {
+
+    /**
+     * Records a batch of heartbeats of a user in a single transaction.
+     * Heartbeats may arrive in any order within a batch; those older than the
+     * latest heartbeat already recorded, or in the future, are ignored.
+     *
+     * @param user       the user sending the heartbeats
+     * @param heartbeats the heartbeats to record
+     * @return counts of the recorded heartbeats and of the affected sessions
+     */
+    Result ingest(User user, List<Heartbeat> heartbeats);
+
+    /**
+     * Completes heartbeat sessions that received no heartbeat for longer than
+     * the idle gap, at their last heartbeat.
+     *
+     * @return number of sessions completed
+     */
+    int closeIdleSessions();
+
+    /**
+     * A heartbeat of an editor plugin.
+     *
+     * @param time     when the user was active
+     * @param project  project being edited, may be null
+     * @param fileType type of the edited file, e.g. "java", may be null
+     */
+    record Heartbeat(LocalDateTime time, String project, String fileType) {
+    }
+
+    /**
+     * Outcome of recording a batch of heartbeats.
+     *
+     * @param accepted number of heartbeats recorded
+     * @param ignored  number of heartbeats out of order or in the future
+     * @param opened   number of sessions started
+     * @param closed   number of sessions completed
+     */
+    record Result(int accepted, int ignored, int opened, int closed) {
+    }
+}
@@ -0,0 +1,70 @@
+// src\main\java\io\github\emadbytes\codetrack\service\SessionExportService.java
+package io.github.emadbytes.codetrack.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Service interface for exporting coding sessions.
+ * Sessions are streamed from the database straight to the output, so memory
+ * use does not depend on how many sessions are exported.
+ */
+public interface SessionExportService {
+
+    /**
+     * Writes all sessions of a user, oldest first.
+     *
+     * @param userId the user's ID
+     * @param format output format
+     * @param output stream to write to, left open
+     * @return number of sessions written
+     * @throws IOException if writing to the output fails
+     */
+    long exportUserSessions(Long userId, Format format, OutputStream output) throws IOException;
+
+    /**
+     * Writes the sessions of every user, grouped by user and oldest first.
+     *
+     * @param format output format
+     * @param output stream to write to, left open
+     * @return number of sessions written
+     * @throws IOException if writing to the output fails
+     */
+    long exportAllSessions(Format format, OutputStream output) throws IOException;
+
+    /**
+     * Supported export formats.
+     */
+    enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String fileExtension;
+
+        Format(String mediaType, String fileExtension) {
+            this.mediaType = mediaType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+
+        /**
+         * Resolves a format from a request parameter, ignoring case.
+         *
+         * @param name the format name, e.g. "csv"
+         * @return the matching format
+         * @throws IllegalArgumentException if the format is not supported
+         */
+        public static Format fromParameter(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+// src\main\java\io\github\emadbytes\codetrack\service\SessionImportService.java
+package io.github.emadbytes.codetrack.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Service interface for importing completed coding sessions in bulk, e.g.
+ * when migrating historical tracking data.
+ * Accepts the formats written by {@link SessionExportService}. Rows are read
+ * and validated one at a time and written in JDBC batches; invalid rows are
+ * skipped and reported without aborting the import.
+ */
+public interface SessionImportService {
+
+    /**
+     * Imports sessions for a single user. User columns of the input are ignored.
+     *
+     * @param userId the user to import the sessions for
+     * @param format input format
+     * @param input  stream to read from, left open
+     * @return counts, throughput and the rejected rows
+     * @throws IOException if reading the input fails
+     */
+    Report importUserSessions(Long userId, SessionExportService.Format format, InputStream input)
+            throws IOException;
+
+    /**
+     * Imports sessions for any number of users, resolving the owner of each row
+     * from its username.
+     *
+     * @param format input format
+     * @param input  stream to read from, left open
+     * @return counts, throughput and the rejected rows
+     * @throws IOException if reading the input fails
+     */
+    Report importSessions(SessionExportService.Format format, InputStream input) throws IOException;
+
+    /**
+     * Outcome of an import.
+     *
+     * @param imported      number of sessions written
+     * @param rejected      number of rows skipped because they were invalid
+     * @param elapsedMillis wall-clock duration of the import
+     * @param rowsPerSecond imported sessions per second
+     * @param errors        the first rejected rows with their reason
+     */
+    record Report(long imported, long rejected, long elapsedMillis, double rowsPerSecond, List<RowError> errors) {
+    }
+
+    /**
+     * A row that could not be imported.
+     *
+     * @param line    line of the input the row starts on
+     * @param message why the row was rejected
+     */
+    record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,130 @@
+// src\main\java\io\github\emadbytes\codetrack\service\SessionJournalService.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.event.SessionsReapedEvent;
+import io.github.emadbytes.codetrack.model.CodingSession;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for the append-only journal of session lifecycle events.
+ * Events are appended in the transaction that changed the session and are
+ * never updated. The daily activity of a user can be rebuilt from the latest
+ * snapshot of the user plus the events appended after it, without reading
+ * the coding_sessions table.
+ */
+public interface SessionJournalService {
+
+    /**
+     * Appends a STARTED event. Runs within the transaction that started the session.
+     *
+     * @param event the started session
+     */
+    void recordStarted(SessionStartedEvent event);
+
+    /**
+     * Appends an ENDED event. Runs within the transaction that completed the session.
+     *
+     * @param event the completed session
+     */
+    void recordCompleted(SessionCompletedEvent event);
+
+    /**
+     * Appends a CANCELLED event for every session the reaper cancelled.
+     * Runs within the transaction of the reaper chunk.
+     *
+     * @param event the reaped sessions
+     */
+    void recordReaped(SessionsReapedEvent event);
+
+    /**
+     * Appends a HEARTBEAT event for every session whose last heartbeat has
+     * been written. Runs within the transaction that wrote the heartbeats.
+     *
+     * @param lastHeartbeats last heartbeat per session ID
+     */
+    void recordHeartbeats(Map<Long, LocalDateTime> lastHeartbeats);
+
+    /**
+     * Appends the events of sessions inserted in bulk: STARTED, followed by
+     * ENDED or CANCELLED unless the session is still in progress.
+     * Runs within the transaction that inserted the sessions.
+     *
+     * @param sessions the inserted sessions, with their IDs assigned
+     */
+    void recordInserted(List<CodingSession> sessions);
+
+    /**
+     * Takes a snapshot of a user's daily activity as of the latest settled event.
+     * Events are settled once no other transaction still appending to the
+     * journal can commit an event with a lower ID, so every event left out
+     * of the snapshot is replayed after it.
+     *
+     * @param userId the user's ID
+     * @return the snapshot written
+     */
+    Snapshot takeSnapshot(Long userId);
+
+    /**
+     * Takes a snapshot of every user with enough events since the last one.
+     *
+     * @return number of snapshots written
+     */
+    int takeSnapshots();
+
+    /**
+     * Rebuilds a user's daily activity rollup from the journal.
+     * Publishes a {@link SessionsImportedEvent}
+     * so that state derived from the old rollup is reloaded.
+     *
+     * @param userId the user's ID
+     * @return number of rollup rows written
+     */
+    int replay(Long userId);
+
+    /**
+     * Rebuilds the daily activity rollup of every user from the journal,
+     * several users at a time.
+     *
+     * @return counts and timing of the replay
+     */
+    Report replayAll();
+
+    /**
+     * Daily activity of a user folded from the journal.
+     *
+     * @param userId      the user's ID
+     * @param lastEventId ID of the last event included
+     * @param takenAt     when the snapshot was taken
+     * @param days        activity per day, ordered by date
+     */
+    record Snapshot(Long userId, long lastEventId, LocalDateTime takenAt, List<Day> days) {
+    }
+
+    /**
+     * Completed sessions started on one day.
+     *
+     * @param date           the day
+     * @param sessionCount   number of completed sessions
+     * @param totalMinutes   total minutes of those sessions
+     * @param projectMinutes minutes per project, sessions without a project under the empty name
+     */
+    record Day(LocalDate date, long sessionCount, long totalMinutes, Map<String, Long> projectMinutes) {
+    }
+
+    /**
+     * Outcome of a replay of every user.
+     *
+     * @param users         number of users replayed
+     * @param rows          number of rollup rows written
+     * @param elapsedMillis wall-clock duration of the replay
+     */
+    record Report(int users, long rows, long elapsedMillis) {
+    }
+}
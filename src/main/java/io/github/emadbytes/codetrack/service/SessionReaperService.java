@@ -0,0 +1,35 @@
+// src\main\java\io\github\emadbytes\codetrack\service\SessionReaperService.java
+package io.github.emadbytes.codetrack.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for closing coding sessions that users forgot to end.
+ * Abandoned sessions are cancelled with set-based updates in bounded chunks,
+ * without loading them as entities.
+ */
+public interface SessionReaperService {
+
+    /**
+     * Cancels every in-progress session last active longer than the idle
+     * cutoff ago. Each cancelled session is ended at its last heartbeat or,
+     * without heartbeats, at the idle cutoff after its start.
+     *
+     * @param idleCutoff how long a session may stay in progress
+     * @return counts and timing of the run
+     */
+    Report reapStaleSessions(Duration idleCutoff);
+
+    /**
+     * Outcome of a reaper run.
+     *
+     * @param cutoff        sessions last active before this time were stale
+     * @param reaped        number of sessions cancelled
+     * @param users         number of users whose sessions were cancelled
+     * @param chunks        number of chunks processed
+     * @param elapsedMillis wall-clock duration of the run
+     */
+    record Report(LocalDateTime cutoff, long reaped, int users, int chunks, long elapsedMillis) {
+    }
+}
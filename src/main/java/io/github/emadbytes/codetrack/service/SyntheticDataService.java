@@ -0,0 +1,61 @@
+// src\main\java\io\github\emadbytes\codetrack\service\SyntheticDataService.java
+package io.github.emadbytes.codetrack.service;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for generating large synthetic datasets for load tests,
+ * benchmarks and profiling.
+ * The generated data is fully determined by the settings, including the seed,
+ * regardless of how many threads write it.
+ */
+public interface SyntheticDataService {
+
+    /**
+     * Creates synthetic users and their completed coding sessions.
+     * Nothing is generated if the first synthetic user already exists.
+     *
+     * @param settings shape and size of the dataset
+     * @return counts and throughput of the run
+     */
+    Summary generate(Settings settings);
+
+    /**
+     * Shape and size of a synthetic dataset.
+     *
+     * @param users          number of users to create
+     * @param years          years of history per user, ending the day before {@code endDate}
+     * @param sessionsPerDay average number of sessions per user and weekday
+     * @param projects       number of distinct project names
+     * @param skew           Zipf exponent of the activity of users and the popularity of
+     *                       projects; 0 makes all of them equally likely
+     * @param seed           seed of the random generator
+     * @param threads        number of users generated concurrently
+     * @param batchSize      number of sessions per insert batch
+     * @param usernamePrefix prefix of the generated usernames
+     * @param endDate        day after the last day of history
+     */
+    record Settings(
+            int users,
+            int years,
+            double sessionsPerDay,
+            int projects,
+            double skew,
+            long seed,
+            int threads,
+            int batchSize,
+            String usernamePrefix,
+            LocalDate endDate) {
+    }
+
+    /**
+     * Outcome of a generator run.
+     *
+     * @param users         number of users created
+     * @param sessions      number of sessions created
+     * @param elapsedMillis wall-clock duration of the run
+     * @param rowsPerSecond sessions inserted per second
+     */
+    record Summary(int users, long sessions, long elapsedMillis, double rowsPerSecond) {
+    }
+}
@@ -1,6 +1,11 @@
 // src\main\java\io\github\emadbytes\codetrack\service\impl\CodingSessionServiceImpl.java
 package io.github.emadbytes.codetrack.service.impl;
 
+import io.github.emadbytes.codetrack.dto.CodingSessionDTO;
+import io.github.emadbytes.codetrack.dto.SessionCursor;
+import io.github.emadbytes.codetrack.dto.SessionPage;
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
 import io.github.emadbytes.codetrack.exception.CodingSessionNotFoundException;
 import io.github.emadbytes.codetrack.exception.InvalidSessionOperationException;
 import io.github.emadbytes.codetrack.model.CodingSession;
@@ -8,16 +13,26 @@ import io.github.emadbytes.codetrack.model.SessionStatus;
 import io.github.emadbytes.codetrack.model.User;
 import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
 import io.github.emadbytes.codetrack.service.CodingSessionService;
+import io.github.emadbytes.codetrack.service.stats.ActiveSessionRegistry;
+import io.github.emadbytes.codetrack.service.stats.ActivityRangeIndex;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -26,9 +41,18 @@ import java.util.List;
 public class CodingSessionServiceImpl implements CodingSessionService {
 
     private final CodingSessionRepository codingSessionRepository;
-
-    public CodingSessionServiceImpl(CodingSessionRepository codingSessionRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final ActivityRangeIndex activityRangeIndex;
+    private final ActiveSessionRegistry activeSessionRegistry;
+
+    public CodingSessionServiceImpl(CodingSessionRepository codingSessionRepository,
+            ApplicationEventPublisher eventPublisher,
+            ActivityRangeIndex activityRangeIndex,
+            ActiveSessionRegistry activeSessionRegistry) {
         this.codingSessionRepository = codingSessionRepository;
+        this.eventPublisher = eventPublisher;
+        this.activityRangeIndex = activityRangeIndex;
+        this.activeSessionRegistry = activeSessionRegistry;
     }
 
     @Override
@@ -36,10 +60,8 @@ public class CodingSessionServiceImpl implements CodingSessionService {
         log.debug("Starting new session - User: {}, Project: {}, Description: {}",
                 user.getUsername(), projectName, description);
 
-        // Check for existing active session
-        List<CodingSession> activeSessions = codingSessionRepository
-                .findByUserAndStatus(user, SessionStatus.IN_PROGRESS);
-        if (!activeSessions.isEmpty()) {
+        // Check for existing active session, the unique index catches concurrent starts
+        if (activeSessionRegistry.find(user.getId()).isPresent()) {
             throw new InvalidSessionOperationException("User already has an active coding session");
         }
 
@@ -50,8 +72,17 @@ public class CodingSessionServiceImpl implements CodingSessionService {
         session.setProjectName(projectName);
         session.setStatus(SessionStatus.IN_PROGRESS);
 
-        CodingSession savedSession = codingSessionRepository.save(session);
+        // A concurrent start either already committed (duplicate key) or is
+        // still uncommitted (concurrency failure); both mean this one lost
+        CodingSession savedSession;
+        try {
+            savedSession = codingSessionRepository.saveAndFlush(session);
+        } catch (DataIntegrityViolationException | ConcurrencyFailureException e) {
+            throw new InvalidSessionOperationException("User already has an active coding session");
+        }
         log.debug("Started new session: {}", savedSession);
+
+        eventPublisher.publishEvent(SessionStartedEvent.of(savedSession));
         return savedSession;
     }
 
@@ -60,7 +91,7 @@ public class CodingSessionServiceImpl implements CodingSessionService {
         log.debug("Ending session with ID: {}", sessionId);
 
         CodingSession session = getSession(sessionId);
-        if (session.getStatus() != SessionStatus.IN_PROGRESS) {
+        if (!session.getStatus().canTransitionTo(SessionStatus.COMPLETED)) {
             throw new InvalidSessionOperationException("Cannot end a session that is not in progress");
         }
 
@@ -72,8 +103,17 @@ public class CodingSessionServiceImpl implements CodingSessionService {
         Duration duration = Duration.between(session.getStartTime(), endTime);
         session.setDurationMinutes(duration.toMinutes());
 
-        CodingSession savedSession = codingSessionRepository.save(session);
+        // The versioned update fails if another request ended the session first
+        CodingSession savedSession;
+        try {
+            savedSession = codingSessionRepository.saveAndFlush(session);
+        } catch (ConcurrencyFailureException e) {
+            throw new InvalidSessionOperationException("Cannot end a session that is not in progress");
+        }
         log.debug("Ended session: {}", savedSession);
+
+        // Derived statistics are maintained from this event
+        eventPublisher.publishEvent(SessionCompletedEvent.of(savedSession));
         return savedSession;
     }
 
@@ -85,6 +125,14 @@ public class CodingSessionServiceImpl implements CodingSessionService {
                 .orElseThrow(() -> new CodingSessionNotFoundException(sessionId));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CodingSessionDTO getSessionView(Long sessionId) {
+        log.debug("Fetching session view with ID: {}", sessionId);
+        return codingSessionRepository.findViewById(sessionId)
+                .orElseThrow(() -> new CodingSessionNotFoundException(sessionId));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<CodingSession> getUserSessions(User user, Pageable pageable) {
@@ -94,10 +142,56 @@ public class CodingSessionServiceImpl implements CodingSessionService {
 
     @Override
     @Transactional(readOnly = true)
-    public CodingSession getCurrentSession(User user) {
+    public SessionPage getUserSessions(User user, SessionCursor after, SessionCursor before, int size,
+            boolean includeTotal) {
+        log.debug("Fetching sessions for user: {}, after: {}, before: {}, size: {}",
+                user.getUsername(), after, before, size);
+
+        // One extra row tells whether there is another page in the direction of travel
+        Limit limit = Limit.of(size + 1);
+        List<CodingSessionDTO> sessions;
+        boolean hasNext;
+        boolean hasPrevious;
+        if (before != null) {
+            sessions = new ArrayList<>(codingSessionRepository.findByUserBefore(
+                    user, before.startTime(), before.id(), limit));
+            hasPrevious = sessions.size() > size;
+            sessions = sessions.subList(0, Math.min(size, sessions.size()));
+            Collections.reverse(sessions);
+            hasNext = true;
+            if (sessions.isEmpty()) {
+                // Everything newer is gone, start over from the top
+                return getUserSessions(user, null, null, size, includeTotal);
+            }
+        } else {
+            sessions = after != null
+                    ? codingSessionRepository.findByUserAfter(user, after.startTime(), after.id(), limit)
+                    : codingSessionRepository.findNewestByUser(user, limit);
+            hasNext = sessions.size() > size;
+            sessions = sessions.subList(0, Math.min(size, sessions.size()));
+            hasPrevious = after != null && !sessions.isEmpty();
+        }
+
+        SessionPage page = new SessionPage();
+        page.setContent(sessions);
+        if (hasNext) {
+            page.setNextCursor(cursorOf(sessions.get(sessions.size() - 1)));
+        }
+        if (hasPrevious) {
+            page.setPreviousCursor(cursorOf(sessions.get(0)));
+        }
+        if (includeTotal) {
+            page.setTotalElements(codingSessionRepository.countByUser(user));
+        }
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CodingSessionDTO getCurrentSession(User user) {
         log.debug("Fetching current session for user: {}", user.getUsername());
-        return codingSessionRepository
-                .findFirstByUserAndStatusOrderByStartTimeDesc(user, SessionStatus.IN_PROGRESS)
+        return activeSessionRegistry.find(user.getId())
+                .map(active -> active.toDto(user.getUsername()))
                 .orElse(null);
     }
 
@@ -106,8 +200,30 @@ public class CodingSessionServiceImpl implements CodingSessionService {
     public Long calculateTotalCodingTime(User user, LocalDateTime startDate, LocalDateTime endDate) {
         log.debug("Calculating total coding time for user: {} between {} and {}",
                 user.getUsername(), startDate, endDate);
-        return codingSessionRepository.calculateTotalDurationByUserAndDateRange(
-                user.getId(), startDate, endDate);
+
+        // Whole days are answered from the cumulative totals, only the partial
+        // days at either end of the range are summed by the database
+        LocalDate firstFullDay = startDate.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? startDate.toLocalDate()
+                : startDate.toLocalDate().plusDays(1);
+        LocalDate lastFullDay = endDate.toLocalTime().equals(LocalTime.MAX)
+                ? endDate.toLocalDate()
+                : endDate.toLocalDate().minusDays(1);
+        if (lastFullDay.isBefore(firstFullDay)) {
+            return codingSessionRepository.calculateTotalDurationByUserAndDateRange(
+                    user.getId(), startDate, endDate);
+        }
+
+        long total = activityRangeIndex.totals(user.getId(), firstFullDay, lastFullDay).totalMinutes();
+        if (startDate.isBefore(firstFullDay.atStartOfDay())) {
+            total += codingSessionRepository.calculateTotalDurationByUserAndHalfOpenRange(
+                    user.getId(), startDate, firstFullDay.atStartOfDay());
+        }
+        if (endDate.isAfter(lastFullDay.atTime(LocalTime.MAX))) {
+            total += codingSessionRepository.calculateTotalDurationByUserAndDateRange(
+                    user.getId(), lastFullDay.plusDays(1).atStartOfDay(), endDate);
+        }
+        return total;
     }
 
     @Override
@@ -117,4 +233,8 @@ public class CodingSessionServiceImpl implements CodingSessionService {
                 user.getUsername(), startDate, endDate);
         return codingSessionRepository.findByUserAndStartTimeBetween(user, startDate, endDate);
     }
+
+    private static String cursorOf(CodingSessionDTO session) {
+        return new SessionCursor(session.getStartTime(), session.getId()).encode();
+    }
 }
\ No newline at end of file
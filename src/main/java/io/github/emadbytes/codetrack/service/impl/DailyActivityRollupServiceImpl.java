@@ -0,0 +1,129 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\DailyActivityRollupServiceImpl.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.model.UserDailyActivity;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.repository.UserDailyActivityRepository;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.repository.projection.DailyProjectActivity;
+import io.github.emadbytes.codetrack.service.DailyActivityRollupService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the DailyActivityRollupService interface.
+ * Keeps one user_daily_activity row per user and day in step with the
+ * completed coding sessions.
+ * Completed sessions are added with MERGE statements that increment the
+ * counters in place, so sessions of the same day completing concurrently
+ * cannot overwrite each other's minutes.
+ */
+@Service
+@Transactional
+@Slf4j
+public class DailyActivityRollupServiceImpl implements DailyActivityRollupService {
+
+    private static final String ADD_TO_DAY = "merge into user_daily_activity a " +
+            "using (values (cast(? as bigint), cast(? as date), cast(? as bigint))) " +
+            "s(user_id, activity_date, minutes) " +
+            "on a.user_id = s.user_id and a.activity_date = s.activity_date " +
+            "when matched then update set total_minutes = a.total_minutes + s.minutes, " +
+            "session_count = a.session_count + 1 " +
+            "when not matched then insert (user_id, activity_date, total_minutes, session_count) " +
+            "values (s.user_id, s.activity_date, s.minutes, 1)";
+
+    private static final String ADD_TO_PROJECT = "merge into user_daily_project_minutes p " +
+            "using (select a.id as daily_activity_id, cast(? as varchar(255)) as project_name, " +
+            "cast(? as bigint) as minutes " +
+            "from user_daily_activity a where a.user_id = ? and a.activity_date = ?) s " +
+            "on p.daily_activity_id = s.daily_activity_id and p.project_name = s.project_name " +
+            "when matched then update set minutes = p.minutes + s.minutes " +
+            "when not matched then insert (daily_activity_id, project_name, minutes) " +
+            "values (s.daily_activity_id, s.project_name, s.minutes)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserDailyActivityRepository dailyActivityRepository;
+    private final CodingSessionRepository sessionRepository;
+    private final UserRepository userRepository;
+
+    public DailyActivityRollupServiceImpl(JdbcTemplate jdbcTemplate,
+            UserDailyActivityRepository dailyActivityRepository,
+            CodingSessionRepository sessionRepository,
+            UserRepository userRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dailyActivityRepository = dailyActivityRepository;
+        this.sessionRepository = sessionRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    @EventListener
+    public void recordCompletedSession(SessionCompletedEvent event) {
+        LocalDate activityDate = event.startTime().toLocalDate();
+        log.debug("Recording completed session {} for user ID: {} on {}",
+                event.sessionId(), event.userId(), activityDate);
+
+        long minutes = event.durationMinutes() != null ? event.durationMinutes() : 0L;
+        String project = event.projectName() != null ? event.projectName() : UserDailyActivity.NO_PROJECT;
+        try {
+            jdbcTemplate.update(ADD_TO_DAY, event.userId(), activityDate, minutes);
+        } catch (DuplicateKeyException e) {
+            // The first session of the day completed concurrently and inserted the row, add to it instead
+            jdbcTemplate.update(ADD_TO_DAY, event.userId(), activityDate, minutes);
+        }
+        // The day row stays locked until commit, so the project minutes cannot race
+        jdbcTemplate.update(ADD_TO_PROJECT, project, minutes, event.userId(), activityDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDailyActivity> getDailyActivity(Long userId, LocalDate startDate, LocalDate endDate) {
+        return dailyActivityRepository.findByUserIdAndActivityDateBetweenOrderByActivityDate(
+                userId, startDate, endDate);
+    }
+
+    @Override
+    public int rebuild(Long userId) {
+        dailyActivityRepository.deleteAll(dailyActivityRepository.findByUserId(userId));
+        dailyActivityRepository.flush();
+
+        User user = userRepository.getReferenceById(userId);
+        Map<LocalDate, UserDailyActivity> days = new HashMap<>();
+        for (DailyProjectActivity row : sessionRepository.summarizeCompletedDailyProjectActivity(userId)) {
+            UserDailyActivity activity = days.computeIfAbsent(row.getActivityDate(),
+                    date -> new UserDailyActivity(user, date));
+            String project = row.getProjectName() != null ? row.getProjectName() : UserDailyActivity.NO_PROJECT;
+            long minutes = row.getTotalMinutes() != null ? row.getTotalMinutes() : 0L;
+            activity.setSessionCount(activity.getSessionCount() + row.getSessionCount());
+            activity.setTotalMinutes(activity.getTotalMinutes() + minutes);
+            activity.getProjectMinutes().merge(project, minutes, Long::sum);
+        }
+
+        dailyActivityRepository.saveAll(days.values());
+        log.debug("Rebuilt {} daily activity rows for user ID: {}", days.size(), userId);
+        return days.size();
+    }
+
+    @Override
+    public int rebuildAll() {
+        int rows = 0;
+        for (User user : userRepository.findAll()) {
+            rows += rebuild(user.getId());
+        }
+        log.info("Rebuilt {} daily activity rows", rows);
+        return rows;
+    }
+}
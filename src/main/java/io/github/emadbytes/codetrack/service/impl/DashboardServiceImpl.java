@@ -3,22 +3,32 @@ package io.github.emadbytes.codetrack.service.impl;
 
 import io.github.emadbytes.codetrack.dto.DashboardStatsDTO;
 import io.github.emadbytes.codetrack.dto.DailyActivityDTO;
-import io.github.emadbytes.codetrack.model.CodingSession;
-import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.dto.HeatmapDTO;
 import io.github.emadbytes.codetrack.model.User;
-import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.model.UserDailyActivity;
+import io.github.emadbytes.codetrack.service.DailyActivityRollupService;
 import io.github.emadbytes.codetrack.service.DashboardService;
+import io.github.emadbytes.codetrack.service.stats.ActiveDayIndex;
+import io.github.emadbytes.codetrack.service.stats.ActivityRangeIndex;
+import io.github.emadbytes.codetrack.service.stats.ActivityRangeIndex.RangeTotals;
+import io.github.emadbytes.codetrack.service.stats.DashboardSectionRunner;
+import io.github.emadbytes.codetrack.service.stats.DashboardSectionRunner.Section;
+import io.github.emadbytes.codetrack.service.stats.DashboardStatsCache;
+import io.github.emadbytes.codetrack.service.stats.ProductivityHeatmap;
+import io.github.emadbytes.codetrack.service.stats.SessionColumnStore;
+import io.github.emadbytes.codetrack.service.stats.StringLongMap;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the DashboardService interface.
@@ -29,261 +39,160 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DashboardServiceImpl implements DashboardService {
 
-    private final CodingSessionRepository sessionRepository;
-
-    public DashboardServiceImpl(CodingSessionRepository sessionRepository) {
-        this.sessionRepository = sessionRepository;
+    private final DailyActivityRollupService rollupService;
+    private final ActiveDayIndex activeDayIndex;
+    private final DashboardStatsCache statsCache;
+    private final DashboardSectionRunner sectionRunner;
+    private final ProductivityHeatmap productivityHeatmap;
+    private final ActivityRangeIndex activityRangeIndex;
+    private final SessionColumnStore sessionColumnStore;
+
+    public DashboardServiceImpl(DailyActivityRollupService rollupService,
+            ActiveDayIndex activeDayIndex,
+            DashboardStatsCache statsCache,
+            DashboardSectionRunner sectionRunner,
+            ProductivityHeatmap productivityHeatmap,
+            ActivityRangeIndex activityRangeIndex,
+            SessionColumnStore sessionColumnStore) {
+        this.rollupService = rollupService;
+        this.activeDayIndex = activeDayIndex;
+        this.statsCache = statsCache;
+        this.sectionRunner = sectionRunner;
+        this.productivityHeatmap = productivityHeatmap;
+        this.activityRangeIndex = activityRangeIndex;
+        this.sessionColumnStore = sessionColumnStore;
     }
 
+    /**
+     * Each dashboard section opens its own read-only transaction, so no
+     * connection is held here while the sections are being computed.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardStatsDTO getDashboardStats(User user) {
-        DashboardStatsDTO stats = new DashboardStatsDTO();
-        LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
-        LocalDateTime monthEnd = LocalDateTime.now();
-
-        // Calculate basic statistics
-        stats.setTotalSessions(countCompletedSessions(user));
-        stats.setTotalCodingTime(calculateTotalCodingTime(user));
-        stats.setCurrentStreak(calculateCurrentStreak(user));
-        stats.setLongestStreak(calculateLongestStreak(user));
-
-        // Calculate averages
-        if (stats.getTotalSessions() > 0) {
-            stats.setAverageSessionDuration(stats.getTotalCodingTime() / stats.getTotalSessions());
-        }
-
-        // Get current month statistics
-        stats.setCurrentMonthTotal(calculateTotalCodingTimeInRange(user, monthStart, monthEnd));
-        long daysInCurrentMonth = monthEnd.getDayOfMonth();
-        if (daysInCurrentMonth > 0) {
-            stats.setCurrentMonthDailyAverage(stats.getCurrentMonthTotal() / daysInCurrentMonth);
-        }
-
-        // Get last 7 days activity
-        stats.setLastSevenDaysActivity(getLastSevenDaysActivity(user));
-
-        // Calculate project distribution
-        stats.setProjectTimeDistribution(calculateProjectDistribution(user));
-
-        // Find most productive hour
-        stats.setMostProductiveHour(findMostProductiveHour(user));
-
-        return stats;
+        return statsCache.getStats(user.getId(), () -> computeDashboardStats(user));
     }
 
     @Override
     public List<DailyActivityDTO> getRecentActivity(User user) {
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(6); // Last 7 days including today
-
-        return sessionRepository.findByUserAndStartTimeBetween(
-                user,
-                startDate.atStartOfDay(),
-                endDate.atTime(LocalTime.MAX))
-                .stream()
-                .collect(Collectors.groupingBy(
-                        session -> session.getStartTime().toLocalDate(),
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                this::createDailyActivityFromSessions)))
-                .values()
-                .stream()
-                .sorted(Comparator.comparing(DailyActivityDTO::getDate).reversed())
-                .collect(Collectors.toList());
+        return statsCache.getRecentActivity(user.getId(), () -> computeRecentActivity(user));
     }
 
     @Override
     public Map<LocalDate, DailyActivityDTO> getDetailedStats(User user, LocalDate startDate, LocalDate endDate) {
-        List<CodingSession> sessions = sessionRepository.findByUserAndStartTimeBetween(
-                user,
-                startDate.atStartOfDay(),
-                endDate.atTime(LocalTime.MAX));
-
-        return sessions.stream()
-                .collect(Collectors.groupingBy(
-                        session -> session.getStartTime().toLocalDate(),
-                        Collectors.collectingAndThen(
-                                Collectors.toList(),
-                                this::createDailyActivityFromSessions)));
+        return summarizeDays(user, startDate, endDate);
     }
 
     @Override
-    public Map<String, Long> getProjectStats(User user) {
-        List<CodingSession> completedSessions = sessionRepository.findByUserAndStatus(user, SessionStatus.COMPLETED);
-
-        return completedSessions.stream()
-                .filter(session -> session.getProjectName() != null && !session.getProjectName().isEmpty())
-                .collect(Collectors.groupingBy(
-                        CodingSession::getProjectName,
-                        Collectors.summingLong(
-                                session -> session.getDurationMinutes() != null ? session.getDurationMinutes() : 0L)));
+    public RangeTotals getRangeTotals(User user, LocalDate startDate, LocalDate endDate) {
+        return activityRangeIndex.totals(user.getId(), startDate, endDate);
     }
 
     @Override
-    public Long calculateCurrentStreak(User user) {
-        LocalDate currentDate = LocalDate.now();
-        long streak = 0;
-
-        while (true) {
-            if (hasActivityOnDate(user, currentDate)) {
-                streak++;
-                currentDate = currentDate.minusDays(1);
-            } else {
-                break;
+    public Map<String, Long> getProjectStats(User user) {
+        StringLongMap projectStats = new StringLongMap();
+        sessionColumnStore.forEachProject(user.getId(), (project, minutes) -> {
+            if (project != null && !project.isEmpty()) {
+                projectStats.add(project, minutes);
             }
-        }
-
-        return streak;
+        });
+        return projectStats.toMap();
     }
 
     @Override
-    public Long calculateLongestStreak(User user) {
-        List<CodingSession> allSessions = sessionRepository.findByUser(user);
-        if (allSessions.isEmpty()) {
-            return 0L;
-        }
-
-        Set<LocalDate> activeDates = allSessions.stream()
-                .map(session -> session.getStartTime().toLocalDate())
-                .collect(Collectors.toSet());
-
-        long maxStreak = 0;
-        long currentStreak = 0;
-        LocalDate currentDate = Collections.min(activeDates);
-        LocalDate endDate = LocalDate.now();
-
-        while (!currentDate.isAfter(endDate)) {
-            if (activeDates.contains(currentDate)) {
-                currentStreak++;
-                maxStreak = Math.max(maxStreak, currentStreak);
-            } else {
-                currentStreak = 0;
+    public HeatmapDTO getProductivityHeatmap(User user) {
+        long[][] minutes = productivityHeatmap.minutesByWeekdayAndHour(user.getId());
+        long maxMinutes = 0;
+        for (long[] day : minutes) {
+            for (long hourMinutes : day) {
+                maxMinutes = Math.max(maxMinutes, hourMinutes);
             }
-            currentDate = currentDate.plusDays(1);
         }
 
-        return maxStreak;
+        HeatmapDTO heatmap = new HeatmapDTO();
+        heatmap.setMinutes(minutes);
+        heatmap.setMaxMinutes(maxMinutes);
+        heatmap.setMostProductiveHour(productivityHeatmap.mostProductiveHour(user.getId()));
+        return heatmap;
     }
 
-    // Helper methods
-
-    private Long countCompletedSessions(User user) {
-        return sessionRepository.findByUserAndStatus(user, SessionStatus.COMPLETED).stream().count();
-    }
-
-    private Long calculateTotalCodingTime(User user) {
-        return sessionRepository.findByUserAndStatus(user, SessionStatus.COMPLETED).stream()
-                .mapToLong(session -> session.getDurationMinutes() != null ? session.getDurationMinutes() : 0L)
-                .sum();
+    @Override
+    public Long calculateCurrentStreak(User user) {
+        return activeDayIndex.currentStreak(user.getId(), LocalDate.now());
     }
 
-    private Long calculateTotalCodingTimeInRange(User user, LocalDateTime start, LocalDateTime end) {
-        return sessionRepository.findByUserAndStartTimeBetween(user, start, end).stream()
-                .filter(session -> session.getStatus() == SessionStatus.COMPLETED)
-                .mapToLong(session -> session.getDurationMinutes() != null ? session.getDurationMinutes() : 0L)
-                .sum();
+    @Override
+    public Long calculateLongestStreak(User user) {
+        return activeDayIndex.longestStreak(user.getId(), LocalDate.now());
     }
 
-    /**
-     * Calculates the distribution of time spent across different projects.
-     *
-     * @param user the user whose project distribution to calculate
-     * @return map of project names to total minutes spent
-     */
-    private Map<String, Long> calculateProjectDistribution(User user) {
-        List<CodingSession> completedSessions = sessionRepository.findByUserAndStatus(user, SessionStatus.COMPLETED);
-
-        Map<String, Long> distribution = completedSessions.stream()
-                .filter(session -> session.getDurationMinutes() != null)
-                .collect(Collectors.groupingBy(
-                        // Use "Unspecified" if project name is null or empty
-                        session -> session.getProjectName() != null && !session.getProjectName().isEmpty()
-                                ? session.getProjectName()
-                                : "Unspecified",
-                        Collectors.summingLong(CodingSession::getDurationMinutes)));
-
-        // If there are any sessions but no projects specified, add "Unspecified" with 0
-        // minutes
-        if (distribution.isEmpty() && !completedSessions.isEmpty()) {
-            distribution.put("Unspecified", 0L);
-        }
+    // Helper methods
 
-        return distribution;
+    private DashboardStatsDTO computeDashboardStats(User user) {
+        // Every figure is derived from rollup rows or in-memory indexes, so the amount of
+        // data read depends on the number of distinct buckets, not on the session count.
+        // The sections are independent and may be computed concurrently; a section that
+        // times out shows its empty value instead of failing the whole dashboard, and the
+        // result is then marked partial so that it is not cached.
+        Long userId = user.getId();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        DashboardStatsAggregator aggregator = new DashboardStatsAggregator(now);
+        LocalDate firstRelevantDay = aggregator.firstRelevantDay();
+
+        Section<RangeTotals> totals = sectionRunner.fork("totals",
+                () -> sessionColumnStore.completedTotals(userId), RangeTotals.EMPTY);
+        Section<StringLongMap> projects = sectionRunner.fork("projects", () -> {
+            StringLongMap minutesByProject = new StringLongMap();
+            sessionColumnStore.forEachProject(userId, minutesByProject::add);
+            return minutesByProject;
+        }, new StringLongMap());
+        Section<Integer> mostProductiveHour = sectionRunner.fork("mostProductiveHour",
+                () -> productivityHeatmap.mostProductiveHour(userId), null);
+        Section<List<UserDailyActivity>> days = sectionRunner.fork("days",
+                () -> rollupService.getDailyActivity(userId, firstRelevantDay, today), List.of());
+        Section<Long> currentStreak = sectionRunner.fork("currentStreak",
+                () -> activeDayIndex.currentStreak(userId, today), 0L);
+        Section<Long> longestStreak = sectionRunner.fork("longestStreak",
+                () -> activeDayIndex.longestStreak(userId, today), 0L);
+
+        // The aggregator is not thread-safe, so results are folded on this thread
+        RangeTotals completed = totals.join();
+        aggregator.acceptTotals(completed.sessionCount(), completed.totalMinutes());
+        projects.join().forEach(aggregator::acceptProject);
+        aggregator.acceptMostProductiveHour(mostProductiveHour.join());
+        days.join().forEach(day -> aggregator.acceptDay(day.getActivityDate(), day.getTotalMinutes()));
+        aggregator.acceptStreaks(currentStreak.join(), longestStreak.join());
+        DashboardStatsDTO stats = aggregator.toStats();
+        stats.setPartial(Stream.of(totals, projects, mostProductiveHour, days, currentStreak, longestStreak)
+                .anyMatch(Section::isFallback));
+        return stats;
     }
 
-    private Map<LocalDate, Long> getLastSevenDaysActivity(User user) {
+    private List<DailyActivityDTO> computeRecentActivity(User user) {
         LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(6);
-
-        Map<LocalDate, Long> activityMap = new LinkedHashMap<>();
-        LocalDate current = startDate;
-
-        while (!current.isAfter(endDate)) {
-            activityMap.put(current, 0L);
-            current = current.plusDays(1);
-        }
-
-        List<CodingSession> sessions = sessionRepository.findByUserAndStartTimeBetween(
-                user,
-                startDate.atStartOfDay(),
-                endDate.atTime(LocalTime.MAX));
-
-        sessions.stream()
-                .filter(session -> session.getStatus() == SessionStatus.COMPLETED)
-                .forEach(session -> {
-                    LocalDate sessionDate = session.getStartTime().toLocalDate();
-                    activityMap.merge(sessionDate,
-                            session.getDurationMinutes() != null ? session.getDurationMinutes() : 0L,
-                            Long::sum);
-                });
-
-        return activityMap;
-    }
-
-    private Integer findMostProductiveHour(User user) {
-        Map<Integer, Long> hourlyActivity = sessionRepository.findByUserAndStatus(user, SessionStatus.COMPLETED)
-                .stream()
-                .collect(Collectors.groupingBy(
-                        session -> session.getStartTime().getHour(),
-                        Collectors.summingLong(
-                                session -> session.getDurationMinutes() != null ? session.getDurationMinutes() : 0L)));
-
-        return hourlyActivity.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(null);
-    }
+        LocalDate startDate = endDate.minusDays(6); // Last 7 days including today
 
-    private boolean hasActivityOnDate(User user, LocalDate date) {
-        return sessionRepository.findByUserAndStartTimeBetween(
-                user,
-                date.atStartOfDay(),
-                date.atTime(LocalTime.MAX))
+        return summarizeDays(user, startDate, endDate).values()
                 .stream()
-                .anyMatch(session -> session.getStatus() == SessionStatus.COMPLETED);
+                .sorted(Comparator.comparing(DailyActivityDTO::getDate).reversed())
+                .collect(Collectors.toList());
     }
 
-    private DailyActivityDTO createDailyActivityFromSessions(List<CodingSession> sessions) {
-        DailyActivityDTO activity = new DailyActivityDTO();
-        activity.setDate(sessions.get(0).getStartTime().toLocalDate());
-        activity.setSessionCount((long) sessions.size());
-        activity.setTotalMinutes(sessions.stream()
-                .filter(session -> session.getStatus() == SessionStatus.COMPLETED)
-                .mapToLong(session -> session.getDurationMinutes() != null ? session.getDurationMinutes() : 0L)
-                .sum());
-        activity.setHasActivity(activity.getTotalMinutes() > 0);
-
-        // Find most worked on project
-        activity.setMainProject(sessions.stream()
-                .filter(session -> session.getProjectName() != null && !session.getProjectName().isEmpty())
-                .collect(Collectors.groupingBy(
-                        CodingSession::getProjectName,
-                        Collectors.counting()))
-                .entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("No Project"));
-
-        return activity;
+    /**
+     * Builds one activity record per day from the daily activity rollup.
+     */
+    private Map<LocalDate, DailyActivityDTO> summarizeDays(User user, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, DailyActivityDTO> days = new LinkedHashMap<>();
+        for (UserDailyActivity day : rollupService.getDailyActivity(user.getId(), startDate, endDate)) {
+            DailyActivityDTO activity = new DailyActivityDTO();
+            activity.setDate(day.getActivityDate());
+            activity.setSessionCount(day.getSessionCount());
+            activity.setTotalMinutes(day.getTotalMinutes());
+            activity.setHasActivity(day.getTotalMinutes() > 0);
+            activity.setMainProject(day.getMainProject() != null ? day.getMainProject() : "No Project");
+            days.put(day.getActivityDate(), activity);
+        }
+        return days;
     }
-}
\ No newline at end of file
+}
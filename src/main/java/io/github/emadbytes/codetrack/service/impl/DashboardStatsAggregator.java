@@ -0,0 +1,154 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\DashboardStatsAggregator.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.dto.DashboardStatsDTO;
+import io.github.emadbytes.codetrack.service.stats.DayWindow;
+import io.github.emadbytes.codetrack.service.stats.StringLongMap;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single-pass accumulator for dashboard statistics.
+ * Folds the aggregate rows of the user (per project and per day) together
+ * with the user's streaks and most productive hour into every figure shown on
+ * the dashboard, so each bucket is visited exactly once per render.
+ * Days and projects are accumulated into primitive totals; boxed maps are
+ * only built once, for the DTO.
+ * Instances are not thread-safe and are meant to be used for one request.
+ */
+class DashboardStatsAggregator {
+
+    private static final String UNSPECIFIED_PROJECT = "Unspecified";
+    private static final int DAYS_IN_WEEK = 7;
+
+    private final LocalDate today;
+    private final LocalDate weekStart;
+    private final LocalDate monthStart;
+
+    private long completedSessions;
+    private long totalMinutes;
+    private long currentStreak;
+    private long longestStreak;
+    private final DayWindow lastSevenDaysMinutes;
+    private final DayWindow currentMonthMinutes;
+    private Integer mostProductiveHour;
+    private final StringLongMap projectMinutes = new StringLongMap();
+
+    /**
+     * Creates an aggregator anchored at the given point in time.
+     *
+     * @param now the reference time used for "today", the current week and month
+     */
+    DashboardStatsAggregator(LocalDateTime now) {
+        this.today = now.toLocalDate();
+        this.weekStart = today.minusDays(DAYS_IN_WEEK - 1);
+        this.monthStart = today.withDayOfMonth(1);
+        this.lastSevenDaysMinutes = new DayWindow(weekStart, DAYS_IN_WEEK);
+        this.currentMonthMinutes = DayWindow.between(monthStart, today);
+    }
+
+    /**
+     * Accumulates the overall completed session count and duration.
+     *
+     * @param sessions number of completed sessions of the user
+     * @param minutes  total minutes of those sessions
+     */
+    void acceptTotals(long sessions, long minutes) {
+        completedSessions += sessions;
+        totalMinutes += minutes;
+    }
+
+    /**
+     * Accumulates the completed minutes spent on one project.
+     * Sessions without a project name are grouped as "Unspecified".
+     *
+     * @param projectName the project name, may be null or empty
+     * @param minutes     completed minutes spent on the project
+     */
+    void acceptProject(String projectName, long minutes) {
+        String project = projectName != null && !projectName.isEmpty() ? projectName : UNSPECIFIED_PROJECT;
+        projectMinutes.add(project, minutes);
+    }
+
+    /**
+     * Records the hour of the day in which the user codes the most.
+     *
+     * @param hour hour of the day (0-23), or null if there is no coding time
+     */
+    void acceptMostProductiveHour(Integer hour) {
+        this.mostProductiveHour = hour;
+    }
+
+    /**
+     * Accumulates the completed minutes of one day.
+     * Only days within the current week or month contribute.
+     *
+     * @param date    the day
+     * @param minutes completed minutes on that day
+     */
+    void acceptDay(LocalDate date, long minutes) {
+        long epochDay = date.toEpochDay();
+        lastSevenDaysMinutes.add(epochDay, minutes);
+        currentMonthMinutes.add(epochDay, minutes);
+    }
+
+    /**
+     * Records the current and longest streak of the user.
+     *
+     * @param current consecutive active days ending today
+     * @param longest longest run of consecutive active days
+     */
+    void acceptStreaks(long current, long longest) {
+        this.currentStreak = current;
+        this.longestStreak = longest;
+    }
+
+    /**
+     * Returns the first day whose activity is needed to fill the week and month figures.
+     *
+     * @return earliest day accepted by {@link #acceptDay(LocalDate, long)}
+     */
+    LocalDate firstRelevantDay() {
+        return weekStart.isBefore(monthStart) ? weekStart : monthStart;
+    }
+
+    /**
+     * Builds the dashboard DTO from everything accumulated so far.
+     *
+     * @return populated dashboard statistics
+     */
+    DashboardStatsDTO toStats() {
+        DashboardStatsDTO stats = new DashboardStatsDTO();
+        stats.setTotalSessions(completedSessions);
+        stats.setTotalCodingTime(totalMinutes);
+        stats.setCurrentStreak(currentStreak);
+        stats.setLongestStreak(longestStreak);
+
+        if (completedSessions > 0) {
+            stats.setAverageSessionDuration(totalMinutes / completedSessions);
+        }
+
+        long monthMinutes = currentMonthMinutes.sum();
+        stats.setCurrentMonthTotal(monthMinutes);
+        stats.setCurrentMonthDailyAverage(monthMinutes / today.getDayOfMonth());
+
+        Map<LocalDate, Long> lastSevenDays = new LinkedHashMap<>();
+        for (int i = 0; i < lastSevenDaysMinutes.length(); i++) {
+            lastSevenDays.put(lastSevenDaysMinutes.dayAt(i), lastSevenDaysMinutes.get(i));
+        }
+        stats.setLastSevenDaysActivity(lastSevenDays);
+
+        // If there are any sessions but no projects recorded, show them as "Unspecified"
+        Map<String, Long> distribution = projectMinutes.toMap();
+        if (distribution.isEmpty() && completedSessions > 0) {
+            distribution.put(UNSPECIFIED_PROJECT, 0L);
+        }
+        stats.setProjectTimeDistribution(distribution);
+
+        stats.setMostProductiveHour(mostProductiveHour);
+        return stats;
+    }
+}
@@ -0,0 +1,173 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\HeartbeatLogApplier.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.service.HeartbeatService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Background thread applying the heartbeat write-ahead log to the database.
+ * Reads acknowledged batches in chunks, merges the batches of each user and
+ * records them with one {@link HeartbeatService#ingest} call per user, then
+ * moves the applied position past the chunk. Failures are retried with a
+ * doubling delay capped at a minute until they succeed, except for batches
+ * the database rejects as invalid and batches of users that no longer
+ * exist, which are dropped. {@link #isApplying()} reports whether the thread
+ * is still alive, so that heartbeats are not acknowledged once it has died.
+ * <p>
+ * A chunk is applied at least once: after a crash between applying it and
+ * writing the checkpoint, the batches of its users are ingested again on
+ * restart. That relies on ingestion being idempotent, which it is because
+ * heartbeats at or before a user's recorded sessions, open or completed,
+ * are ignored.
+ */
+@Slf4j
+public class HeartbeatLogApplier implements SmartLifecycle {
+
+    private static final long IDLE_WAIT_MILLIS = 1000;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 60_000;
+
+    private final HeartbeatWriteAheadLog writeAheadLog;
+    private final HeartbeatService heartbeatService;
+    private final UserRepository userRepository;
+    private final int chunkSize;
+
+    private volatile boolean running;
+    private volatile Thread thread;
+
+    public HeartbeatLogApplier(HeartbeatWriteAheadLog writeAheadLog, HeartbeatService heartbeatService,
+            UserRepository userRepository, int chunkSize) {
+        this.writeAheadLog = writeAheadLog;
+        this.heartbeatService = heartbeatService;
+        this.userRepository = userRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "heartbeat-log-applier");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(RETRY_DELAY_MILLIS * 10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Tells whether logged heartbeats are being applied. False before start,
+     * after stop, and if the applying thread died of an unexpected error.
+     *
+     * @return true while the applying thread is alive
+     */
+    public boolean isApplying() {
+        Thread current = thread;
+        return running && current != null && current.isAlive();
+    }
+
+    /**
+     * Applies the next chunk of the log.
+     *
+     * @return number of batches applied, 0 if the log was applied completely
+     * @throws InterruptedException if interrupted while waiting to retry
+     */
+    int applyNext() throws InterruptedException {
+        HeartbeatWriteAheadLog.Chunk chunk = writeAheadLog.read(writeAheadLog.getAppliedPosition(), chunkSize);
+        if (chunk.entries().isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, List<HeartbeatService.Heartbeat>> heartbeatsByUser = new LinkedHashMap<>();
+        for (HeartbeatWriteAheadLog.Entry entry : chunk.entries()) {
+            heartbeatsByUser.computeIfAbsent(entry.userId(), userId -> new ArrayList<>())
+                    .addAll(entry.heartbeats());
+        }
+        for (Map.Entry<Long, List<HeartbeatService.Heartbeat>> user : heartbeatsByUser.entrySet()) {
+            apply(user.getKey(), user.getValue());
+        }
+        writeAheadLog.markApplied(chunk.nextPosition(), chunk.entries().size());
+        return chunk.entries().size();
+    }
+
+    private void run() {
+        log.info("Applying the heartbeat log from position {}", writeAheadLog.getAppliedPosition());
+        long retryDelay = RETRY_DELAY_MILLIS;
+        try {
+            while (running) {
+                try {
+                    if (applyNext() == 0) {
+                        writeAheadLog.awaitDurable(writeAheadLog.getAppliedPosition(), IDLE_WAIT_MILLIS);
+                    }
+                    retryDelay = RETRY_DELAY_MILLIS;
+                } catch (RuntimeException e) {
+                    log.error("Applying the heartbeat log failed at position {}, retrying in {} ms",
+                            writeAheadLog.getAppliedPosition(), retryDelay, e);
+                    Thread.sleep(retryDelay);
+                    retryDelay = nextRetryDelay(retryDelay);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (running) {
+                log.error("The heartbeat log applier died at position {}, heartbeats are no longer accepted",
+                        writeAheadLog.getAppliedPosition());
+            }
+        }
+    }
+
+    private void apply(Long userId, List<HeartbeatService.Heartbeat> heartbeats) throws InterruptedException {
+        long retryDelay = RETRY_DELAY_MILLIS;
+        while (true) {
+            try {
+                Optional<User> user = userRepository.findById(userId);
+                if (user.isEmpty()) {
+                    log.warn("Dropping {} logged heartbeats of deleted user ID: {}", heartbeats.size(), userId);
+                    return;
+                }
+                heartbeatService.ingest(user.get(), heartbeats);
+                return;
+            } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+                log.warn("Could not apply logged heartbeats of user ID: {}, retrying in {} ms: {}",
+                        userId, retryDelay, e.getMessage());
+                Thread.sleep(retryDelay);
+                retryDelay = nextRetryDelay(retryDelay);
+            } catch (DataAccessException e) {
+                log.error("Dropping {} logged heartbeats of user ID: {} that cannot be recorded",
+                        heartbeats.size(), userId, e);
+                return;
+            }
+        }
+    }
+
+    private static long nextRetryDelay(long retryDelay) {
+        return Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+    }
+}
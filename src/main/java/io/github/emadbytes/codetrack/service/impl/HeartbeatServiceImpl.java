@@ -0,0 +1,464 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\HeartbeatServiceImpl.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.dto.ActiveSession;
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
+import io.github.emadbytes.codetrack.event.SessionsReapedEvent;
+import io.github.emadbytes.codetrack.model.CodingSession;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.service.HeartbeatService;
+import io.github.emadbytes.codetrack.service.SessionJournalService;
+import io.github.emadbytes.codetrack.service.stats.ActiveSessionRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Implementation of the HeartbeatService interface.
+ * A batch is coalesced in memory first and then written in one transaction:
+ * heartbeats that only extend the session in progress cost a single update
+ * of its last heartbeat per batch, however many there are. In ASYNC flush
+ * mode that update goes through the {@link HeartbeatWriteBuffer} instead, so
+ * such batches do not open a transaction at all. The session each
+ * user is recording into is remembered between batches, so the database is
+ * only read when that session is not known yet. It is forgotten once the
+ * session ends, here or elsewhere. Batches of the same user are
+ * applied one after another; different users are not serialized.
+ * <p>
+ * Heartbeats that are not after the user's recorded activity are ignored:
+ * not after the last heartbeat of the session in progress or, without one,
+ * not after the end of the user's latest completed heartbeat session. So a
+ * batch applied twice, e.g. resent by a client or replayed from the
+ * write-ahead log, records its sessions only once.
+ */
+@Service
+@Slf4j
+public class HeartbeatServiceImpl implements HeartbeatService {
+
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+    private static final int SWEEP_LIMIT = 500;
+
+    /**
+     * How far in the future a heartbeat may lie, to allow for client clocks running ahead.
+     */
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(1);
+
+    private final CodingSessionRepository codingSessionRepository;
+    private final ActiveSessionRegistry activeSessionRegistry;
+    private final HeartbeatWriteBuffer writeBuffer;
+    private final SessionJournalService sessionJournalService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration idleGap;
+    private final HeartbeatWriteBuffer.FlushMode flushMode;
+    private final ConcurrentMap<Long, Track> tracks = new ConcurrentHashMap<>();
+
+    public HeartbeatServiceImpl(CodingSessionRepository codingSessionRepository,
+            ActiveSessionRegistry activeSessionRegistry,
+            HeartbeatWriteBuffer writeBuffer,
+            SessionJournalService sessionJournalService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${codetrack.heartbeat.idle-gap:PT15M}") Duration idleGap,
+            @Value("${codetrack.heartbeat.flush-mode:SYNC}") HeartbeatWriteBuffer.FlushMode flushMode) {
+        this.codingSessionRepository = codingSessionRepository;
+        this.activeSessionRegistry = activeSessionRegistry;
+        this.writeBuffer = writeBuffer;
+        this.sessionJournalService = sessionJournalService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idleGap = idleGap;
+        this.flushMode = flushMode;
+    }
+
+    @Override
+    public Result ingest(User user, List<Heartbeat> heartbeats) {
+        List<Heartbeat> sorted = new ArrayList<>(heartbeats.size());
+        for (Heartbeat heartbeat : heartbeats) {
+            sorted.add(new Heartbeat(heartbeat.time(), blankToNull(heartbeat.project()),
+                    blankToNull(heartbeat.fileType())));
+        }
+        sorted.sort(Comparator.comparing(Heartbeat::time));
+
+        return withTrack(user.getId(), track -> {
+            Applied applied;
+            try {
+                applied = apply(user, track, sorted);
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                // The session was started or ended elsewhere meanwhile, start over from the database
+                log.debug("Retrying heartbeats of user ID: {} after a concurrent session change", user.getId());
+                track.open = null;
+                applied = apply(user, track, sorted);
+            }
+            track.open = applied.open();
+            return applied.result();
+        });
+    }
+
+    @Override
+    public int closeIdleSessions() {
+        // Buffered heartbeats may keep sessions alive that look idle in the database
+        writeBuffer.flush();
+        LocalDateTime cutoff = LocalDateTime.now().minus(idleGap);
+        int closed = 0;
+        for (ActiveSession idle : codingSessionRepository.findIdleHeartbeatSessions(cutoff, Limit.of(SWEEP_LIMIT))) {
+            boolean completed = withTrack(idle.userId(), track -> {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(
+                            status -> completeIfIdle(idle.sessionId(), cutoff, track)))) {
+                        if (track.open != null && idle.sessionId().equals(track.open.sessionId)) {
+                            track.open = null;
+                        }
+                        return true;
+                    }
+                } catch (ConcurrencyFailureException e) {
+                    log.debug("Session ID: {} changed while being closed, skipping", idle.sessionId());
+                }
+                return false;
+            });
+            if (completed) {
+                closed++;
+            }
+        }
+        if (closed > 0) {
+            log.info("Completed {} idle heartbeat sessions", closed);
+        }
+        return closed;
+    }
+
+    /**
+     * Forgets the session being recorded for a user once it was ended
+     * elsewhere, e.g. by hand or by the session reaper.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionCompleted(SessionCompletedEvent event) {
+        release(event.userId(), List.of(event.sessionId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionsReaped(SessionsReapedEvent event) {
+        release(event.userId(), event.sessionIds());
+    }
+
+    /**
+     * Runs an action holding the lock of the user's track. A track is
+     * dropped once the user has no session open, so that only users
+     * recording a session keep one.
+     */
+    private <T> T withTrack(Long userId, Function<Track, T> action) {
+        while (true) {
+            Track track = tracks.computeIfAbsent(userId, id -> new Track());
+            synchronized (track) {
+                // Dropped while this thread waited for it, take the one replacing it
+                if (track.dropped) {
+                    continue;
+                }
+                try {
+                    return action.apply(track);
+                } finally {
+                    if (track.open == null) {
+                        drop(userId, track);
+                    }
+                }
+            }
+        }
+    }
+
+    private void release(Long userId, List<Long> sessionIds) {
+        Track track = tracks.get(userId);
+        // Sessions ended by a batch of this thread are forgotten when the batch ends
+        if (track == null || Thread.holdsLock(track)) {
+            return;
+        }
+        synchronized (track) {
+            if (!track.dropped && track.open != null && sessionIds.contains(track.open.sessionId)) {
+                track.open = null;
+                drop(userId, track);
+            }
+        }
+    }
+
+    private void drop(Long userId, Track track) {
+        track.dropped = true;
+        tracks.remove(userId, track);
+    }
+
+    private Applied apply(User user, Track track, List<Heartbeat> heartbeats) {
+        Segment current = currentSegment(user.getId(), track);
+        LocalDateTime recordedHeartbeat = current != null ? current.lastHeartbeat : null;
+        LocalDateTime latestAllowed = LocalDateTime.now().plus(MAX_CLOCK_SKEW);
+        // Heartbeats up to the end of the last completed session have been applied already
+        LocalDateTime completedUntil = current == null
+                ? codingSessionRepository.findLastHeartbeatSessionEnd(user.getId()).orElse(null)
+                : null;
+
+        List<Segment> finished = new ArrayList<>();
+        int accepted = 0;
+        int ignored = 0;
+        for (Heartbeat heartbeat : heartbeats) {
+            if (heartbeat.time().isAfter(latestAllowed)
+                    || (current != null && !heartbeat.time().isAfter(current.lastActivity()))
+                    || (completedUntil != null && !heartbeat.time().isAfter(completedUntil))) {
+                ignored++;
+                continue;
+            }
+            accepted++;
+            if (current == null) {
+                current = Segment.startAt(heartbeat);
+            } else if (current.isInterruptedBy(heartbeat, idleGap)) {
+                finished.add(current);
+                current = Segment.startAt(heartbeat);
+            } else {
+                current.extend(heartbeat);
+            }
+        }
+        // A session that is idle already, e.g. from heartbeats sent late, needs no sweep
+        if (current != null && current.lastHeartbeat != null
+                && current.lastHeartbeat.isBefore(LocalDateTime.now().minus(idleGap))) {
+            finished.add(current);
+            current = null;
+        }
+
+        if (flushMode == HeartbeatWriteBuffer.FlushMode.ASYNC
+                && finished.isEmpty() && current != null && current.sessionId != null) {
+            if (!Objects.equals(current.lastHeartbeat, recordedHeartbeat)) {
+                writeBuffer.enqueue(current.sessionId, current.lastHeartbeat);
+            }
+            return new Applied(new Result(accepted, ignored, 0, 0), current);
+        }
+
+        Segment open = current;
+        int opened = transactionTemplate.execute(status -> write(user, finished, open, recordedHeartbeat));
+        return new Applied(new Result(accepted, ignored, opened, finished.size()), current);
+    }
+
+    /**
+     * Writes the coalesced batch in the current transaction.
+     *
+     * @return number of sessions inserted
+     */
+    private int write(User user, List<Segment> finished, Segment current, LocalDateTime recordedHeartbeat) {
+        int opened = 0;
+        for (Segment segment : finished) {
+            if (segment.sessionId != null) {
+                completeRecorded(segment);
+            } else {
+                CodingSession session = codingSessionRepository.save(
+                        newSession(user, segment, SessionStatus.COMPLETED));
+                eventPublisher.publishEvent(SessionCompletedEvent.of(session));
+                opened++;
+            }
+        }
+        if (current != null) {
+            if (current.sessionId == null) {
+                CodingSession session = codingSessionRepository.saveAndFlush(
+                        newSession(user, current, SessionStatus.IN_PROGRESS));
+                current.sessionId = session.getId();
+                eventPublisher.publishEvent(SessionStartedEvent.of(session));
+                opened++;
+            } else if (!Objects.equals(current.lastHeartbeat, recordedHeartbeat)) {
+                if (codingSessionRepository.recordHeartbeat(current.sessionId, current.lastHeartbeat) == 0) {
+                    throw new ObjectOptimisticLockingFailureException(CodingSession.class, current.sessionId);
+                }
+                sessionJournalService.recordHeartbeats(Map.of(current.sessionId, current.lastHeartbeat));
+            }
+        }
+        return opened;
+    }
+
+    /**
+     * Returns a copy of the session the user is recording into, or null if
+     * the user has no session in progress.
+     */
+    private Segment currentSegment(Long userId, Track track) {
+        Optional<ActiveSession> active = activeSessionRegistry.find(userId);
+        if (active.isEmpty()) {
+            return null;
+        }
+        if (track.open != null && active.get().sessionId().equals(track.open.sessionId)) {
+            return track.open.copy();
+        }
+        // Started by hand, or recorded before a restart
+        return codingSessionRepository.findById(active.get().sessionId())
+                .filter(session -> session.getStatus() == SessionStatus.IN_PROGRESS)
+                .map(Segment::of)
+                .orElse(null);
+    }
+
+    /**
+     * Completes a session recorded in an earlier batch at its last activity.
+     * Flushed right away, so that the user's next session can be inserted
+     * without violating the one-active-session index.
+     */
+    private void completeRecorded(Segment segment) {
+        CodingSession session = codingSessionRepository.findById(segment.sessionId)
+                .filter(found -> found.getStatus() == SessionStatus.IN_PROGRESS)
+                .orElseThrow(() -> new ObjectOptimisticLockingFailureException(
+                        CodingSession.class, segment.sessionId));
+        complete(session, segment);
+        codingSessionRepository.saveAndFlush(session);
+        eventPublisher.publishEvent(SessionCompletedEvent.of(session));
+    }
+
+    private Boolean completeIfIdle(Long sessionId, LocalDateTime cutoff, Track track) {
+        CodingSession session = codingSessionRepository.findById(sessionId).orElse(null);
+        if (session == null || session.getStatus() != SessionStatus.IN_PROGRESS
+                || session.getLastHeartbeat() == null || !session.getLastHeartbeat().isBefore(cutoff)) {
+            return false;
+        }
+        Segment segment = track.open != null && sessionId.equals(track.open.sessionId)
+                ? track.open
+                : Segment.of(session);
+        complete(session, segment);
+        codingSessionRepository.save(session);
+        eventPublisher.publishEvent(SessionCompletedEvent.of(session));
+        return true;
+    }
+
+    private static void complete(CodingSession session, Segment segment) {
+        LocalDateTime endTime = segment.lastActivity();
+        session.setEndTime(endTime);
+        session.setLastHeartbeat(segment.lastHeartbeat);
+        session.setStatus(SessionStatus.COMPLETED);
+        session.setDurationMinutes(Duration.between(session.getStartTime(), endTime).toMinutes());
+        if (session.getDescription() == null) {
+            session.setDescription(describe(segment.fileTypes));
+        }
+    }
+
+    private static CodingSession newSession(User user, Segment segment, SessionStatus status) {
+        CodingSession session = new CodingSession();
+        session.setUser(user);
+        session.setStartTime(segment.startTime);
+        session.setLastHeartbeat(segment.lastHeartbeat);
+        session.setProjectName(segment.project);
+        session.setStatus(status);
+        if (status == SessionStatus.COMPLETED) {
+            complete(session, segment);
+        } else {
+            session.setDescription(describe(segment.fileTypes));
+        }
+        return session;
+    }
+
+    private static String describe(Set<String> fileTypes) {
+        if (fileTypes.isEmpty()) {
+            return null;
+        }
+        String description = "Edited: " + String.join(", ", fileTypes);
+        return description.length() > MAX_DESCRIPTION_LENGTH
+                ? description.substring(0, MAX_DESCRIPTION_LENGTH)
+                : description;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+
+    /**
+     * Per-user state, also the monitor batches of the user synchronize on.
+     * Only replaced after the transaction of a batch has committed. Dropped
+     * from the map once the user has no session open; a batch that was
+     * waiting for a dropped track takes the one replacing it.
+     */
+    private static final class Track {
+
+        private Segment open;
+        private boolean dropped;
+    }
+
+    /**
+     * A session being coalesced from heartbeats.
+     */
+    private static final class Segment {
+
+        private Long sessionId;
+        private final String project;
+        private final LocalDateTime startTime;
+        private LocalDateTime lastHeartbeat;
+        private final Set<String> fileTypes;
+
+        private Segment(Long sessionId, String project, LocalDateTime startTime, LocalDateTime lastHeartbeat,
+                Set<String> fileTypes) {
+            this.sessionId = sessionId;
+            this.project = project;
+            this.startTime = startTime;
+            this.lastHeartbeat = lastHeartbeat;
+            this.fileTypes = fileTypes;
+        }
+
+        static Segment startAt(Heartbeat heartbeat) {
+            Segment segment = new Segment(null, heartbeat.project(), heartbeat.time(), heartbeat.time(),
+                    new LinkedHashSet<>());
+            segment.addFileType(heartbeat.fileType());
+            return segment;
+        }
+
+        static Segment of(CodingSession session) {
+            return new Segment(session.getId(), session.getProjectName(), session.getStartTime(),
+                    session.getLastHeartbeat(), new LinkedHashSet<>());
+        }
+
+        Segment copy() {
+            return new Segment(sessionId, project, startTime, lastHeartbeat, new LinkedHashSet<>(fileTypes));
+        }
+
+        LocalDateTime lastActivity() {
+            return lastHeartbeat != null ? lastHeartbeat : startTime;
+        }
+
+        /**
+         * A heartbeat interrupts the session after an idle gap or when it is
+         * for another project. Sessions started by hand are joined by their
+         * first heartbeat however late it comes.
+         */
+        boolean isInterruptedBy(Heartbeat heartbeat, Duration idleGap) {
+            if (heartbeat.project() != null && project != null && !project.equals(heartbeat.project())) {
+                return true;
+            }
+            return lastHeartbeat != null
+                    && Duration.between(lastHeartbeat, heartbeat.time()).compareTo(idleGap) > 0;
+        }
+
+        void extend(Heartbeat heartbeat) {
+            lastHeartbeat = heartbeat.time();
+            addFileType(heartbeat.fileType());
+        }
+
+        private void addFileType(String fileType) {
+            if (fileType != null) {
+                fileTypes.add(fileType);
+            }
+        }
+    }
+
+    private record Applied(Result result, Segment open) {
+    }
+}
@@ -0,0 +1,502 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\HeartbeatWriteAheadLog.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.service.HeartbeatService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local write-ahead log of heartbeat batches, kept in memory-mapped segment
+ * files of a fixed size.
+ * A batch is acknowledged once it is on disk. Appenders that arrive while
+ * another thread forces the log to disk are covered by the next force, so
+ * concurrent requests share one sync instead of paying for one each.
+ * Records are framed by their length and a CRC32 of the payload; positions
+ * are byte offsets across all segments. Segments entirely below the applied
+ * position are deleted. On startup the log is recovered from the segment
+ * files: a torn record at the end, left by a crash before it was
+ * acknowledged, is cut off and appending resumes in its place.
+ */
+@Slf4j
+public class HeartbeatWriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String CHECKPOINT_FILE = "applied.checkpoint";
+
+    /**
+     * Length and CRC32 of the payload.
+     */
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    /**
+     * Written in place of a record length when the rest of a segment is
+     * skipped because the next record did not fit.
+     */
+    private static final int END_OF_SEGMENT = -1;
+
+    private static final int CLEAR_BLOCK_BYTES = 4096;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Object appendLock = new Object();
+    private final Object syncLock = new Object();
+
+    private Segment active;
+    private long writePosition;
+    private volatile long durablePosition;
+    private volatile long appliedPosition;
+
+    private final AtomicLong appendedRecords = new AtomicLong();
+    private final AtomicLong appliedRecords = new AtomicLong();
+    private final AtomicLong syncs = new AtomicLong();
+
+    /**
+     * Opens the log in a directory, recovering the segments found there.
+     *
+     * @param directory   directory holding the segment files, created if missing
+     * @param segmentSize size of new segment files in bytes
+     * @throws IOException if the segment files cannot be read or created
+     */
+    public HeartbeatWriteAheadLog(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * Appends a batch of heartbeats and returns once it is on disk.
+     *
+     * @param userId     ID of the user sending the heartbeats
+     * @param heartbeats the heartbeats
+     * @return log position after the batch
+     */
+    public long append(Long userId, List<HeartbeatService.Heartbeat> heartbeats) {
+        byte[] payload = encode(userId, heartbeats);
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentSize) {
+            throw new IllegalArgumentException(
+                    "A batch of " + payload.length + " bytes does not fit into a log segment of " + segmentSize);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        long end;
+        synchronized (appendLock) {
+            int offset = (int) (writePosition - active.base);
+            if (offset + recordBytes > active.capacity) {
+                if (offset + Integer.BYTES <= active.capacity) {
+                    active.buffer.putInt(offset, END_OF_SEGMENT);
+                }
+                active = createSegment(active.base + active.capacity);
+                writePosition = active.base;
+                offset = 0;
+            }
+            active.buffer.put(offset + HEADER_BYTES, payload);
+            active.buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+            active.buffer.putInt(offset, payload.length);
+            writePosition += recordBytes;
+            end = writePosition;
+        }
+        appendedRecords.incrementAndGet();
+        sync(end);
+        return end;
+    }
+
+    /**
+     * Reads acknowledged batches starting at a position.
+     *
+     * @param from       position to read from, usually the applied position
+     * @param maxRecords maximum number of batches to read
+     * @return the batches read and the position after the last of them
+     */
+    public Chunk read(long from, int maxRecords) {
+        long limit = durablePosition;
+        List<Entry> entries = new ArrayList<>();
+        long position = from;
+        while (entries.size() < maxRecords && position < limit) {
+            Map.Entry<Long, Segment> floor = segments.floorEntry(position);
+            if (floor == null) {
+                throw new IllegalStateException("Heartbeat log position " + position + " is no longer available");
+            }
+            Segment segment = floor.getValue();
+            int offset = (int) (position - segment.base);
+            int length = offset + HEADER_BYTES <= segment.capacity ? segment.buffer.getInt(offset) : END_OF_SEGMENT;
+            if (length == END_OF_SEGMENT) {
+                position = segment.base + segment.capacity;
+                continue;
+            }
+            byte[] payload = segment.readPayload(offset, length);
+            if (payload == null) {
+                throw new IllegalStateException("Corrupt heartbeat log record at position " + position);
+            }
+            entries.add(decode(payload));
+            position += HEADER_BYTES + length;
+        }
+        return new Chunk(entries, position);
+    }
+
+    /**
+     * Waits until batches after a position are on disk.
+     *
+     * @param position      position already seen
+     * @param timeoutMillis how long to wait at most
+     * @return true if there is something to read after the position
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitDurable(long position, long timeoutMillis) throws InterruptedException {
+        synchronized (syncLock) {
+            if (durablePosition <= position) {
+                syncLock.wait(timeoutMillis);
+            }
+            return durablePosition > position;
+        }
+    }
+
+    /**
+     * Records that everything before a position has been applied and deletes
+     * the segments no longer needed. The checkpoint is not forced to disk,
+     * and a crash after a chunk commits but before its checkpoint is written
+     * replays that chunk as well. Replaying is harmless because ingestion
+     * ignores heartbeats that are not after the user's session in progress
+     * or, without one, after the end of the user's latest completed
+     * heartbeat session; see {@link HeartbeatServiceImpl}.
+     *
+     * @param position position after the last applied batch
+     * @param records  number of batches applied
+     */
+    public void markApplied(long position, int records) {
+        try {
+            Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.write(temporary, ByteBuffer.allocate(Long.BYTES).putLong(position).array());
+            Files.move(temporary, directory.resolve(CHECKPOINT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the heartbeat log checkpoint", e);
+        }
+        appliedPosition = position;
+        appliedRecords.addAndGet(records);
+
+        for (Segment segment : segments.headMap(position).values()) {
+            if (segment.base + segment.capacity <= position) {
+                segments.remove(segment.base);
+                delete(segment.file);
+            }
+        }
+    }
+
+    /**
+     * Returns the position up to which batches have been applied.
+     *
+     * @return the applied position
+     */
+    public long getAppliedPosition() {
+        return appliedPosition;
+    }
+
+    /**
+     * Returns the current positions and counters of the log.
+     *
+     * @return positions, lag and counters
+     */
+    public Statistics getStatistics() {
+        long written;
+        synchronized (appendLock) {
+            written = writePosition;
+        }
+        long durable = durablePosition;
+        long applied = appliedPosition;
+        return new Statistics(written, durable, applied, durable - applied, segments.size(),
+                appendedRecords.get(), appliedRecords.get(), syncs.get());
+    }
+
+    @Override
+    public void close() {
+        long end;
+        synchronized (appendLock) {
+            end = writePosition;
+        }
+        sync(end);
+    }
+
+    /**
+     * Forces the log to disk up to at least a position. A thread finding the
+     * position already forced by another returns right away.
+     */
+    private void sync(long position) {
+        synchronized (syncLock) {
+            if (durablePosition >= position) {
+                return;
+            }
+            long target;
+            synchronized (appendLock) {
+                target = writePosition;
+            }
+            long from = durablePosition;
+            Long firstBase = segments.floorKey(from);
+            for (Segment segment : segments.subMap(firstBase != null ? firstBase : from, true, target, false).values()) {
+                int start = (int) (Math.max(from, segment.base) - segment.base);
+                int end = (int) (Math.min(target, segment.base + segment.capacity) - segment.base);
+                if (end > start) {
+                    segment.buffer.force(start, end - start);
+                }
+            }
+            durablePosition = target;
+            syncs.incrementAndGet();
+            syncLock.notifyAll();
+        }
+    }
+
+    private void recover() throws IOException {
+        long checkpoint = readCheckpoint();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long base = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            long size = Files.size(file);
+            if (base + size <= checkpoint) {
+                delete(file);
+            } else {
+                segments.put(base, Segment.map(file, base, (int) size));
+            }
+        }
+
+        if (segments.isEmpty()) {
+            active = createSegment(checkpoint);
+            writePosition = checkpoint;
+        } else {
+            active = segments.lastEntry().getValue();
+            int end = active.validEnd();
+            if (end == END_OF_SEGMENT) {
+                active = createSegment(active.base + active.capacity);
+                writePosition = active.base;
+            } else {
+                active.clearFrom(end);
+                writePosition = active.base + end;
+            }
+        }
+        durablePosition = writePosition;
+        appliedPosition = Math.min(Math.max(checkpoint, segments.firstKey()), writePosition);
+        log.info("Opened heartbeat log in {} with {} segments, {} bytes not applied yet",
+                directory, segments.size(), writePosition - appliedPosition);
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpoint)) {
+            return 0L;
+        }
+        byte[] bytes = Files.readAllBytes(checkpoint);
+        return bytes.length == Long.BYTES ? ByteBuffer.wrap(bytes).getLong() : 0L;
+    }
+
+    private Segment createSegment(long base) {
+        Path file = directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+        try {
+            Segment segment = Segment.map(file, base, segmentSize);
+            segments.put(base, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create heartbeat log segment " + file, e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Still mapped on some platforms; it is deleted on the next startup
+            log.debug("Could not delete heartbeat log segment {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static byte[] encode(Long userId, List<HeartbeatService.Heartbeat> heartbeats) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Long.BYTES + Integer.BYTES + heartbeats.size() * 32);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeLong(userId);
+            output.writeInt(heartbeats.size());
+            for (HeartbeatService.Heartbeat heartbeat : heartbeats) {
+                output.writeLong(heartbeat.time().toEpochSecond(ZoneOffset.UTC));
+                output.writeInt(heartbeat.time().getNano());
+                writeNullable(output, heartbeat.project());
+                writeNullable(output, heartbeat.fileType());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Entry decode(byte[] payload) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            long userId = input.readLong();
+            int count = input.readInt();
+            List<HeartbeatService.Heartbeat> heartbeats = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                LocalDateTime time = LocalDateTime.ofEpochSecond(input.readLong(), input.readInt(), ZoneOffset.UTC);
+                heartbeats.add(new HeartbeatService.Heartbeat(time, readNullable(input), readNullable(input)));
+            }
+            return new Entry(userId, heartbeats);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    /**
+     * A batch of heartbeats read from the log.
+     *
+     * @param userId     ID of the user who sent the heartbeats
+     * @param heartbeats the heartbeats
+     */
+    public record Entry(Long userId, List<HeartbeatService.Heartbeat> heartbeats) {
+    }
+
+    /**
+     * Batches read from the log.
+     *
+     * @param entries      the batches, in the order they were appended
+     * @param nextPosition position after the last batch, to read from next
+     */
+    public record Chunk(List<Entry> entries, long nextPosition) {
+    }
+
+    /**
+     * Snapshot of the log positions and counters.
+     *
+     * @param writePosition   position after the last appended batch
+     * @param durablePosition position up to which the log is on disk
+     * @param appliedPosition position up to which batches have been applied
+     * @param lagBytes        acknowledged bytes not applied yet
+     * @param segments        number of segment files
+     * @param appendedRecords batches appended since startup
+     * @param appliedRecords  batches applied since startup
+     * @param syncs           forces to disk since startup
+     */
+    public record Statistics(long writePosition, long durablePosition, long appliedPosition, long lagBytes,
+            int segments, long appendedRecords, long appliedRecords, long syncs) {
+    }
+
+    private static final class Segment {
+
+        private final Path file;
+        private final long base;
+        private final int capacity;
+        private final MappedByteBuffer buffer;
+
+        private Segment(Path file, long base, int capacity, MappedByteBuffer buffer) {
+            this.file = file;
+            this.base = base;
+            this.capacity = capacity;
+            this.buffer = buffer;
+        }
+
+        static Segment map(Path file, long base, int capacity) throws IOException {
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(file, base, capacity, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+            }
+        }
+
+        /**
+         * Returns the payload of the record at an offset, or null if the
+         * record is incomplete or does not match its checksum.
+         */
+        byte[] readPayload(int offset, int length) {
+            if (length <= 0 || offset + HEADER_BYTES + length > capacity) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return (int) crc.getValue() == buffer.getInt(offset + Integer.BYTES) ? payload : null;
+        }
+
+        /**
+         * Returns the offset after the last intact record, or
+         * {@link #END_OF_SEGMENT} if no more records fit into this segment.
+         */
+        int validEnd() {
+            int offset = 0;
+            while (offset + HEADER_BYTES <= capacity) {
+                int length = buffer.getInt(offset);
+                if (length == END_OF_SEGMENT) {
+                    return END_OF_SEGMENT;
+                }
+                if (readPayload(offset, length) == null) {
+                    return offset;
+                }
+                offset += HEADER_BYTES + length;
+            }
+            return END_OF_SEGMENT;
+        }
+
+        /**
+         * Zeroes a torn record at an offset. Records are written front to
+         * back, so the segment is clear from the first block of zeros on.
+         */
+        void clearFrom(int offset) {
+            int end = offset;
+            while (end < capacity && !isClear(end, Math.min(CLEAR_BLOCK_BYTES, capacity - end))) {
+                end += CLEAR_BLOCK_BYTES;
+            }
+            end = Math.min(end, capacity);
+            if (end > offset) {
+                buffer.put(offset, new byte[end - offset]);
+                buffer.force();
+                log.warn("Cut off an incomplete record at offset {} of heartbeat log segment {}", offset, file);
+            }
+        }
+
+        private boolean isClear(int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (buffer.get(i) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\HeartbeatWriteBuffer.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.service.SessionJournalService;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer for the last heartbeat of sessions in progress.
+ * Heartbeats of the same session are coalesced in memory, only the latest
+ * one is written. Pending writes are spread over independently locked
+ * stripes and flushed as one JDBC batch per stripe when a stripe reaches the
+ * batch size, on the periodic flush and on shutdown.
+ * Every flush also appends the heartbeats to the session event journal.
+ * The buffer is bounded: when it is full, the thread adding to it flushes
+ * before it continues, which slows producers down to the speed of the database.
+ */
+@Component
+@Slf4j
+public class HeartbeatWriteBuffer {
+
+    private static final String UPDATE_LAST_HEARTBEAT = "UPDATE coding_sessions SET last_heartbeat = ? " +
+            "WHERE id = ? AND status = 'IN_PROGRESS' " +
+            "AND (last_heartbeat IS NULL OR last_heartbeat < ?)";
+
+    /**
+     * When a heartbeat batch that only extends a session counts as recorded.
+     */
+    public enum FlushMode {
+        /**
+         * Written in the transaction of the batch, durable once the request returns.
+         */
+        SYNC,
+
+        /**
+         * Buffered and written later; heartbeats received since the last flush
+         * are lost if the application stops abruptly.
+         */
+        ASYNC
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SessionJournalService sessionJournalService;
+    private final TransactionTemplate transactionTemplate;
+    private final Stripe[] stripes;
+    private final int capacity;
+    private final int batchSize;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong backpressureFlushes = new AtomicLong();
+    private volatile boolean closed;
+
+    public HeartbeatWriteBuffer(JdbcTemplate jdbcTemplate, SessionJournalService sessionJournalService,
+            PlatformTransactionManager transactionManager,
+            @Value("${codetrack.heartbeat.write-behind.stripes:16}") int stripes,
+            @Value("${codetrack.heartbeat.write-behind.capacity:10000}") int capacity,
+            @Value("${codetrack.heartbeat.write-behind.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sessionJournalService = sessionJournalService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Records the latest heartbeat of a session in progress, to be written
+     * later. Older heartbeats than the one already pending are dropped.
+     * After shutdown the heartbeat is written right away.
+     *
+     * @param sessionId the session ID
+     * @param time      time of the heartbeat
+     */
+    public void enqueue(Long sessionId, LocalDateTime time) {
+        if (closed) {
+            write(Map.of(sessionId, time));
+            return;
+        }
+        enqueued.incrementAndGet();
+        Stripe stripe = stripes[Math.floorMod(sessionId.hashCode(), stripes.length)];
+        boolean stripeFull;
+        synchronized (stripe) {
+            LocalDateTime previous = stripe.pending.get(sessionId);
+            if (previous == null) {
+                stripe.pending.put(sessionId, time);
+                pending.incrementAndGet();
+            } else {
+                coalesced.incrementAndGet();
+                if (time.isAfter(previous)) {
+                    stripe.pending.put(sessionId, time);
+                }
+            }
+            stripeFull = stripe.pending.size() >= batchSize;
+        }
+        if (stripeFull) {
+            flush(stripe);
+        }
+        if (pending.get() >= capacity) {
+            backpressureFlushes.incrementAndGet();
+            flush();
+        }
+    }
+
+    /**
+     * Writes everything pending, one batch per stripe.
+     *
+     * @return number of sessions updated
+     */
+    public int flush() {
+        int rows = 0;
+        for (Stripe stripe : stripes) {
+            rows += flush(stripe);
+        }
+        return rows;
+    }
+
+    /**
+     * Stops buffering and writes everything pending.
+     */
+    @PreDestroy
+    public void close() {
+        closed = true;
+        int rows = flush();
+        log.info("Heartbeat write buffer closed, flushed {} pending heartbeats", rows);
+    }
+
+    /**
+     * Returns the current counters of the buffer.
+     *
+     * @return enqueue, coalesce, write and flush counts and the current fill
+     */
+    public Statistics getStatistics() {
+        return new Statistics(enqueued.get(), coalesced.get(), written.get(), flushes.get(),
+                backpressureFlushes.get(), pending.get(), capacity);
+    }
+
+    private int flush(Stripe stripe) {
+        Map<Long, LocalDateTime> drained;
+        synchronized (stripe) {
+            if (stripe.pending.isEmpty()) {
+                return 0;
+            }
+            drained = stripe.pending;
+            stripe.pending = new HashMap<>();
+            pending.addAndGet(-drained.size());
+        }
+
+        try {
+            write(drained);
+        } catch (DataAccessException e) {
+            // Put the heartbeats back for the next flush, keeping newer ones that arrived meanwhile
+            synchronized (stripe) {
+                drained.forEach((sessionId, time) -> {
+                    LocalDateTime queued = stripe.pending.putIfAbsent(sessionId, time);
+                    if (queued == null) {
+                        pending.incrementAndGet();
+                    } else if (time.isAfter(queued)) {
+                        stripe.pending.put(sessionId, time);
+                    }
+                });
+            }
+            throw e;
+        }
+        return drained.size();
+    }
+
+    private void write(Map<Long, LocalDateTime> lastHeartbeats) {
+        List<Object[]> rows = new ArrayList<>(lastHeartbeats.size());
+        lastHeartbeats.forEach((sessionId, time) -> rows.add(new Object[] { time, sessionId, time }));
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_HEARTBEAT, rows);
+            sessionJournalService.recordHeartbeats(lastHeartbeats);
+        });
+        written.addAndGet(rows.size());
+        flushes.incrementAndGet();
+    }
+
+    /**
+     * Snapshot of the buffer counters.
+     *
+     * @param enqueued            heartbeats added to the buffer
+     * @param coalesced           heartbeats merged into one already pending for the same session
+     * @param written             session updates written to the database
+     * @param flushes             batches written
+     * @param backpressureFlushes flushes forced because the buffer was full
+     * @param pending             sessions currently waiting to be written
+     * @param capacity            configured maximum number of pending sessions
+     */
+    public record Statistics(long enqueued, long coalesced, long written, long flushes, long backpressureFlushes,
+            int pending, int capacity) {
+    }
+
+    private static final class Stripe {
+
+        private Map<Long, LocalDateTime> pending = new HashMap<>();
+    }
+}
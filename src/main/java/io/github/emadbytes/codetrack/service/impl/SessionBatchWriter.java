@@ -0,0 +1,105 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\SessionBatchWriter.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.model.CodingSession;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.service.SessionJournalService;
+
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts new coding sessions in JDBC batches.
+ * Every call writes its sessions in a transaction of its own, flushes them as
+ * batches of the requested size and clears the persistence context, so the
+ * memory held at any time is bounded by what the caller passes in. Safe to
+ * call from several threads at once. The inserted sessions are appended to
+ * the session event journal in the same transaction.
+ */
+@Component
+public class SessionBatchWriter {
+
+    private final EntityManager entityManager;
+    private final SessionJournalService sessionJournalService;
+    private final TransactionTemplate transactionTemplate;
+
+    public SessionBatchWriter(EntityManager entityManager, SessionJournalService sessionJournalService,
+            PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.sessionJournalService = sessionJournalService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Inserts sessions and commits them.
+     *
+     * @param sessions  the sessions to insert
+     * @param batchSize number of inserts per JDBC batch
+     */
+    public void write(List<NewSession> sessions, int batchSize) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            List<CodingSession> inserted = new ArrayList<>(sessions.size());
+            int inBatch = 0;
+            for (NewSession session : sessions) {
+                CodingSession entity = toEntity(session);
+                entityManager.persist(entity);
+                inserted.add(entity);
+                if (++inBatch == batchSize) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    inBatch = 0;
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            sessionJournalService.recordInserted(inserted);
+        });
+    }
+
+    private CodingSession toEntity(NewSession newSession) {
+        CodingSession session = new CodingSession();
+        session.setUser(entityManager.getReference(User.class, newSession.userId()));
+        session.setStartTime(newSession.startTime());
+        session.setEndTime(newSession.endTime());
+        if (newSession.endTime() != null) {
+            session.setDurationMinutes(Duration.between(newSession.startTime(), newSession.endTime()).toMinutes());
+        }
+        session.setProjectName(newSession.projectName());
+        session.setDescription(newSession.description());
+        session.setStatus(newSession.status());
+        return session;
+    }
+
+    /**
+     * A session to insert. The duration is derived from the start and end time.
+     *
+     * @param userId      ID of the owning user
+     * @param startTime   when the session started
+     * @param endTime     when the session ended, null while in progress
+     * @param status      session status
+     * @param projectName project name, may be null
+     * @param description description, may be null
+     */
+    public record NewSession(
+            Long userId,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            SessionStatus status,
+            String projectName,
+            String description) {
+    }
+}
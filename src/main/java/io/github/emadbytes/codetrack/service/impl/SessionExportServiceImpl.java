@@ -0,0 +1,128 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\SessionExportServiceImpl.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.dto.CodingSessionDTO;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.service.SessionExportService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class SessionExportServiceImpl implements SessionExportService {
+
+    private static final String CSV_HEADER =
+            "id,user_id,username,project_name,description,status,start_time,end_time,duration_minutes";
+
+    private final CodingSessionRepository codingSessionRepository;
+    private final ObjectWriter jsonWriter;
+
+    public SessionExportServiceImpl(CodingSessionRepository codingSessionRepository, ObjectMapper objectMapper) {
+        this.codingSessionRepository = codingSessionRepository;
+        // Exported times are ISO-8601 strings whatever the shared mapper is configured with,
+        // so an export can be read back by the import
+        this.jsonWriter = objectMapper.writerFor(CodingSessionDTO.class)
+                .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Override
+    public long exportUserSessions(Long userId, Format format, OutputStream output) throws IOException {
+        log.debug("Exporting sessions of user ID: {} as {}", userId, format);
+        try (Stream<CodingSessionDTO> sessions = codingSessionRepository.streamByUserId(userId)) {
+            long written = write(sessions, format, output);
+            log.debug("Exported {} sessions of user ID: {}", written, userId);
+            return written;
+        }
+    }
+
+    @Override
+    public long exportAllSessions(Format format, OutputStream output) throws IOException {
+        log.debug("Exporting sessions of all users as {}", format);
+        try (Stream<CodingSessionDTO> sessions = codingSessionRepository.streamAll()) {
+            long written = write(sessions, format, output);
+            log.info("Exported {} sessions of all users", written);
+            return written;
+        }
+    }
+
+    private long write(Stream<CodingSessionDTO> sessions, Format format, OutputStream output) throws IOException {
+        // The writer is flushed but not closed, closing the output is up to the caller
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long written = 0;
+        Iterator<CodingSessionDTO> iterator = sessions.iterator();
+        while (iterator.hasNext()) {
+            CodingSessionDTO session = iterator.next();
+            if (format == Format.CSV) {
+                writeCsvRow(writer, session);
+            } else {
+                writer.write(jsonWriter.writeValueAsString(session));
+                writer.write('\n');
+            }
+            written++;
+        }
+        writer.flush();
+        return written;
+    }
+
+    private static void writeCsvRow(Writer writer, CodingSessionDTO session) throws IOException {
+        writer.write(String.valueOf(session.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(session.getUserId()));
+        writer.write(',');
+        writeCsvField(writer, session.getUsername());
+        writer.write(',');
+        writeCsvField(writer, session.getProjectName());
+        writer.write(',');
+        writeCsvField(writer, session.getDescription());
+        writer.write(',');
+        writeCsvField(writer, session.getStatus() != null ? session.getStatus().name() : null);
+        writer.write(',');
+        writeCsvField(writer, session.getStartTime() != null ? session.getStartTime().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, session.getEndTime() != null ? session.getEndTime().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, session.getDurationMinutes() != null ? session.getDurationMinutes().toString() : null);
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a field as specified by RFC 4180: fields containing a separator,
+     * quote or line break are quoted and embedded quotes are doubled.
+     */
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,287 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\SessionImportServiceImpl.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.service.DailyActivityRollupService;
+import io.github.emadbytes.codetrack.service.SessionExportService;
+import io.github.emadbytes.codetrack.service.SessionImportService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of the SessionImportService interface.
+ * Valid rows are collected into batches that are handed to the
+ * {@link SessionBatchWriter}, so memory use is bounded by the batch size.
+ * Once all rows are written the daily activity rollup of every affected user
+ * is rebuilt.
+ */
+@Service
+@Slf4j
+public class SessionImportServiceImpl implements SessionImportService {
+
+    private static final int MAX_PROJECT_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private final SessionBatchWriter sessionBatchWriter;
+    private final UserRepository userRepository;
+    private final DailyActivityRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public SessionImportServiceImpl(SessionBatchWriter sessionBatchWriter,
+            UserRepository userRepository,
+            DailyActivityRollupService rollupService,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${codetrack.import.batch-size:500}") int batchSize,
+            @Value("${codetrack.import.max-reported-errors:100}") int maxReportedErrors) {
+        this.sessionBatchWriter = sessionBatchWriter;
+        this.userRepository = userRepository;
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public Report importUserSessions(Long userId, SessionExportService.Format format, InputStream input)
+            throws IOException {
+        log.info("Importing {} sessions for user ID: {}", format, userId);
+        return run(new ImportRun(userId), format, input);
+    }
+
+    @Override
+    public Report importSessions(SessionExportService.Format format, InputStream input) throws IOException {
+        log.info("Importing {} sessions for all users", format);
+        return run(new ImportRun(null), format, input);
+    }
+
+    private Report run(ImportRun run, SessionExportService.Format format, InputStream input) throws IOException {
+        long started = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        if (format == SessionExportService.Format.CSV) {
+            readCsv(reader, run);
+        } else {
+            readNdjson(reader, run);
+        }
+        run.writePending();
+
+        // Rebuild the derived state once per user instead of once per session
+        run.importedByUser.forEach((userId, count) -> {
+            rollupService.rebuild(userId);
+            eventPublisher.publishEvent(new SessionsImportedEvent(userId, count));
+        });
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        double rowsPerSecond = run.imported * 1000.0 / Math.max(1L, elapsedMillis);
+        log.info("Imported {} sessions ({} rejected) in {} ms, {} rows/s",
+                run.imported, run.rejected, elapsedMillis, Math.round(rowsPerSecond));
+        return new Report(run.imported, run.rejected, elapsedMillis, rowsPerSecond, List.copyOf(run.errors));
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvRecordReader records = new CsvRecordReader(reader);
+        List<String> header = records.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        if (!columns.containsKey("start_time") || !columns.containsKey("end_time")) {
+            throw new IOException("CSV header must contain the start_time and end_time columns");
+        }
+
+        List<String> record;
+        while ((record = records.next()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            run.accept(new Row(records.getRecordLine(),
+                    field(record, columns, "username"),
+                    field(record, columns, "start_time"),
+                    field(record, columns, "end_time"),
+                    field(record, columns, "status"),
+                    field(record, columns, "project_name"),
+                    field(record, columns, "description")));
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                run.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            if (!node.isObject()) {
+                run.reject(lineNumber, "Expected a JSON object");
+                continue;
+            }
+            run.accept(new Row(lineNumber,
+                    text(node, "username"),
+                    text(node, "startTime"),
+                    text(node, "endTime"),
+                    text(node, "status"),
+                    text(node, "projectName"),
+                    text(node, "description")));
+        }
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+            return null;
+        }
+        return record.get(index);
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * A row of the input, before validation.
+     */
+    private record Row(long line, String username, String startTime, String endTime, String status,
+            String projectName, String description) {
+    }
+
+    /**
+     * State of a single import: the current batch, the counters and the owners
+     * resolved so far.
+     */
+    private class ImportRun {
+
+        private final Long fixedUserId;
+        private final Map<String, Optional<Long>> userIdsByUsername = new HashMap<>();
+        private final Map<Long, Long> importedByUser = new LinkedHashMap<>();
+        private final List<SessionBatchWriter.NewSession> pending = new ArrayList<>(batchSize);
+        private final List<RowError> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        ImportRun(Long fixedUserId) {
+            this.fixedUserId = fixedUserId;
+        }
+
+        void accept(Row row) {
+            Long userId = fixedUserId;
+            if (userId == null) {
+                if (row.username() == null) {
+                    reject(row.line(), "Missing username");
+                    return;
+                }
+                userId = userIdsByUsername.computeIfAbsent(row.username(),
+                        username -> userRepository.findByUsername(username).map(User::getId))
+                        .orElse(null);
+                if (userId == null) {
+                    reject(row.line(), "Unknown user: " + row.username());
+                    return;
+                }
+            }
+
+            LocalDateTime startTime;
+            LocalDateTime endTime;
+            try {
+                startTime = parseTime(row.startTime(), "start time");
+                endTime = parseTime(row.endTime(), "end time");
+            } catch (IllegalArgumentException e) {
+                reject(row.line(), e.getMessage());
+                return;
+            }
+            if (endTime.isBefore(startTime)) {
+                reject(row.line(), "End time is before start time");
+                return;
+            }
+            if (row.status() != null && !SessionStatus.COMPLETED.name().equals(row.status())) {
+                reject(row.line(), "Only completed sessions can be imported, got status " + row.status());
+                return;
+            }
+            if (row.projectName() != null && row.projectName().length() > MAX_PROJECT_NAME_LENGTH) {
+                reject(row.line(), "Project name is longer than " + MAX_PROJECT_NAME_LENGTH + " characters");
+                return;
+            }
+            if (row.description() != null && row.description().length() > MAX_DESCRIPTION_LENGTH) {
+                reject(row.line(), "Description is longer than " + MAX_DESCRIPTION_LENGTH + " characters");
+                return;
+            }
+
+            pending.add(new SessionBatchWriter.NewSession(userId, startTime, endTime, SessionStatus.COMPLETED,
+                    row.projectName(), row.description()));
+            if (pending.size() >= batchSize) {
+                writePending();
+            }
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+
+        void writePending() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            sessionBatchWriter.write(pending, batchSize);
+            for (SessionBatchWriter.NewSession session : pending) {
+                importedByUser.merge(session.userId(), 1L, Long::sum);
+            }
+            imported += pending.size();
+            log.debug("Imported batch of {} sessions, {} so far", pending.size(), imported);
+            pending.clear();
+        }
+
+        private LocalDateTime parseTime(String value, String name) {
+            if (value == null) {
+                throw new IllegalArgumentException("Missing " + name);
+            }
+            try {
+                return LocalDateTime.parse(value.trim());
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid " + name + ": " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,341 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\SessionJournalServiceImpl.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.event.SessionsReapedEvent;
+import io.github.emadbytes.codetrack.model.CodingSession;
+import io.github.emadbytes.codetrack.model.SessionEventType;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.model.UserDailyActivity;
+import io.github.emadbytes.codetrack.repository.UserDailyActivityRepository;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.service.SessionJournalService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of the SessionJournalService interface.
+ * Events are written with plain JDBC batches, appends never touch an existing
+ * row. Snapshots store the folded daily activity as JSON next to the ID of the
+ * last event they include. Replaying a user only reads the journal, so read
+ * models can be rebuilt for many users at once without locking coding_sessions.
+ */
+@Service
+@Transactional
+@Slf4j
+public class SessionJournalServiceImpl implements SessionJournalService {
+
+    private static final String INSERT_EVENT = "insert into session_events (user_id, session_id, event_type, " +
+            "occurred_at, start_time, duration_minutes, project_name, recorded_at) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_HEARTBEAT = "insert into session_events (user_id, session_id, event_type, " +
+            "occurred_at, recorded_at) " +
+            "select user_id, id, 'HEARTBEAT', last_heartbeat, ? from coding_sessions " +
+            "where id = ? and status = 'IN_PROGRESS' and last_heartbeat = ?";
+
+    private static final String INSERT_CANCELLED = "insert into session_events (user_id, session_id, event_type, " +
+            "occurred_at, start_time, duration_minutes, project_name, recorded_at) " +
+            "select user_id, id, 'CANCELLED', end_time, start_time, duration_minutes, project_name, ? " +
+            "from coding_sessions where id = ? and status = 'CANCELLED'";
+
+    private static final TypeReference<List<Day>> DAYS = new TypeReference<>() {
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserDailyActivityRepository dailyActivityRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int snapshotThreshold;
+    private final int replayThreads;
+
+    /**
+     * Transactions appending events, each with the highest event ID visible
+     * before its first append. Event IDs are assigned in increasing order on
+     * insert but become visible on commit, so every event of these
+     * transactions has a higher ID than this, and a snapshot must stay below
+     * it not to pass over an event that commits later. Only appends made by
+     * this process are tracked.
+     */
+    private final Map<Object, Long> appending = new ConcurrentHashMap<>();
+
+    public SessionJournalServiceImpl(JdbcTemplate jdbcTemplate,
+            UserDailyActivityRepository dailyActivityRepository,
+            UserRepository userRepository,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${codetrack.journal.snapshot-threshold:1000}") int snapshotThreshold,
+            @Value("${codetrack.journal.replay-threads:4}") int replayThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dailyActivityRepository = dailyActivityRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotThreshold = snapshotThreshold;
+        this.replayThreads = replayThreads;
+    }
+
+    @Override
+    @EventListener
+    public void recordStarted(SessionStartedEvent event) {
+        beginAppend();
+        jdbcTemplate.update(INSERT_EVENT, event.userId(), event.sessionId(), SessionEventType.STARTED.name(),
+                event.startTime(), event.startTime(), null, event.projectName(), LocalDateTime.now());
+    }
+
+    @Override
+    @EventListener
+    public void recordCompleted(SessionCompletedEvent event) {
+        beginAppend();
+        jdbcTemplate.update(INSERT_EVENT, event.userId(), event.sessionId(), SessionEventType.ENDED.name(),
+                event.endTime(), event.startTime(), event.durationMinutes(), event.projectName(),
+                LocalDateTime.now());
+    }
+
+    @Override
+    @EventListener
+    public void recordReaped(SessionsReapedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(event.sessionIds().size());
+        for (Long sessionId : event.sessionIds()) {
+            rows.add(new Object[] { now, sessionId });
+        }
+        beginAppend();
+        jdbcTemplate.batchUpdate(INSERT_CANCELLED, rows);
+    }
+
+    @Override
+    public void recordHeartbeats(Map<Long, LocalDateTime> lastHeartbeats) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(lastHeartbeats.size());
+        lastHeartbeats.forEach((sessionId, time) -> rows.add(new Object[] { now, sessionId, time }));
+        beginAppend();
+        jdbcTemplate.batchUpdate(INSERT_HEARTBEAT, rows);
+    }
+
+    @Override
+    public void recordInserted(List<CodingSession> sessions) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(sessions.size() * 2);
+        for (CodingSession session : sessions) {
+            Long userId = session.getUser().getId();
+            rows.add(new Object[] { userId, session.getId(), SessionEventType.STARTED.name(),
+                    session.getStartTime(), session.getStartTime(), null, session.getProjectName(), now });
+            if (session.getStatus() != SessionStatus.IN_PROGRESS) {
+                SessionEventType type = session.getStatus() == SessionStatus.COMPLETED
+                        ? SessionEventType.ENDED
+                        : SessionEventType.CANCELLED;
+                LocalDateTime endTime = session.getEndTime() != null ? session.getEndTime() : session.getStartTime();
+                rows.add(new Object[] { userId, session.getId(), type.name(), endTime, session.getStartTime(),
+                        session.getDurationMinutes(), session.getProjectName(), now });
+            }
+        }
+        beginAppend();
+        jdbcTemplate.batchUpdate(INSERT_EVENT, rows);
+    }
+
+    @Override
+    public Snapshot takeSnapshot(Long userId) {
+        Snapshot previous = loadSnapshot(userId);
+        // Read before the appending transactions: a lower ID was assigned earlier, so the transaction
+        // that inserted it is by now either registered or complete
+        long settledEventId = jdbcTemplate.queryForObject(
+                "select coalesce(max(id), 0) from session_events where user_id = ?", Long.class, userId);
+        Object ownAppend = TransactionSynchronizationManager.getResource(appending);
+        for (Map.Entry<Object, Long> append : appending.entrySet()) {
+            if (append.getKey() != ownAppend) {
+                settledEventId = Math.min(settledEventId, append.getValue());
+            }
+        }
+        if (settledEventId <= previous.lastEventId()) {
+            return previous;
+        }
+
+        Map<LocalDate, UserDailyActivity> days = fold(previous, null, settledEventId);
+        List<Day> snapshotDays = new ArrayList<>(days.size());
+        days.values().forEach(activity -> snapshotDays.add(new Day(activity.getActivityDate(),
+                activity.getSessionCount(), activity.getTotalMinutes(), activity.getProjectMinutes())));
+        Snapshot snapshot = new Snapshot(userId, settledEventId, LocalDateTime.now(), snapshotDays);
+        jdbcTemplate.update("merge into session_snapshots (user_id, last_event_id, taken_at, daily_activity) " +
+                "key (user_id) values (?, ?, ?, ?)",
+                userId, snapshot.lastEventId(), snapshot.takenAt(), toJson(snapshotDays));
+        log.debug("Snapshot of user ID: {} taken at event ID: {}", userId, settledEventId);
+        return snapshot;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int takeSnapshots() {
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "select e.user_id from session_events e " +
+                        "left join session_snapshots s on s.user_id = e.user_id " +
+                        "where e.id > coalesce(s.last_event_id, 0) " +
+                        "group by e.user_id having count(*) >= ?",
+                Long.class, snapshotThreshold);
+        for (Long userId : userIds) {
+            transactionTemplate.executeWithoutResult(status -> takeSnapshot(userId));
+        }
+        if (!userIds.isEmpty()) {
+            log.info("Took journal snapshots of {} users", userIds.size());
+        }
+        return userIds.size();
+    }
+
+    @Override
+    public int replay(Long userId) {
+        User user = userRepository.getReferenceById(userId);
+        Map<LocalDate, UserDailyActivity> days = fold(loadSnapshot(userId), user, Long.MAX_VALUE);
+
+        dailyActivityRepository.deleteAll(dailyActivityRepository.findByUserId(userId));
+        dailyActivityRepository.flush();
+        dailyActivityRepository.saveAll(days.values());
+        // Stats indexes loaded from the old rollup reload once the replay commits
+        eventPublisher.publishEvent(new SessionsImportedEvent(userId,
+                days.values().stream().mapToLong(UserDailyActivity::getSessionCount).sum()));
+        log.debug("Replayed {} daily activity rows for user ID: {} from the journal", days.size(), userId);
+        return days.size();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Report replayAll() {
+        long started = System.nanoTime();
+        List<Long> userIds = jdbcTemplate.queryForList("select id from users order by id", Long.class);
+
+        ExecutorService executor = Executors.newFixedThreadPool(replayThreads);
+        long rows = 0;
+        try {
+            List<Future<Integer>> replays = new ArrayList<>(userIds.size());
+            for (Long userId : userIds) {
+                replays.add(executor.submit(() -> transactionTemplate.execute(status -> replay(userId))));
+            }
+            for (Future<Integer> replay : replays) {
+                rows += replay.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying the session journal", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replaying the session journal failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Report report = new Report(userIds.size(), rows, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        log.info("Replayed {} daily activity rows of {} users from the journal in {} ms",
+                report.rows(), report.users(), report.elapsedMillis());
+        return report;
+    }
+
+    /**
+     * Registers the current transaction as appending events until it
+     * completes, unless it already is. Must be called before the inserts.
+     */
+    private void beginAppend() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(appending)) {
+            return;
+        }
+        Object append = new Object();
+        appending.put(append, jdbcTemplate.queryForObject("select coalesce(max(id), 0) from session_events",
+                Long.class));
+        TransactionSynchronizationManager.bindResource(appending, append);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(appending);
+                appending.remove(append);
+            }
+        });
+    }
+
+    /**
+     * Applies the ENDED events after the snapshot, up to and including the
+     * given event ID, to the days of the snapshot. Other events do not change
+     * the daily activity.
+     */
+    private Map<LocalDate, UserDailyActivity> fold(Snapshot snapshot, User user, long lastEventId) {
+        Map<LocalDate, UserDailyActivity> days = new TreeMap<>();
+        for (Day day : snapshot.days()) {
+            UserDailyActivity activity = new UserDailyActivity(user, day.date());
+            activity.setSessionCount(day.sessionCount());
+            activity.setTotalMinutes(day.totalMinutes());
+            activity.setProjectMinutes(new HashMap<>(day.projectMinutes()));
+            days.put(day.date(), activity);
+        }
+
+        RowCallbackHandler applyEnded = resultSet -> {
+            LocalDate date = resultSet.getTimestamp("start_time").toLocalDateTime().toLocalDate();
+            days.computeIfAbsent(date, activityDate -> new UserDailyActivity(user, activityDate))
+                    .addSession(resultSet.getString("project_name"), resultSet.getLong("duration_minutes"));
+        };
+        jdbcTemplate.query("select start_time, duration_minutes, project_name from session_events " +
+                "where user_id = ? and id > ? and id <= ? and event_type = 'ENDED' order by id",
+                applyEnded, snapshot.userId(), snapshot.lastEventId(), lastEventId);
+        return days;
+    }
+
+    private Snapshot loadSnapshot(Long userId) {
+        List<Snapshot> snapshots = jdbcTemplate.query(
+                "select last_event_id, taken_at, daily_activity from session_snapshots where user_id = ?",
+                (resultSet, rowNum) -> new Snapshot(userId, resultSet.getLong("last_event_id"),
+                        resultSet.getTimestamp("taken_at").toLocalDateTime(),
+                        fromJson(userId, resultSet.getString("daily_activity"))),
+                userId);
+        return snapshots.isEmpty() ? new Snapshot(userId, 0L, null, List.of()) : snapshots.get(0);
+    }
+
+    private String toJson(List<Day> days) {
+        try {
+            return objectMapper.writeValueAsString(days);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize journal snapshot", e);
+        }
+    }
+
+    private List<Day> fromJson(Long userId, String json) {
+        try {
+            return objectMapper.readValue(json, DAYS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable journal snapshot of user ID: " + userId, e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\SessionReaperServiceImpl.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.dto.ActiveSession;
+import io.github.emadbytes.codetrack.event.SessionsReapedEvent;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.service.SessionReaperService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of the SessionReaperService interface.
+ * Every chunk is selected and cancelled in a transaction of its own, so locks
+ * are held briefly and a failure only loses the current chunk. The events of
+ * a chunk are published within its transaction and reach the listeners after
+ * it commits.
+ */
+@Service
+@Slf4j
+public class SessionReaperServiceImpl implements SessionReaperService {
+
+    private final CodingSessionRepository codingSessionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public SessionReaperServiceImpl(CodingSessionRepository codingSessionRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${codetrack.reaper.chunk-size:500}") int chunkSize) {
+        this.codingSessionRepository = codingSessionRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Report reapStaleSessions(Duration idleCutoff) {
+        long started = System.nanoTime();
+        LocalDateTime cutoff = LocalDateTime.now().minus(idleCutoff);
+
+        long reaped = 0;
+        int chunks = 0;
+        Set<Long> users = new HashSet<>();
+        ChunkResult chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> reapChunk(cutoff, idleCutoff));
+            if (chunk.selected() > 0) {
+                chunks++;
+                reaped += chunk.cancelled();
+                users.addAll(chunk.userIds());
+            }
+        } while (chunk.selected() == chunkSize);
+
+        Report report = new Report(cutoff, reaped, users.size(), chunks,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        if (reaped > 0) {
+            log.info("Cancelled {} abandoned sessions of {} users in {} chunks, {} ms",
+                    report.reaped(), report.users(), report.chunks(), report.elapsedMillis());
+        } else {
+            log.debug("No abandoned sessions last active before {}", cutoff);
+        }
+        return report;
+    }
+
+    private ChunkResult reapChunk(LocalDateTime cutoff, Duration idleCutoff) {
+        List<ActiveSession> stale = codingSessionRepository.findStaleActiveSessions(cutoff, Limit.of(chunkSize));
+        if (stale.isEmpty()) {
+            return new ChunkResult(0, 0, Set.of());
+        }
+
+        List<Long> ids = new ArrayList<>(stale.size());
+        for (ActiveSession session : stale) {
+            ids.add(session.sessionId());
+        }
+        int cancelled = codingSessionRepository.cancelInProgressSessions(ids, cutoff, idleCutoff.toSeconds());
+
+        // Sessions that received a heartbeat meanwhile were skipped by the update and
+        // must stay registered. Sessions ended concurrently were skipped as well;
+        // dropping them from the registry anyway is harmless, it only removes matching IDs
+        Set<Long> resumed = cancelled < ids.size()
+                ? Set.copyOf(codingSessionRepository.findInProgressIds(ids))
+                : Set.of();
+        Map<Long, List<Long>> sessionIdsByUser = new LinkedHashMap<>();
+        for (ActiveSession session : stale) {
+            if (!resumed.contains(session.sessionId())) {
+                sessionIdsByUser.computeIfAbsent(session.userId(), userId -> new ArrayList<>())
+                        .add(session.sessionId());
+            }
+        }
+        sessionIdsByUser.forEach((userId, sessionIds) ->
+                eventPublisher.publishEvent(new SessionsReapedEvent(userId, List.copyOf(sessionIds))));
+        return new ChunkResult(stale.size(), cancelled, sessionIdsByUser.keySet());
+    }
+
+    private record ChunkResult(int selected, int cancelled, Set<Long> userIds) {
+    }
+}
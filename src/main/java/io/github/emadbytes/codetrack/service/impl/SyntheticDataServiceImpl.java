@@ -0,0 +1,264 @@
+// src\main\java\io\github\emadbytes\codetrack\service\impl\SyntheticDataServiceImpl.java
+package io.github.emadbytes.codetrack.service.impl;
+
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.model.Role;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.service.DailyActivityRollupService;
+import io.github.emadbytes.codetrack.service.SyntheticDataService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Implementation of the SyntheticDataService interface.
+ * Users get a Zipf-distributed share of the activity, so a few users are very
+ * active and most are not, and pick projects from a Zipf-distributed catalog.
+ * Each user is generated by one task with a random generator derived from the
+ * seed and the user's position, so the data does not depend on scheduling.
+ * Sessions are written through the {@link SessionBatchWriter}.
+ */
+@Service
+@Slf4j
+public class SyntheticDataServiceImpl implements SyntheticDataService {
+
+    /**
+     * Upper bound of a user's average sessions per day, keeps the most active
+     * users of a strongly skewed dataset within a plausible working day.
+     */
+    private static final double MAX_SESSIONS_PER_DAY = 16.0;
+    private static final double WEEKEND_ACTIVITY = 0.35;
+    private static final int USER_SAVE_CHUNK = 500;
+    private static final String PASSWORD = "password123";
+    private static final String[] DESCRIPTIONS = {
+            "Implementing new features",
+            "Fixing bugs",
+            "Writing unit tests",
+            "Code refactoring",
+            "Code review",
+            "Performance optimization"
+    };
+
+    private final UserRepository userRepository;
+    private final SessionBatchWriter sessionBatchWriter;
+    private final DailyActivityRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordEncoder passwordEncoder;
+
+    public SyntheticDataServiceImpl(UserRepository userRepository,
+            SessionBatchWriter sessionBatchWriter,
+            DailyActivityRollupService rollupService,
+            ApplicationEventPublisher eventPublisher,
+            PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.sessionBatchWriter = sessionBatchWriter;
+        this.rollupService = rollupService;
+        this.eventPublisher = eventPublisher;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public Summary generate(Settings settings) {
+        if (settings.users() < 1 || settings.years() < 1 || settings.projects() < 1
+                || settings.threads() < 1 || settings.batchSize() < 1 || settings.sessionsPerDay() < 0) {
+            throw new IllegalArgumentException("Invalid synthetic data settings: " + settings);
+        }
+        if (userRepository.findByUsername(username(settings, 0)).isPresent()) {
+            log.info("Synthetic users with prefix '{}' already exist. Skipping generation.",
+                    settings.usernamePrefix());
+            return new Summary(0, 0L, 0L, 0.0);
+        }
+
+        log.info("Generating synthetic data: {}", settings);
+        long started = System.nanoTime();
+        List<Long> userIds = createUsers(settings);
+        double[] sessionsPerDay = activityByUser(settings);
+        double[] projectCdf = zipfCdf(settings.projects(), settings.skew());
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.threads());
+        long sessions = 0;
+        try {
+            List<Future<Long>> results = new ArrayList<>(userIds.size());
+            for (int i = 0; i < userIds.size(); i++) {
+                int userIndex = i;
+                results.add(executor.submit(() -> generateSessions(settings, userIds.get(userIndex), userIndex,
+                        sessionsPerDay[userIndex], projectCdf)));
+            }
+            for (Future<Long> result : results) {
+                sessions += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Synthetic data generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Synthetic data generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        double rowsPerSecond = sessions * 1000.0 / Math.max(1L, elapsedMillis);
+        log.info("Generated {} users and {} sessions in {} ms, {} rows/s",
+                userIds.size(), sessions, elapsedMillis, Math.round(rowsPerSecond));
+        return new Summary(userIds.size(), sessions, elapsedMillis, rowsPerSecond);
+    }
+
+    private List<Long> createUsers(Settings settings) {
+        // Encoding is deliberately slow, all synthetic users share one hash
+        String password = passwordEncoder.encode(PASSWORD);
+        List<Long> userIds = new ArrayList<>(settings.users());
+        List<User> chunk = new ArrayList<>(USER_SAVE_CHUNK);
+        for (int i = 0; i < settings.users(); i++) {
+            User user = new User();
+            user.setUsername(username(settings, i));
+            user.setEmail(user.getUsername() + "@synthetic.codetrack.local");
+            user.setPassword(password);
+            user.setActive(true);
+            user.addRole(Role.USER);
+            chunk.add(user);
+            if (chunk.size() == USER_SAVE_CHUNK || i == settings.users() - 1) {
+                userRepository.saveAll(chunk).forEach(saved -> userIds.add(saved.getId()));
+                chunk.clear();
+            }
+        }
+        log.info("Created {} synthetic users", userIds.size());
+        return userIds;
+    }
+
+    private long generateSessions(Settings settings, Long userId, int userIndex, double sessionsPerDay,
+            double[] projectCdf) {
+        SplittableRandom random = new SplittableRandom(settings.seed() ^ (0x9E3779B97F4A7C15L * (userIndex + 1)));
+        int projectOffset = random.nextInt(settings.projects());
+        List<SessionBatchWriter.NewSession> batch = new ArrayList<>(settings.batchSize());
+        long written = 0;
+
+        LocalDate endDate = settings.endDate();
+        for (LocalDate day = endDate.minusYears(settings.years()); day.isBefore(endDate); day = day.plusDays(1)) {
+            boolean weekend = day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+            int count = poisson(random, weekend ? sessionsPerDay * WEEKEND_ACTIVITY : sessionsPerDay);
+
+            LocalDateTime start = day.atTime(7, 0).plusMinutes(random.nextInt(240));
+            for (int i = 0; i < count; i++) {
+                // Mostly short sessions with a long tail, at least 10 minutes
+                long minutes = 10 + Math.min(300L, Math.round(-Math.log(1.0 - random.nextDouble()) * 50));
+                LocalDateTime end = start.plusMinutes(minutes);
+                if (!end.toLocalDate().equals(day)) {
+                    break;
+                }
+                int project = sample(projectCdf, random);
+                batch.add(new SessionBatchWriter.NewSession(userId, start, end, SessionStatus.COMPLETED,
+                        projectName((project + projectOffset) % settings.projects()),
+                        DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)]));
+                if (batch.size() == settings.batchSize()) {
+                    sessionBatchWriter.write(batch, settings.batchSize());
+                    written += batch.size();
+                    batch.clear();
+                }
+                start = end.plusMinutes(5 + random.nextInt(90));
+            }
+        }
+        sessionBatchWriter.write(batch, settings.batchSize());
+        written += batch.size();
+
+        rollupService.rebuild(userId);
+        eventPublisher.publishEvent(new SessionsImportedEvent(userId, written));
+        log.debug("Generated {} sessions for user ID: {}", written, userId);
+        return written;
+    }
+
+    /**
+     * Spreads the average activity over the users with a Zipf distribution.
+     * Ranks are shuffled with the seed so the most active users are not simply
+     * the first ones created.
+     */
+    private static double[] activityByUser(Settings settings) {
+        int users = settings.users();
+        List<Integer> ranks = new ArrayList<>(users);
+        for (int i = 1; i <= users; i++) {
+            ranks.add(i);
+        }
+        Collections.shuffle(ranks, new Random(settings.seed()));
+
+        double[] weights = new double[users];
+        double total = 0;
+        for (int i = 0; i < users; i++) {
+            weights[i] = 1.0 / Math.pow(ranks.get(i), settings.skew());
+            total += weights[i];
+        }
+        double[] sessionsPerDay = new double[users];
+        for (int i = 0; i < users; i++) {
+            sessionsPerDay[i] = Math.min(MAX_SESSIONS_PER_DAY,
+                    settings.sessionsPerDay() * users * weights[i] / total);
+        }
+        return sessionsPerDay;
+    }
+
+    /**
+     * Cumulative Zipf distribution over {@code size} ranks.
+     */
+    private static double[] zipfCdf(int size, double skew) {
+        double[] cdf = new double[size];
+        double total = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            total += 1.0 / Math.pow(rank, skew);
+            cdf[rank - 1] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+
+    /**
+     * Samples a rank from a cumulative distribution.
+     */
+    private static int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return Math.min(index, cdf.length - 1);
+    }
+
+    /**
+     * Samples a Poisson distributed count (Knuth's method, fine for small means).
+     */
+    private static int poisson(SplittableRandom random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            count++;
+            product *= random.nextDouble();
+        }
+        return count;
+    }
+
+    private static String username(Settings settings, int index) {
+        return String.format("%s%06d", settings.usernamePrefix(), index + 1);
+    }
+
+    private static String projectName(int index) {
+        return String.format("Project %03d", index + 1);
+    }
+}
@@ -0,0 +1,215 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\ActiveDayIndex.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * In-memory index of the days on which each user completed at least one
+ * coding session.
+ * A user's days are loaded lazily with a single query returning only the
+ * distinct start dates and then kept up to date from
+ * {@link SessionCompletedEvent}s, so streaks can be computed without any
+ * per-day database access.
+ */
+@Component
+@Slf4j
+public class ActiveDayIndex {
+
+    private final CodingSessionRepository sessionRepository;
+    private final LazyUserIndex<ActiveDays> activeDaysByUser = new LazyUserIndex<>(this::load);
+
+    public ActiveDayIndex(CodingSessionRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    /**
+     * Calculates the number of consecutive active days ending today.
+     *
+     * @param userId the user's ID
+     * @param today  the current date
+     * @return current streak in days, 0 if there was no activity today
+     */
+    public long currentStreak(Long userId, LocalDate today) {
+        return activeDays(userId).currentStreak(today.toEpochDay());
+    }
+
+    /**
+     * Calculates the longest run of consecutive active days up to today.
+     *
+     * @param userId the user's ID
+     * @param today  the current date
+     * @return longest streak in days
+     */
+    public long longestStreak(Long userId, LocalDate today) {
+        return activeDays(userId).longestStreak(today.toEpochDay());
+    }
+
+    /**
+     * Marks the start day of a completed session as active for its user.
+     * Users whose days have not been loaded yet are skipped; they will pick
+     * the session up from the database on first access. A load in progress
+     * is repeated, as its query may have run before the session committed.
+     *
+     * @param event the completed session
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionCompleted(SessionCompletedEvent event) {
+        activeDaysByUser.update(event.userId(), days -> days.add(event.startTime().toLocalDate().toEpochDay()));
+    }
+
+    /**
+     * Drops the active days of a user whose sessions were imported in bulk.
+     *
+     * @param event the import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionsImported(SessionsImportedEvent event) {
+        evict(event.userId());
+    }
+
+    /**
+     * Drops the cached days of a user so they are reloaded on next access.
+     *
+     * @param userId the user's ID
+     */
+    public void evict(Long userId) {
+        activeDaysByUser.evict(userId);
+    }
+
+    private ActiveDays activeDays(Long userId) {
+        return activeDaysByUser.get(userId);
+    }
+
+    private ActiveDays load(Long userId) {
+        ActiveDays days = new ActiveDays();
+        for (LocalDate date : sessionRepository.findDistinctCompletedStartDates(userId)) {
+            days.add(date.toEpochDay());
+        }
+        log.debug("Loaded {} active days for user ID: {}", days.size(), userId);
+        return days;
+    }
+
+    /**
+     * Set of epoch days stored as a bitset, one bit per day.
+     * Bit {@code i} of word {@code w} stands for day {@code firstDay + w * 64 + i},
+     * so streaks are found by scanning whole 64-day words at a time.
+     */
+    static class ActiveDays {
+
+        private static final int WORD_BITS = Long.SIZE;
+
+        private long[] words = new long[0];
+        private long firstDay;
+        private int size;
+
+        synchronized void add(long epochDay) {
+            if (words.length == 0) {
+                firstDay = Math.floorDiv(epochDay, WORD_BITS) * WORD_BITS;
+                words = new long[1];
+            } else if (epochDay < firstDay) {
+                long newFirstDay = Math.floorDiv(epochDay, WORD_BITS) * WORD_BITS;
+                int shift = (int) ((firstDay - newFirstDay) / WORD_BITS);
+                long[] grown = new long[words.length + shift];
+                System.arraycopy(words, 0, grown, shift, words.length);
+                words = grown;
+                firstDay = newFirstDay;
+            }
+
+            long offset = epochDay - firstDay;
+            int word = (int) (offset / WORD_BITS);
+            if (word >= words.length) {
+                words = Arrays.copyOf(words, Math.max(word + 1, words.length * 2));
+            }
+            long bit = 1L << (offset % WORD_BITS);
+            if ((words[word] & bit) == 0) {
+                words[word] |= bit;
+                size++;
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long currentStreak(long today) {
+            long offset = today - firstDay;
+            if (size == 0 || offset < 0 || offset >= (long) words.length * WORD_BITS) {
+                return 0;
+            }
+            int word = (int) (offset / WORD_BITS);
+            int bit = (int) (offset % WORD_BITS);
+
+            // Move today's bit to the top so the run ending today is the leading ones
+            long streak = Long.numberOfLeadingZeros(~(words[word] << (WORD_BITS - 1 - bit)));
+            if (streak <= bit) {
+                return streak;
+            }
+            for (word--; word >= 0; word--) {
+                int ones = Long.numberOfLeadingZeros(~words[word]);
+                streak += ones;
+                if (ones < WORD_BITS) {
+                    break;
+                }
+            }
+            return streak;
+        }
+
+        synchronized long longestStreak(long today) {
+            long offset = today - firstDay;
+            if (size == 0 || offset < 0) {
+                return 0;
+            }
+            int lastWord = (int) Math.min(words.length - 1, offset / WORD_BITS);
+
+            long longest = 0;
+            long run = 0;
+            for (int word = 0; word <= lastWord; word++) {
+                long bits = words[word];
+                if (word == offset / WORD_BITS) {
+                    // Ignore days after today
+                    int bit = (int) (offset % WORD_BITS);
+                    bits &= bit == WORD_BITS - 1 ? -1L : (1L << (bit + 1)) - 1;
+                }
+                if (bits == -1L) {
+                    run += WORD_BITS;
+                    continue;
+                }
+
+                int position = 0;
+                while (position < WORD_BITS) {
+                    long rest = bits >>> position;
+                    if (rest == 0) {
+                        longest = Math.max(longest, run);
+                        run = 0;
+                        break;
+                    }
+                    int zeros = Long.numberOfTrailingZeros(rest);
+                    if (zeros > 0) {
+                        longest = Math.max(longest, run);
+                        run = 0;
+                        position += zeros;
+                        rest >>>= zeros;
+                    }
+                    int ones = Long.numberOfTrailingZeros(~rest);
+                    run += ones;
+                    position += ones;
+                }
+            }
+            return Math.max(longest, run);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\ActiveSessionRegistry.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.dto.ActiveSession;
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
+import io.github.emadbytes.codetrack.event.SessionsReapedEvent;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory registry of the in-progress session of every user.
+ * Loaded once at startup from the IN_PROGRESS rows and then kept up to date
+ * from the session started, completed and reaped events after their
+ * transactions commit. The database remains the source of truth: a
+ * unique index allows at most one in-progress session per user, so a stale
+ * registry can never let a second one be started.
+ * Until the registry is loaded, lookups go to the database.
+ */
+@Component
+@Slf4j
+public class ActiveSessionRegistry {
+
+    private final CodingSessionRepository sessionRepository;
+    private final ConcurrentMap<Long, ActiveSession> sessionsByUser = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public ActiveSessionRegistry(CodingSessionRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    /**
+     * Loads the in-progress sessions of all users.
+     * Sessions registered by events while loading take precedence.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<ActiveSession> active = sessionRepository.findActiveSessions();
+        for (ActiveSession session : active) {
+            sessionsByUser.putIfAbsent(session.userId(), session);
+        }
+        loaded = true;
+        log.info("Loaded {} active coding sessions", active.size());
+    }
+
+    /**
+     * Returns the in-progress session of a user.
+     *
+     * @param userId the user's ID
+     * @return the active session, or empty if the user has none
+     */
+    public Optional<ActiveSession> find(Long userId) {
+        if (!loaded) {
+            return sessionRepository.findActiveSessionByUserId(userId);
+        }
+        return Optional.ofNullable(sessionsByUser.get(userId));
+    }
+
+    /**
+     * Registers a session once its start has been committed.
+     *
+     * @param event the started session
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionStarted(SessionStartedEvent event) {
+        sessionsByUser.put(event.userId(), ActiveSession.of(event));
+    }
+
+    /**
+     * Removes a session once its completion has been committed, unless the
+     * user has meanwhile started another one.
+     *
+     * @param event the completed session
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionCompleted(SessionCompletedEvent event) {
+        sessionsByUser.computeIfPresent(event.userId(),
+                (userId, active) -> active.sessionId().equals(event.sessionId()) ? null : active);
+    }
+
+    /**
+     * Removes sessions once their cancellation by the reaper has been
+     * committed, unless the user has meanwhile started another one.
+     *
+     * @param event the cancelled sessions
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionsReaped(SessionsReapedEvent event) {
+        sessionsByUser.computeIfPresent(event.userId(),
+                (userId, active) -> event.sessionIds().contains(active.sessionId()) ? null : active);
+    }
+
+    /**
+     * Returns the number of users with an in-progress session.
+     *
+     * @return number of registered sessions
+     */
+    public int size() {
+        return sessionsByUser.size();
+    }
+}
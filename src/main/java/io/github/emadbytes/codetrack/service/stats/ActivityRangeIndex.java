@@ -0,0 +1,194 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\ActivityRangeIndex.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.repository.UserDailyActivityRepository;
+import io.github.emadbytes.codetrack.repository.projection.DailyTotals;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * In-memory cumulative totals of the completed sessions of each user over
+ * epoch days.
+ * Every user has a pair of Fenwick trees (session count and minutes) indexed
+ * by day, so the totals of any date range are answered in logarithmic time.
+ * A user's trees are loaded lazily from the daily activity rollup and then
+ * kept up to date from {@link SessionCompletedEvent}s.
+ */
+@Component
+@Slf4j
+public class ActivityRangeIndex {
+
+    private final UserDailyActivityRepository dailyActivityRepository;
+    private final LazyUserIndex<CumulativeTotals> totalsByUser = new LazyUserIndex<>(this::load);
+
+    public ActivityRangeIndex(UserDailyActivityRepository dailyActivityRepository) {
+        this.dailyActivityRepository = dailyActivityRepository;
+    }
+
+    /**
+     * Sums the completed sessions a user started within a date range.
+     *
+     * @param userId    the user's ID
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return session count and total minutes of the range
+     */
+    public RangeTotals totals(Long userId, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return RangeTotals.EMPTY;
+        }
+        return totals(userId).sum(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Adds a completed session to its user's totals.
+     * Users whose totals have not been loaded yet are skipped; they will pick
+     * the session up from the rollup on first access. A load in progress is
+     * repeated, as its query may have run before the session committed.
+     *
+     * @param event the completed session
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionCompleted(SessionCompletedEvent event) {
+        long minutes = event.durationMinutes() != null ? event.durationMinutes() : 0L;
+        totalsByUser.update(event.userId(),
+                totals -> totals.add(event.startTime().toLocalDate().toEpochDay(), 1L, minutes));
+    }
+
+    /**
+     * Drops the totals of a user whose sessions were imported in bulk.
+     *
+     * @param event the import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionsImported(SessionsImportedEvent event) {
+        evict(event.userId());
+    }
+
+    /**
+     * Drops the cached totals of a user so they are reloaded on next access.
+     *
+     * @param userId the user's ID
+     */
+    public void evict(Long userId) {
+        totalsByUser.evict(userId);
+    }
+
+    private CumulativeTotals totals(Long userId) {
+        return totalsByUser.get(userId);
+    }
+
+    private CumulativeTotals load(Long userId) {
+        CumulativeTotals totals = new CumulativeTotals();
+        int days = 0;
+        for (DailyTotals row : dailyActivityRepository.findDailyTotalsByUserId(userId)) {
+            totals.add(row.getActivityDate().toEpochDay(),
+                    row.getSessionCount() != null ? row.getSessionCount() : 0L,
+                    row.getTotalMinutes() != null ? row.getTotalMinutes() : 0L);
+            days++;
+        }
+        log.debug("Loaded cumulative totals of {} days for user ID: {}", days, userId);
+        return totals;
+    }
+
+    /**
+     * Completed session count and minutes of a date range.
+     *
+     * @param sessionCount number of completed sessions
+     * @param totalMinutes total minutes of those sessions
+     */
+    public record RangeTotals(long sessionCount, long totalMinutes) {
+
+        public static final RangeTotals EMPTY = new RangeTotals(0L, 0L);
+    }
+
+    /**
+     * Fenwick trees of session counts and minutes, one slot per day starting at
+     * {@code firstDay}. The per-day values are kept as well so the trees can be
+     * rebuilt in linear time when the covered days grow.
+     */
+    static class CumulativeTotals {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long firstDay;
+        private long[] dayCounts = new long[0];
+        private long[] dayMinutes = new long[0];
+        private long[] countTree = new long[0];
+        private long[] minutesTree = new long[0];
+
+        synchronized void add(long epochDay, long sessions, long minutes) {
+            if (dayCounts.length == 0) {
+                firstDay = epochDay;
+                resize(epochDay, INITIAL_CAPACITY);
+            } else if (epochDay < firstDay) {
+                resize(epochDay, (int) (firstDay - epochDay) + dayCounts.length * 2);
+            } else if (epochDay - firstDay >= dayCounts.length) {
+                resize(firstDay, (int) Math.max(epochDay - firstDay + 1, dayCounts.length * 2L));
+            }
+
+            int index = (int) (epochDay - firstDay);
+            dayCounts[index] += sessions;
+            dayMinutes[index] += minutes;
+            for (int i = index; i < countTree.length; i |= i + 1) {
+                countTree[i] += sessions;
+                minutesTree[i] += minutes;
+            }
+        }
+
+        synchronized RangeTotals sum(long fromDay, long toDay) {
+            if (dayCounts.length == 0) {
+                return RangeTotals.EMPTY;
+            }
+            int from = (int) Math.max(-1, Math.min(fromDay - firstDay - 1, dayCounts.length - 1));
+            int to = (int) Math.max(-1, Math.min(toDay - firstDay, dayCounts.length - 1));
+            return new RangeTotals(
+                    prefix(countTree, to) - prefix(countTree, from),
+                    prefix(minutesTree, to) - prefix(minutesTree, from));
+        }
+
+        private void resize(long newFirstDay, int capacity) {
+            int shift = (int) (firstDay - newFirstDay);
+            long[] counts = new long[capacity];
+            long[] minutes = new long[capacity];
+            System.arraycopy(dayCounts, 0, counts, shift, dayCounts.length);
+            System.arraycopy(dayMinutes, 0, minutes, shift, dayMinutes.length);
+            firstDay = newFirstDay;
+            dayCounts = counts;
+            dayMinutes = minutes;
+            countTree = build(counts);
+            minutesTree = build(minutes);
+        }
+
+        private static long[] build(long[] values) {
+            long[] tree = Arrays.copyOf(values, values.length);
+            for (int i = 0; i < tree.length; i++) {
+                int parent = i | (i + 1);
+                if (parent < tree.length) {
+                    tree[parent] += tree[i];
+                }
+            }
+            return tree;
+        }
+
+        private static long prefix(long[] tree, int index) {
+            long sum = 0;
+            for (int i = index; i >= 0; i = (i & (i + 1)) - 1) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\DashboardSectionRunner.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent sections of the dashboard, either one after another
+ * on the calling thread or concurrently on the dashboard section executor.
+ * Each section runs in its own read-only transaction, so it borrows a
+ * connection only for as long as its own queries take.
+ * <p>
+ * In parallel mode a section that misses its deadline is interrupted and
+ * its transaction carries a timeout of the same length, so a slow query is
+ * cancelled rather than left holding a worker and a connection. The
+ * dashboard then shows the section's fallback value instead of failing,
+ * and {@link Section#isFallback()} tells it not to cache that result.
+ */
+@Component
+@Slf4j
+public class DashboardSectionRunner {
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor executor;
+    private final boolean parallel;
+    private final Duration sectionTimeout;
+
+    public DashboardSectionRunner(PlatformTransactionManager transactionManager,
+            @Qualifier("dashboardSectionExecutor") Executor executor,
+            @Value("${codetrack.dashboard.parallel.enabled:false}") boolean parallel,
+            @Value("${codetrack.dashboard.parallel.section-timeout:PT2S}") Duration sectionTimeout) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        if (parallel) {
+            // Transaction timeouts have second granularity, round up so they never undercut the deadline
+            long timeoutSeconds = Math.max(1L, (sectionTimeout.toMillis() + 999L) / 1000L);
+            this.readOnlyTransaction.setTimeout((int) Math.min(Integer.MAX_VALUE, timeoutSeconds));
+        }
+        this.executor = executor;
+        this.parallel = parallel;
+        this.sectionTimeout = sectionTimeout;
+    }
+
+    /**
+     * Starts computing a section.
+     * In sequential mode the section is computed before this method returns.
+     *
+     * @param name     section name used in logs
+     * @param query    computes the section
+     * @param fallback value shown instead when the section times out
+     * @param <T>      section result type
+     * @return handle to the section result
+     */
+    public <T> Section<T> fork(String name, Supplier<T> query, T fallback) {
+        FutureTask<T> task = new FutureTask<>(() -> runReadOnly(query));
+        if (!parallel) {
+            task.run();
+            return new Section<>(name, task, fallback, 0L);
+        }
+        // A plain FutureTask, unlike a CompletableFuture, interrupts its worker when cancelled
+        executor.execute(task);
+        return new Section<>(name, task, fallback, System.nanoTime() + sectionTimeout.toNanos());
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    private <T> T runReadOnly(Supplier<T> query) {
+        return readOnlyTransaction.execute(status -> query.get());
+    }
+
+    /**
+     * Handle to a section that is being computed.
+     *
+     * @param <T> section result type
+     */
+    public final class Section<T> {
+
+        private final String name;
+        private final FutureTask<T> future;
+        private final T fallback;
+        private final long deadlineNanos;
+        private boolean usedFallback;
+
+        private Section(String name, FutureTask<T> future, T fallback, long deadlineNanos) {
+            this.name = name;
+            this.future = future;
+            this.fallback = fallback;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Waits for the section until its deadline.
+         * A section that misses the deadline is cancelled and yields its fallback value.
+         *
+         * @return the section result, or the fallback value if the deadline passes first
+         */
+        public T join() {
+            try {
+                return future.get(Math.max(0L, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Dashboard section '{}' timed out after {}, showing its fallback value", name,
+                        sectionTimeout);
+                usedFallback = true;
+                return fallback;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                throw new IllegalStateException("Interrupted while computing dashboard section '" + name + "'", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException("Dashboard section '" + name + "' failed", e.getCause());
+            }
+        }
+
+        /**
+         * Tells whether {@link #join()} returned the fallback value.
+         *
+         * @return true if the section timed out
+         */
+        public boolean isFallback() {
+            return usedFallback;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\DashboardStatsCache.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.dto.DailyActivityDTO;
+import io.github.emadbytes.codetrack.dto.DashboardStatsDTO;
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.event.SessionsReapedEvent;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Size- and time-bounded per-user cache for the dashboard statistics and the
+ * recent activity list.
+ * Entries are invalidated when the user's sessions change and expire
+ * when the date changes, since streaks and "today" depend on the clock.
+ */
+@Component
+public class DashboardStatsCache {
+
+    private final int maxEntries;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    private final LinkedHashMap<Long, Entry> entries;
+    /** Invalidation count per user, one number for each user ever invalidated. */
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Autowired
+    public DashboardStatsCache(
+            @Value("${codetrack.dashboard.cache.max-entries:1000}") int maxEntries,
+            @Value("${codetrack.dashboard.cache.ttl:PT5M}") Duration timeToLive) {
+        this(maxEntries, timeToLive, Clock.systemDefaultZone());
+    }
+
+    DashboardStatsCache(int maxEntries, Duration timeToLive, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        // Access order turns the map into an LRU list
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > DashboardStatsCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached dashboard statistics of a user, computing them on a miss.
+     * Partial statistics, with some figures missing, are returned without being cached.
+     *
+     * @param userId the user's ID
+     * @param loader computes the statistics when they are not cached
+     * @return the dashboard statistics
+     */
+    public DashboardStatsDTO getStats(Long userId, Supplier<DashboardStatsDTO> loader) {
+        Entry entry = lookup(userId);
+        if (entry != null && entry.stats != null) {
+            hits.incrementAndGet();
+            return entry.stats;
+        }
+        misses.incrementAndGet();
+
+        long observedGeneration = generation(userId);
+        DashboardStatsDTO stats = loader.get();
+        if (!stats.isPartial()) {
+            store(userId, observedGeneration, cached -> cached.stats = stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the cached recent activity of a user, computing it on a miss.
+     *
+     * @param userId the user's ID
+     * @param loader computes the recent activity when it is not cached
+     * @return the recent activity list
+     */
+    public List<DailyActivityDTO> getRecentActivity(Long userId, Supplier<List<DailyActivityDTO>> loader) {
+        Entry entry = lookup(userId);
+        if (entry != null && entry.recentActivity != null) {
+            hits.incrementAndGet();
+            return entry.recentActivity;
+        }
+        misses.incrementAndGet();
+
+        long observedGeneration = generation(userId);
+        List<DailyActivityDTO> recentActivity = List.copyOf(loader.get());
+        store(userId, observedGeneration, cached -> cached.recentActivity = recentActivity);
+        return recentActivity;
+    }
+
+    /**
+     * Removes everything cached for a user.
+     *
+     * @param userId the user's ID
+     */
+    public void invalidate(Long userId) {
+        generations.merge(userId, 1L, Long::sum);
+        synchronized (entries) {
+            if (entries.remove(userId) != null) {
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onSessionStarted(SessionStartedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onSessionCompleted(SessionCompletedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onSessionsImported(SessionsImportedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onSessionsReaped(SessionsReapedEvent event) {
+        invalidate(event.userId());
+    }
+
+    /**
+     * Returns the current counters of the cache.
+     *
+     * @return hit, miss, eviction and invalidation counts and the current size
+     */
+    public Statistics getStatistics() {
+        synchronized (entries) {
+            return new Statistics(hits.get(), misses.get(), evictions.get(), invalidations.get(),
+                    entries.size(), maxEntries);
+        }
+    }
+
+    private Entry lookup(Long userId) {
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.isStale(LocalDate.now(clock), clock.instant())) {
+                entries.remove(userId);
+                evictions.incrementAndGet();
+                return null;
+            }
+            return entry;
+        }
+    }
+
+    private long generation(Long userId) {
+        return generations.getOrDefault(userId, 0L);
+    }
+
+    private void store(Long userId, long observedGeneration, Consumer<Entry> update) {
+        synchronized (entries) {
+            // Skip caching values computed while an invalidation of the user was in flight
+            if (generation(userId) != observedGeneration) {
+                return;
+            }
+            Entry entry = entries.get(userId);
+            if (entry == null || entry.isStale(LocalDate.now(clock), clock.instant())) {
+                entry = new Entry(LocalDate.now(clock), clock.instant().plus(timeToLive));
+                entries.put(userId, entry);
+            }
+            update.accept(entry);
+        }
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @param hits          lookups answered from the cache
+     * @param misses        lookups that had to compute the value
+     * @param evictions     entries removed because of size, expiry or date change
+     * @param invalidations entries removed because the user's sessions changed
+     * @param size          current number of cached users
+     * @param maxEntries    configured maximum number of cached users
+     */
+    public record Statistics(long hits, long misses, long evictions, long invalidations, int size, int maxEntries) {
+    }
+
+    private static class Entry {
+
+        private final LocalDate day;
+        private final Instant expiresAt;
+        private DashboardStatsDTO stats;
+        private List<DailyActivityDTO> recentActivity;
+
+        Entry(LocalDate day, Instant expiresAt) {
+            this.day = day;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isStale(LocalDate today, Instant now) {
+            return !day.equals(today) || !now.isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\DayWindow.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import java.time.LocalDate;
+
+/**
+ * Running totals over a fixed window of consecutive days, kept in a
+ * {@code long[]} indexed by epoch day relative to the first day, so adding a
+ * value needs neither a boxed key nor a boxed total.
+ * Values for days outside the window are ignored. Not thread-safe.
+ */
+public final class DayWindow {
+
+    private final LocalDate firstDay;
+    private final long firstEpochDay;
+    private final long[] totals;
+
+    /**
+     * Creates a window of days.
+     *
+     * @param firstDay first day of the window
+     * @param days     number of days in the window
+     */
+    public DayWindow(LocalDate firstDay, int days) {
+        this.firstDay = firstDay;
+        this.firstEpochDay = firstDay.toEpochDay();
+        this.totals = new long[days];
+    }
+
+    /**
+     * Creates a window covering a date range.
+     *
+     * @param firstDay first day of the window (inclusive)
+     * @param lastDay  last day of the window (inclusive)
+     * @return the window, empty if the last day is before the first
+     */
+    public static DayWindow between(LocalDate firstDay, LocalDate lastDay) {
+        return new DayWindow(firstDay, (int) Math.max(0L, lastDay.toEpochDay() - firstDay.toEpochDay() + 1));
+    }
+
+    /**
+     * Adds a value to the total of a day.
+     *
+     * @param date  the day
+     * @param value value to add
+     * @return true if the day lies within the window
+     */
+    public boolean add(LocalDate date, long value) {
+        return add(date.toEpochDay(), value);
+    }
+
+    /**
+     * Adds a value to the total of a day.
+     *
+     * @param epochDay the day, as an epoch day
+     * @param value    value to add
+     * @return true if the day lies within the window
+     */
+    public boolean add(long epochDay, long value) {
+        long index = epochDay - firstEpochDay;
+        if (index < 0 || index >= totals.length) {
+            return false;
+        }
+        totals[(int) index] += value;
+        return true;
+    }
+
+    /**
+     * @return number of days in the window
+     */
+    public int length() {
+        return totals.length;
+    }
+
+    /**
+     * @param index position of the day in the window, 0 for the first day
+     * @return the day at that position
+     */
+    public LocalDate dayAt(int index) {
+        return firstDay.plusDays(index);
+    }
+
+    /**
+     * @param index position of the day in the window, 0 for the first day
+     * @return total of the day at that position
+     */
+    public long get(int index) {
+        return totals[index];
+    }
+
+    /**
+     * @return total over all days of the window
+     */
+    public long sum() {
+        long sum = 0;
+        for (long total : totals) {
+            sum += total;
+        }
+        return sum;
+    }
+}
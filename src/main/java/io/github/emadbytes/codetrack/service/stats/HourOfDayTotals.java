@@ -0,0 +1,46 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\HourOfDayTotals.java
+package io.github.emadbytes.codetrack.service.stats;
+
+/**
+ * Running totals per hour of the day, kept in a fixed {@code long[24]}.
+ * Not thread-safe.
+ */
+public final class HourOfDayTotals {
+
+    public static final int HOURS_IN_DAY = 24;
+
+    private final long[] totals = new long[HOURS_IN_DAY];
+
+    /**
+     * Adds a value to the total of an hour.
+     *
+     * @param hour  hour of the day (0-23)
+     * @param value value to add
+     */
+    public void add(int hour, long value) {
+        totals[hour] += value;
+    }
+
+    /**
+     * @param hour hour of the day (0-23)
+     * @return total of that hour
+     */
+    public long get(int hour) {
+        return totals[hour];
+    }
+
+    /**
+     * Finds the hour with the highest total; ties go to the earlier hour.
+     *
+     * @return hour of the day (0-23), or -1 if no hour has a positive total
+     */
+    public int maxHour() {
+        int maxHour = -1;
+        for (int hour = 0; hour < HOURS_IN_DAY; hour++) {
+            if (totals[hour] > 0 && (maxHour < 0 || totals[hour] > totals[maxHour])) {
+                maxHour = hour;
+            }
+        }
+        return maxHour;
+    }
+}
@@ -0,0 +1,133 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\LazyUserIndex.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Per-user values of an in-memory index, loaded lazily from the database and
+ * then kept up to date from session events.
+ * An event for a user whose value is being loaded may or may not be seen by
+ * the query of that load, so the load is repeated instead of published;
+ * events for users that are neither loaded nor loading are skipped, as the
+ * next load reads them from the database. Only a load that runs entirely
+ * between a commit and its after-commit event can still see that event
+ * twice.
+ *
+ * @param <V> value type, updates must be safe to run from several threads
+ */
+final class LazyUserIndex<V> {
+
+    private final Function<Long, V> loader;
+    private final ConcurrentMap<Long, V> values = new ConcurrentHashMap<>();
+
+    // Users being loaded; guarded by itself, which also orders publishing against updates
+    private final Map<Long, Load> loading = new HashMap<>();
+
+    LazyUserIndex(Function<Long, V> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the value of a user, loading it if needed.
+     *
+     * @param userId the user's ID
+     * @return the user's value
+     */
+    V get(Long userId) {
+        V value = values.get(userId);
+        while (value == null) {
+            long observedChanges = startLoad(userId);
+            V loaded = null;
+            try {
+                loaded = loader.apply(userId);
+            } finally {
+                value = finishLoad(userId, observedChanges, loaded);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Applies an event to the value of a user if it is loaded, and makes a
+     * load in progress start over otherwise.
+     *
+     * @param userId the user's ID
+     * @param update applies the event to the value
+     */
+    void update(Long userId, Consumer<V> update) {
+        V value = values.get(userId);
+        if (value == null) {
+            synchronized (loading) {
+                value = values.get(userId);
+                if (value == null) {
+                    changed(userId);
+                    return;
+                }
+            }
+        }
+        update.accept(value);
+    }
+
+    /**
+     * Drops the value of a user so it is reloaded on next access, discarding
+     * any load in progress.
+     *
+     * @param userId the user's ID
+     */
+    void evict(Long userId) {
+        synchronized (loading) {
+            values.remove(userId);
+            changed(userId);
+        }
+    }
+
+    private long startLoad(Long userId) {
+        synchronized (loading) {
+            Load load = loading.computeIfAbsent(userId, id -> new Load());
+            load.loaders++;
+            return load.changes;
+        }
+    }
+
+    /**
+     * Publishes a loaded value unless the user changed meanwhile.
+     *
+     * @return the published value, or null if the value has to be loaded again
+     */
+    private V finishLoad(Long userId, long observedChanges, V loaded) {
+        synchronized (loading) {
+            Load load = loading.get(userId);
+            boolean changed = load.changes != observedChanges;
+            if (--load.loaders == 0) {
+                loading.remove(userId);
+            }
+            V existing = values.get(userId);
+            if (existing != null || loaded == null || changed) {
+                return existing;
+            }
+            values.put(userId, loaded);
+            return loaded;
+        }
+    }
+
+    private void changed(Long userId) {
+        Load load = loading.get(userId);
+        if (load != null) {
+            load.changes++;
+        }
+    }
+
+    /**
+     * Loads of one user in progress and the events that arrived meanwhile.
+     */
+    private static final class Load {
+
+        private int loaders;
+        private long changes;
+    }
+}
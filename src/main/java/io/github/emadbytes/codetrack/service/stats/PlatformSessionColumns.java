@@ -0,0 +1,448 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\PlatformSessionColumns.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Off-heap columnar copy of the completed sessions of all users, for
+ * platform-wide analytics.
+ * Each session takes one row of four int columns (user, start day, minutes
+ * and project) held in direct buffers of a fixed number of rows, so the heap
+ * only holds the user and project dictionaries, whose size does not depend
+ * on the number of sessions. Totals per user, project or day are computed
+ * by plain loops over the columns into primitive arrays.
+ * The columns are refreshed incrementally from the ENDED events of the
+ * session journal, reading only events past the last one applied. Journal
+ * IDs are assigned before their transaction commits, so IDs skipped while
+ * reading are kept as gaps and read again on every refresh until their
+ * events show up. Gaps open for longer than the gap timeout are dropped, as
+ * rolled back inserts and identity values lost on restart never fill; an
+ * event committed that late is missed.
+ */
+@Component
+@Slf4j
+public class PlatformSessionColumns {
+
+    /**
+     * Longest range of days {@link #totalsByDay} accepts, about ten years.
+     */
+    public static final int MAX_DAY_RANGE = 3660;
+
+    static final int BLOCK_ROWS = 64 * 1024;
+
+    private static final String SELECT_EVENTS = "select id, event_type, user_id, start_time, duration_minutes, " +
+            "project_name " +
+            "from session_events " +
+            "where id > ? and id <= ? " +
+            "order by id limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int pageSize;
+    private final Duration gapTimeout;
+
+    // Written by the refreshing thread only; readers see them through the published view
+    private Block[] blocks = new Block[0];
+    private int size;
+    private long[] userIds = new long[16];
+    private final Map<Long, Integer> userIndexes = new HashMap<>();
+    private String[] projects = new String[16];
+    private final Map<String, Integer> projectIndexes = new HashMap<>();
+    private long lastEventId;
+    private List<Gap> gaps = new ArrayList<>();
+    private long expiredIds;
+    private long refreshes;
+
+    private volatile View view = new View(blocks, 0, userIds, 0, projects, 0, 0L, 0, 0L, 0L);
+
+    public PlatformSessionColumns(JdbcTemplate jdbcTemplate,
+            @Value("${codetrack.analytics.refresh-page-size:10000}") int pageSize,
+            @Value("${codetrack.analytics.gap-timeout:PT10M}") Duration gapTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pageSize = pageSize;
+        this.gapTimeout = gapTimeout;
+        // Index 0 stands for sessions without a project
+        projectIndexes.put("", 0);
+    }
+
+    /**
+     * Appends the sessions completed since the last refresh, including those
+     * whose events filled a gap left by an earlier refresh.
+     *
+     * @return number of sessions appended
+     */
+    public synchronized int refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        int before = size;
+        List<Gap> open = new ArrayList<>();
+        for (Gap gap : gaps) {
+            if (gap.seenAt().isBefore(now.minus(gapTimeout))) {
+                expiredIds += gap.lastId() - gap.firstId() + 1;
+                continue;
+            }
+            long last = read(gap.firstId() - 1, gap.lastId(), gap.seenAt(), open);
+            if (last < gap.lastId()) {
+                open.add(new Gap(last + 1, gap.lastId(), gap.seenAt()));
+            }
+        }
+        lastEventId = read(lastEventId, Long.MAX_VALUE, now, open);
+        gaps = open;
+        refreshes++;
+        publish();
+        int appended = size - before;
+        if (appended > 0) {
+            log.debug("Appended {} completed sessions to the platform columns, {} in total", appended, size);
+        }
+        return appended;
+    }
+
+    /**
+     * Drops every row and dictionary entry, so the next refresh starts again
+     * from the first journal event. The released blocks are freed once no
+     * reader holds a view of them.
+     */
+    synchronized void clear() {
+        blocks = new Block[0];
+        size = 0;
+        userIds = new long[16];
+        userIndexes.clear();
+        projects = new String[16];
+        projectIndexes.clear();
+        projectIndexes.put("", 0);
+        lastEventId = 0L;
+        gaps = new ArrayList<>();
+        expiredIds = 0L;
+        refreshes = 0L;
+        publish();
+    }
+
+    /**
+     * Sums the completed sessions per user within a date range.
+     *
+     * @param startDate first day of the range (inclusive), null for no lower bound
+     * @param endDate   last day of the range (inclusive), null for no upper bound
+     * @return one row per user with sessions in the range, most minutes first
+     */
+    public List<UserTotals> totalsByUser(LocalDate startDate, LocalDate endDate) {
+        View current = view;
+        long[] sessions = new long[current.userCount];
+        long[] minutes = new long[current.userCount];
+        scan(current, firstDay(startDate), lastDay(endDate), Column.USER, 0, sessions, minutes);
+
+        List<UserTotals> totals = new ArrayList<>();
+        for (int i = 0; i < sessions.length; i++) {
+            if (sessions[i] > 0) {
+                totals.add(new UserTotals(current.userIds[i], sessions[i], minutes[i]));
+            }
+        }
+        totals.sort(Comparator.comparingLong(UserTotals::totalMinutes).reversed());
+        return totals;
+    }
+
+    /**
+     * Sums the completed sessions per project within a date range.
+     *
+     * @param startDate first day of the range (inclusive), null for no lower bound
+     * @param endDate   last day of the range (inclusive), null for no upper bound
+     * @return one row per project with sessions in the range, most minutes
+     *         first; sessions without a project have a null project name
+     */
+    public List<ProjectTotals> totalsByProject(LocalDate startDate, LocalDate endDate) {
+        View current = view;
+        long[] sessions = new long[current.projectCount];
+        long[] minutes = new long[current.projectCount];
+        scan(current, firstDay(startDate), lastDay(endDate), Column.PROJECT, 0, sessions, minutes);
+
+        List<ProjectTotals> totals = new ArrayList<>();
+        for (int i = 0; i < sessions.length; i++) {
+            if (sessions[i] > 0) {
+                totals.add(new ProjectTotals(current.projects[i], sessions[i], minutes[i]));
+            }
+        }
+        totals.sort(Comparator.comparingLong(ProjectTotals::totalMinutes).reversed());
+        return totals;
+    }
+
+    /**
+     * Sums the completed sessions per day within a date range.
+     *
+     * @param startDate first day of the range (inclusive)
+     * @param endDate   last day of the range (inclusive)
+     * @return one row per day of the range, including days without sessions
+     * @throws IllegalArgumentException if the range is empty or longer than {@link #MAX_DAY_RANGE} days
+     */
+    public List<DayTotals> totalsByDay(LocalDate startDate, LocalDate endDate) {
+        long days = endDate.toEpochDay() - startDate.toEpochDay() + 1;
+        if (days < 1 || days > MAX_DAY_RANGE) {
+            throw new IllegalArgumentException("Date range must cover 1 to " + MAX_DAY_RANGE + " days");
+        }
+        View current = view;
+        long[] sessions = new long[(int) days];
+        long[] minutes = new long[(int) days];
+        int firstDay = (int) startDate.toEpochDay();
+        scan(current, firstDay, (int) endDate.toEpochDay(), Column.DAY, firstDay, sessions, minutes);
+
+        List<DayTotals> totals = new ArrayList<>(sessions.length);
+        for (int i = 0; i < sessions.length; i++) {
+            totals.add(new DayTotals(startDate.plusDays(i), sessions[i], minutes[i]));
+        }
+        return totals;
+    }
+
+    /**
+     * Returns the current size of the columns.
+     *
+     * @return column statistics
+     */
+    public Statistics getStatistics() {
+        View current = view;
+        return new Statistics(current.size, current.blocks.length,
+                (long) current.blocks.length * BLOCK_ROWS * Block.ROW_BYTES,
+                current.userCount, current.projectCount, current.lastEventId, current.gapIds, current.expiredIds,
+                current.refreshes);
+    }
+
+    /**
+     * Adds up the rows whose day lies within a range, grouped by one column.
+     * The key column value minus {@code keyOffset} indexes the result arrays.
+     */
+    private static void scan(View view, int firstDay, int lastDay, Column key, int keyOffset,
+            long[] sessions, long[] minutes) {
+        int remaining = view.size;
+        for (Block block : view.blocks) {
+            int rows = Math.min(remaining, BLOCK_ROWS);
+            if (rows <= 0) {
+                break;
+            }
+            IntBuffer days = block.days;
+            IntBuffer durations = block.minutes;
+            IntBuffer keys = switch (key) {
+                case USER -> block.users;
+                case PROJECT -> block.projects;
+                case DAY -> block.days;
+            };
+            for (int i = 0; i < rows; i++) {
+                int day = days.get(i);
+                if (day >= firstDay && day <= lastDay) {
+                    int index = keys.get(i) - keyOffset;
+                    sessions[index]++;
+                    minutes[index] += durations.get(i);
+                }
+            }
+            remaining -= rows;
+        }
+    }
+
+    /**
+     * Reads the events with IDs after {@code afterId} up to {@code lastId} a
+     * page at a time and appends the completed sessions among them. IDs
+     * skipped between two events are added to {@code gaps}.
+     *
+     * @return ID of the last event read, or {@code afterId} if there was none
+     */
+    private long read(long afterId, long lastId, LocalDateTime seenAt, List<Gap> gaps) {
+        PageReader reader = new PageReader(afterId, seenAt, gaps);
+        do {
+            reader.rows = 0;
+            jdbcTemplate.query(SELECT_EVENTS, reader, reader.lastId, lastId, pageSize);
+            publish();
+        } while (reader.rows == pageSize);
+        return reader.lastId;
+    }
+
+    private void append(long userId, long epochDay, long durationMinutes, String projectName) {
+        int row = size % BLOCK_ROWS;
+        if (row == 0 && size / BLOCK_ROWS == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blocks.length + 1);
+            blocks[blocks.length - 1] = new Block();
+        }
+        Block block = blocks[size / BLOCK_ROWS];
+        block.users.put(row, userIndex(userId));
+        block.days.put(row, (int) epochDay);
+        block.minutes.put(row, (int) Math.max(0L, Math.min(durationMinutes, Integer.MAX_VALUE)));
+        block.projects.put(row, projectIndex(projectName));
+        size++;
+    }
+
+    private int userIndex(long userId) {
+        Integer index = userIndexes.get(userId);
+        if (index == null) {
+            index = userIndexes.size();
+            if (index == userIds.length) {
+                userIds = Arrays.copyOf(userIds, index * 2);
+            }
+            userIds[index] = userId;
+            userIndexes.put(userId, index);
+        }
+        return index;
+    }
+
+    private int projectIndex(String projectName) {
+        String key = projectName != null ? projectName : "";
+        Integer index = projectIndexes.get(key);
+        if (index == null) {
+            index = projectIndexes.size();
+            if (index == projects.length) {
+                projects = Arrays.copyOf(projects, index * 2);
+            }
+            projects[index] = projectName;
+            projectIndexes.put(key, index);
+        }
+        return index;
+    }
+
+    private void publish() {
+        long gapIds = 0L;
+        for (Gap gap : gaps) {
+            gapIds += gap.lastId() - gap.firstId() + 1;
+        }
+        view = new View(blocks, size, userIds, userIndexes.size(), projects, projectIndexes.size(),
+                lastEventId, gapIds, expiredIds, refreshes);
+    }
+
+    private static int firstDay(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : Integer.MIN_VALUE;
+    }
+
+    private static int lastDay(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Completed sessions of one user.
+     *
+     * @param userId       the user's ID
+     * @param sessionCount number of completed sessions
+     * @param totalMinutes total minutes of those sessions
+     */
+    public record UserTotals(long userId, long sessionCount, long totalMinutes) {
+    }
+
+    /**
+     * Completed sessions of one project, across all users.
+     *
+     * @param projectName  the project name, null for sessions without one
+     * @param sessionCount number of completed sessions
+     * @param totalMinutes total minutes of those sessions
+     */
+    public record ProjectTotals(String projectName, long sessionCount, long totalMinutes) {
+    }
+
+    /**
+     * Completed sessions started on one day, across all users.
+     *
+     * @param date         the day
+     * @param sessionCount number of completed sessions
+     * @param totalMinutes total minutes of those sessions
+     */
+    public record DayTotals(LocalDate date, long sessionCount, long totalMinutes) {
+    }
+
+    /**
+     * Snapshot of the column size.
+     *
+     * @param sessions     number of completed sessions held
+     * @param blocks       number of allocated blocks
+     * @param offHeapBytes direct memory taken by the blocks
+     * @param users        number of distinct users
+     * @param projects     number of distinct projects, counting "no project" as one
+     * @param lastEventId  ID of the last journal event applied
+     * @param gapIds       number of IDs below the last event still waiting for their event
+     * @param expiredIds   number of IDs given up on after the gap timeout
+     * @param refreshes    number of refreshes since startup
+     */
+    public record Statistics(int sessions, int blocks, long offHeapBytes, int users, int projects,
+            long lastEventId, long gapIds, long expiredIds, long refreshes) {
+    }
+
+    private enum Column {
+        USER, PROJECT, DAY
+    }
+
+    /**
+     * What readers may see: the first {@code size} rows and the dictionary
+     * entries below the counts. The arrays are shared with the writer, which
+     * only ever writes past these bounds before publishing a new view.
+     */
+    private record View(Block[] blocks, int size, long[] userIds, int userCount, String[] projects,
+            int projectCount, long lastEventId, long gapIds, long expiredIds, long refreshes) {
+    }
+
+    /**
+     * Journal IDs skipped while reading, from {@code firstId} to {@code lastId}.
+     *
+     * @param seenAt when the gap was first seen
+     */
+    private record Gap(long firstId, long lastId, LocalDateTime seenAt) {
+    }
+
+    /**
+     * Reads one page of events, remembering the last ID read and the gaps
+     * between consecutive IDs.
+     */
+    private final class PageReader implements RowCallbackHandler {
+
+        private final LocalDateTime seenAt;
+        private final List<Gap> gaps;
+        private long lastId;
+        private int rows;
+
+        private PageReader(long afterId, LocalDateTime seenAt, List<Gap> gaps) {
+            this.lastId = afterId;
+            this.seenAt = seenAt;
+            this.gaps = gaps;
+        }
+
+        @Override
+        public void processRow(ResultSet resultSet) throws SQLException {
+            long id = resultSet.getLong("id");
+            if (id > lastId + 1) {
+                gaps.add(new Gap(lastId + 1, id - 1, seenAt));
+            }
+            lastId = id;
+            rows++;
+            if ("ENDED".equals(resultSet.getString("event_type"))) {
+                append(resultSet.getLong("user_id"),
+                        resultSet.getTimestamp("start_time").toLocalDateTime().toLocalDate().toEpochDay(),
+                        resultSet.getLong("duration_minutes"),
+                        resultSet.getString("project_name"));
+            }
+        }
+    }
+
+    /**
+     * {@link #BLOCK_ROWS} rows of the four columns, each in its own direct buffer.
+     */
+    private static final class Block {
+
+        static final int ROW_BYTES = 4 * Integer.BYTES;
+
+        private final IntBuffer users = allocate();
+        private final IntBuffer days = allocate();
+        private final IntBuffer minutes = allocate();
+        private final IntBuffer projects = allocate();
+
+        private static IntBuffer allocate() {
+            return ByteBuffer.allocateDirect(BLOCK_ROWS * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+    }
+}
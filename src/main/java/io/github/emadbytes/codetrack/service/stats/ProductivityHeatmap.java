@@ -0,0 +1,151 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\ProductivityHeatmap.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.repository.projection.SessionInterval;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * In-memory weekday by hour histogram of the completed coding time of each user.
+ * Every user has 168 slots, one per hour of the week, counting seconds so that
+ * sessions spanning several hours are split exactly between them.
+ * A user's histogram is loaded lazily from the completed session intervals and
+ * then kept up to date from {@link SessionCompletedEvent}s.
+ */
+@Component
+@Slf4j
+public class ProductivityHeatmap {
+
+    public static final int DAYS_IN_WEEK = 7;
+    public static final int HOURS_IN_DAY = 24;
+
+    private final CodingSessionRepository sessionRepository;
+    private final LazyUserIndex<Histogram> histogramsByUser = new LazyUserIndex<>(this::load);
+
+    public ProductivityHeatmap(CodingSessionRepository sessionRepository) {
+        this.sessionRepository = sessionRepository;
+    }
+
+    /**
+     * Returns the coding minutes of a user per weekday and hour.
+     *
+     * @param userId the user's ID
+     * @return 7 rows (Monday first) of 24 hourly minute totals
+     */
+    public long[][] minutesByWeekdayAndHour(Long userId) {
+        return histogram(userId).minutesByWeekdayAndHour();
+    }
+
+    /**
+     * Returns the hour of the day in which a user codes the most, over all weekdays.
+     *
+     * @param userId the user's ID
+     * @return hour of the day (0-23), or null if the user has no coding time
+     */
+    public Integer mostProductiveHour(Long userId) {
+        return histogram(userId).mostProductiveHour();
+    }
+
+    /**
+     * Adds the interval of a completed session to its user's histogram.
+     * Users whose histogram has not been loaded yet are skipped; they will pick
+     * the session up from the database on first access. A load in progress is
+     * repeated, as its query may have run before the session committed.
+     *
+     * @param event the completed session
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionCompleted(SessionCompletedEvent event) {
+        histogramsByUser.update(event.userId(), histogram -> histogram.add(event.startTime(), event.endTime()));
+    }
+
+    /**
+     * Drops the histogram of a user whose sessions were imported in bulk.
+     *
+     * @param event the import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionsImported(SessionsImportedEvent event) {
+        evict(event.userId());
+    }
+
+    /**
+     * Drops the histogram of a user so it is reloaded on next access.
+     *
+     * @param userId the user's ID
+     */
+    public void evict(Long userId) {
+        histogramsByUser.evict(userId);
+    }
+
+    private Histogram histogram(Long userId) {
+        return histogramsByUser.get(userId);
+    }
+
+    private Histogram load(Long userId) {
+        Histogram histogram = new Histogram();
+        int sessions = 0;
+        for (SessionInterval interval : sessionRepository.findCompletedIntervals(userId)) {
+            histogram.add(interval.getStartTime(), interval.getEndTime());
+            sessions++;
+        }
+        log.debug("Loaded heatmap of {} sessions for user ID: {}", sessions, userId);
+        return histogram;
+    }
+
+    /**
+     * Seconds of coding per hour of the week, plus running totals per hour of the day.
+     */
+    static class Histogram {
+
+        private final long[] secondsBySlot = new long[DAYS_IN_WEEK * HOURS_IN_DAY];
+        private final HourOfDayTotals secondsByHour = new HourOfDayTotals();
+
+        synchronized void add(LocalDateTime start, LocalDateTime end) {
+            if (start == null || end == null || !end.isAfter(start)) {
+                return;
+            }
+            LocalDateTime from = start;
+            while (from.isBefore(end)) {
+                LocalDateTime nextHour = from.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+                LocalDateTime to = nextHour.isBefore(end) ? nextHour : end;
+                long seconds = ChronoUnit.SECONDS.between(from, to);
+                secondsBySlot[slot(from)] += seconds;
+                secondsByHour.add(from.getHour(), seconds);
+                from = to;
+            }
+        }
+
+        synchronized long[][] minutesByWeekdayAndHour() {
+            long[][] minutes = new long[DAYS_IN_WEEK][HOURS_IN_DAY];
+            for (int day = 0; day < DAYS_IN_WEEK; day++) {
+                for (int hour = 0; hour < HOURS_IN_DAY; hour++) {
+                    minutes[day][hour] = secondsBySlot[day * HOURS_IN_DAY + hour] / 60;
+                }
+            }
+            return minutes;
+        }
+
+        synchronized Integer mostProductiveHour() {
+            int hour = secondsByHour.maxHour();
+            return hour >= 0 ? hour : null;
+        }
+
+        private static int slot(LocalDateTime time) {
+            return (time.getDayOfWeek().getValue() - 1) * HOURS_IN_DAY + time.getHour();
+        }
+    }
+}
@@ -0,0 +1,340 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\SessionColumnStore.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.event.SessionsReapedEvent;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.repository.projection.EndedSession;
+import io.github.emadbytes.codetrack.service.stats.ActivityRangeIndex.RangeTotals;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * In-memory columnar copy of the ended sessions of each user.
+ * Every user's sessions are kept as parallel primitive arrays (start
+ * epoch-second, recorded duration in minutes, dictionary-encoded project and
+ * status) so analytics run as tight loops over arrays instead of over
+ * entities.
+ * A user's columns are loaded lazily with a single query and then appended
+ * to from {@link SessionCompletedEvent}s, see {@link LazyUserIndex}. The
+ * least recently used users are evicted once the estimated memory of all
+ * columns exceeds the configured budget.
+ */
+@Component
+@Slf4j
+public class SessionColumnStore {
+
+    private final CodingSessionRepository sessionRepository;
+    private final long maxBytes;
+    private final LazyUserIndex<SessionColumns> columnsByUser = new LazyUserIndex<>(this::load);
+
+    // Users whose columns are counted against the budget, in access order; guarded by this
+    private final LinkedHashMap<Long, Resident> residents = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long loads;
+    private long evictions;
+
+    public SessionColumnStore(CodingSessionRepository sessionRepository,
+            @Value("${codetrack.dashboard.columns.max-bytes:67108864}") long maxBytes) {
+        this.sessionRepository = sessionRepository;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Counts the completed sessions of a user and sums their durations.
+     *
+     * @param userId the user's ID
+     * @return number of completed sessions and their total minutes
+     */
+    public RangeTotals completedTotals(Long userId) {
+        return columns(userId).completedTotals();
+    }
+
+    /**
+     * Sums the completed minutes of a user per project and passes each total
+     * to an action. The action runs while the user's columns are locked and
+     * must not call back into the store.
+     *
+     * @param userId the user's ID
+     * @param action receives the project name (null for sessions without one)
+     *               and its total minutes, once per project
+     */
+    public void forEachProject(Long userId, ObjLongConsumer<String> action) {
+        columns(userId).forEachProject(action);
+    }
+
+    /**
+     * Appends a completed session to its user's columns.
+     * Users whose columns are not loaded are skipped; they will pick the
+     * session up from the database on first access. A load in progress is
+     * repeated, as its query may have run before the session committed.
+     *
+     * @param event the completed session
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionCompleted(SessionCompletedEvent event) {
+        columnsByUser.update(event.userId(), columns -> {
+            columns.append(event.startTime(), event.durationMinutes(), event.projectName(),
+                    SessionStatus.COMPLETED);
+            resize(event.userId(), columns);
+        });
+    }
+
+    /**
+     * Drops the columns of a user whose sessions were imported in bulk.
+     *
+     * @param event the import
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionsImported(SessionsImportedEvent event) {
+        evict(event.userId());
+    }
+
+    /**
+     * Drops the columns of a user whose sessions were cancelled in bulk.
+     *
+     * @param event the cancelled sessions
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionsReaped(SessionsReapedEvent event) {
+        evict(event.userId());
+    }
+
+    /**
+     * Drops the columns of a user so they are reloaded on next access.
+     *
+     * @param userId the user's ID
+     */
+    public synchronized void evict(Long userId) {
+        Resident resident = residents.remove(userId);
+        if (resident != null) {
+            weight -= resident.weight;
+        }
+        columnsByUser.evict(userId);
+    }
+
+    /**
+     * Returns the current size and counters of the store.
+     *
+     * @return store statistics
+     */
+    public synchronized Statistics getStatistics() {
+        long sessions = 0;
+        for (Resident resident : residents.values()) {
+            sessions += resident.columns.size();
+        }
+        return new Statistics(residents.size(), sessions, weight, maxBytes, loads, evictions);
+    }
+
+    private SessionColumns columns(Long userId) {
+        SessionColumns columns = columnsByUser.get(userId);
+        touch(userId, columns);
+        return columns;
+    }
+
+    /**
+     * Marks a user's columns as most recently used, counting them against the
+     * budget if they were just loaded.
+     */
+    private synchronized void touch(Long userId, SessionColumns columns) {
+        Resident resident = residents.get(userId);
+        if (resident != null && resident.columns == columns) {
+            return;
+        }
+        if (resident != null) {
+            weight -= resident.weight;
+        }
+        resident = new Resident(columns, columns.weight());
+        residents.put(userId, resident);
+        loads++;
+        weight += resident.weight;
+        trim();
+    }
+
+    /**
+     * Accounts for the growth of a user's columns after an append.
+     */
+    private synchronized void resize(Long userId, SessionColumns columns) {
+        Resident resident = residents.get(userId);
+        if (resident == null || resident.columns != columns) {
+            return;
+        }
+        long resized = columns.weight();
+        weight += resized - resident.weight;
+        resident.weight = resized;
+        trim();
+    }
+
+    private SessionColumns load(Long userId) {
+        SessionColumns columns = new SessionColumns();
+        for (EndedSession session : sessionRepository.findEndedSessions(userId)) {
+            columns.append(session.getStartTime(), session.getDurationMinutes(), session.getProjectName(),
+                    session.getStatus());
+        }
+        log.debug("Loaded {} session columns for user ID: {}", columns.size(), userId);
+        return columns;
+    }
+
+    /**
+     * Evicts the least recently used users until the store fits its budget.
+     * The most recently used user is always kept.
+     */
+    private void trim() {
+        Iterator<Map.Entry<Long, Resident>> eldest = residents.entrySet().iterator();
+        while (weight > maxBytes && residents.size() > 1) {
+            Map.Entry<Long, Resident> entry = eldest.next();
+            weight -= entry.getValue().weight;
+            eldest.remove();
+            columnsByUser.evict(entry.getKey());
+            evictions++;
+        }
+    }
+
+    /**
+     * Snapshot of the store size and counters.
+     *
+     * @param users       number of users whose columns are in memory
+     * @param sessions    number of sessions held across all users
+     * @param weightBytes estimated memory used by the columns
+     * @param maxBytes    memory budget above which users are evicted
+     * @param loads       number of users loaded from the database
+     * @param evictions   number of users evicted to stay within the budget
+     */
+    public record Statistics(int users, long sessions, long weightBytes, long maxBytes, long loads,
+            long evictions) {
+    }
+
+    /**
+     * Columns of one user and the weight they were last counted with.
+     */
+    private static final class Resident {
+
+        private final SessionColumns columns;
+        private long weight;
+
+        private Resident(SessionColumns columns, long weight) {
+            this.columns = columns;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Parallel arrays holding one slot per session. Project names are
+     * dictionary-encoded, with ID 0 standing for sessions without a project.
+     */
+    static class SessionColumns {
+
+        private static final int INITIAL_CAPACITY = 16;
+        private static final int SLOT_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES + Byte.BYTES;
+        private static final byte COMPLETED = (byte) SessionStatus.COMPLETED.ordinal();
+
+        /**
+         * Rough cost of a dictionary entry besides the characters: the String
+         * and its array, the map node and the boxed ID.
+         */
+        private static final int DICTIONARY_ENTRY_BYTES = 96;
+
+        private long[] startSeconds = new long[INITIAL_CAPACITY];
+        private int[] durationMinutes = new int[INITIAL_CAPACITY];
+        private int[] projectIds = new int[INITIAL_CAPACITY];
+        private byte[] statuses = new byte[INITIAL_CAPACITY];
+        private int size;
+
+        private String[] projects = new String[INITIAL_CAPACITY];
+        private int projectCount = 1;
+        private final Map<String, Integer> projectIdsByName = new HashMap<>();
+        private long dictionaryBytes;
+
+        /**
+         * Appends a session.
+         */
+        synchronized void append(LocalDateTime start, Long minutes, String project, SessionStatus status) {
+            if (size == startSeconds.length) {
+                int capacity = size * 2;
+                startSeconds = Arrays.copyOf(startSeconds, capacity);
+                durationMinutes = Arrays.copyOf(durationMinutes, capacity);
+                projectIds = Arrays.copyOf(projectIds, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+            }
+            long duration = minutes != null ? minutes : 0L;
+            startSeconds[size] = start.toEpochSecond(ZoneOffset.UTC);
+            durationMinutes[size] = (int) Math.max(0L, Math.min(duration, Integer.MAX_VALUE));
+            projectIds[size] = projectId(project);
+            statuses[size] = (byte) status.ordinal();
+            size++;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long weight() {
+            return (long) startSeconds.length * SLOT_BYTES + (long) projects.length * Long.BYTES + dictionaryBytes;
+        }
+
+        synchronized RangeTotals completedTotals() {
+            long sessions = 0;
+            long minutes = 0;
+            for (int i = 0; i < size; i++) {
+                if (statuses[i] == COMPLETED) {
+                    sessions++;
+                    minutes += durationMinutes[i];
+                }
+            }
+            return new RangeTotals(sessions, minutes);
+        }
+
+        synchronized void forEachProject(ObjLongConsumer<String> action) {
+            int[] sessions = new int[projectCount];
+            long[] minutes = new long[projectCount];
+            for (int i = 0; i < size; i++) {
+                if (statuses[i] == COMPLETED) {
+                    sessions[projectIds[i]]++;
+                    minutes[projectIds[i]] += durationMinutes[i];
+                }
+            }
+            for (int id = 0; id < projectCount; id++) {
+                if (sessions[id] > 0) {
+                    action.accept(projects[id], minutes[id]);
+                }
+            }
+        }
+
+        private int projectId(String project) {
+            if (project == null) {
+                return 0;
+            }
+            Integer id = projectIdsByName.get(project);
+            if (id != null) {
+                return id;
+            }
+            if (projectCount == projects.length) {
+                projects = Arrays.copyOf(projects, projectCount * 2);
+            }
+            projects[projectCount] = project;
+            projectIdsByName.put(project, projectCount);
+            dictionaryBytes += DICTIONARY_ENTRY_BYTES + project.length();
+            return projectCount++;
+        }
+    }
+}
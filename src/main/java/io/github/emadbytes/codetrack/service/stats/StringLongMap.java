@@ -0,0 +1,151 @@
+// src\main\java\io\github\emadbytes\codetrack\service\stats\StringLongMap.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Map from strings to {@code long} totals using open addressing with linear
+ * probing over parallel key and value arrays.
+ * Adding to an existing key allocates nothing, unlike
+ * {@code Map<String, Long>.merge}, which boxes every new total. The null key
+ * is allowed and kept outside the table. Not thread-safe.
+ */
+public final class StringLongMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] keys;
+    private long[] values;
+    private int size;
+
+    private boolean hasNullKey;
+    private long nullValue;
+
+    /**
+     * Creates an empty map.
+     */
+    public StringLongMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Creates an empty map sized for a number of keys.
+     *
+     * @param expectedSize number of keys expected
+     */
+    public StringLongMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        keys = new String[capacity];
+        values = new long[capacity];
+    }
+
+    /**
+     * Adds a value to the total of a key, starting from 0 for new keys.
+     *
+     * @param key   the key, may be null
+     * @param value value to add
+     */
+    public void add(String key, long value) {
+        if (key == null) {
+            hasNullKey = true;
+            nullValue += value;
+            return;
+        }
+        int slot = slot(key);
+        if (keys[slot] == null) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] += value;
+        // Kept at most half full so probe sequences stay short
+        if (size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    /**
+     * @param key the key, may be null
+     * @return total of the key, 0 if absent
+     */
+    public long get(String key) {
+        if (key == null) {
+            return nullValue;
+        }
+        int slot = slot(key);
+        return keys[slot] != null ? values[slot] : 0L;
+    }
+
+    /**
+     * @param key the key, may be null
+     * @return true if a value was added for the key
+     */
+    public boolean containsKey(String key) {
+        return key == null ? hasNullKey : keys[slot(key)] != null;
+    }
+
+    /**
+     * @return number of keys
+     */
+    public int size() {
+        return size + (hasNullKey ? 1 : 0);
+    }
+
+    /**
+     * Passes every key and its total to an action, in no particular order.
+     *
+     * @param action receives each key and total
+     */
+    public void forEach(ObjLongConsumer<String> action) {
+        if (hasNullKey) {
+            action.accept(null, nullValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Copies the totals into a new mutable map, for handing them out.
+     *
+     * @return map of every key to its total
+     */
+    public Map<String, Long> toMap() {
+        Map<String, Long> map = new HashMap<>(size() * 2);
+        forEach(map::put);
+        return map;
+    }
+
+    /**
+     * Returns the slot holding a key, or the empty slot where it belongs.
+     */
+    private int slot(String key) {
+        int mask = keys.length - 1;
+        int hash = key.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (keys[slot] != null && !keys[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        String[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new String[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
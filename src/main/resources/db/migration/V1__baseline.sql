@@ -0,0 +1,55 @@
+-- src\main\resources\db\migration\V1__baseline.sql
+-- Baseline schema, matching the tables previously created by Hibernate
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255),
+    active boolean not null,
+    is_oauth2user boolean,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    roles varchar(255) not null,
+    primary key (user_id, roles),
+    constraint fk_user_roles_user foreign key (user_id) references users (id)
+);
+
+create table coding_sessions (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    start_time timestamp(6) not null,
+    end_time timestamp(6),
+    description varchar(500),
+    project_name varchar(255),
+    status varchar(255),
+    duration_minutes bigint,
+    primary key (id),
+    constraint fk_coding_sessions_user foreign key (user_id) references users (id)
+);
+
+create table user_daily_activity (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    activity_date date not null,
+    total_minutes bigint not null,
+    session_count bigint not null,
+    primary key (id),
+    constraint uk_user_daily_activity_user_date unique (user_id, activity_date),
+    constraint fk_user_daily_activity_user foreign key (user_id) references users (id)
+);
+
+create table user_daily_project_minutes (
+    daily_activity_id bigint not null,
+    project_name varchar(255) not null,
+    minutes bigint not null,
+    primary key (daily_activity_id, project_name),
+    constraint fk_user_daily_project_minutes_activity foreign key (daily_activity_id) references user_daily_activity (id)
+);
@@ -0,0 +1,14 @@
+-- src\main\resources\db\migration\V2__coding_session_indexes.sql
+-- Composite indexes for the per-user coding session queries
+
+-- findByUserAndStatus, findFirstByUserAndStatusOrderByStartTimeDesc and the
+-- completed session aggregates; duration_minutes makes the sums index-only
+create index if not exists idx_coding_sessions_user_status_start
+    on coding_sessions (user_id, status, start_time, duration_minutes);
+
+-- findByUserAndStartTimeBetween and the keyset pagination of the session list
+create index if not exists idx_coding_sessions_user_start_id
+    on coding_sessions (user_id, start_time, id);
+
+-- Databases created by Hibernate may have named the OAuth2 flag column differently
+alter table users alter column if exists is_oauth2_user rename to is_oauth2user;
@@ -0,0 +1,22 @@
+-- src\main\resources\db\migration\V4__one_active_session_per_user.sql
+-- At most one IN_PROGRESS session per user, enforced by the database
+
+-- Cancel all but the newest in-progress session of each user
+update coding_sessions cs
+set status = 'CANCELLED'
+where cs.status = 'IN_PROGRESS'
+  and exists (
+    select 1
+    from coding_sessions newer
+    where newer.user_id = cs.user_id
+      and newer.status = 'IN_PROGRESS'
+      and (newer.start_time > cs.start_time
+        or (newer.start_time = cs.start_time and newer.id > cs.id)));
+
+-- The user ID of in-progress sessions, null otherwise. Unique indexes allow any
+-- number of nulls, so only in-progress sessions compete for the index entry.
+alter table coding_sessions
+    add column active_user_id bigint generated always as (
+        case when status = 'IN_PROGRESS' then user_id end);
+
+create unique index uk_coding_sessions_active_user on coding_sessions (active_user_id);
@@ -0,0 +1,4 @@
+-- src\main\resources\db\migration\V5__coding_session_version.sql
+-- Optimistic lock version of coding sessions
+
+alter table coding_sessions add column version bigint default 0 not null;
@@ -0,0 +1,4 @@
+-- src\main\resources\db\migration\V6__coding_session_last_heartbeat.sql
+-- Time of the latest editor heartbeat of sessions recorded from heartbeats
+
+alter table coding_sessions add column last_heartbeat timestamp(6);
@@ -0,0 +1,43 @@
+-- src\main\resources\db\migration\V7__session_event_journal.sql
+-- Append-only journal of session lifecycle events and per-user snapshots of
+-- the daily activity derived from it
+
+create table session_events (
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    session_id bigint not null,
+    event_type varchar(20) not null,
+    occurred_at timestamp(6) not null,
+    start_time timestamp(6),
+    duration_minutes bigint,
+    project_name varchar(255),
+    recorded_at timestamp(6) not null,
+    primary key (id),
+    constraint fk_session_events_user foreign key (user_id) references users (id)
+);
+
+-- Replay reads the events of one user after a given event ID
+create index idx_session_events_user_id on session_events (user_id, id);
+
+create table session_snapshots (
+    user_id bigint not null,
+    last_event_id bigint not null,
+    taken_at timestamp(6) not null,
+    daily_activity clob not null,
+    primary key (user_id),
+    constraint fk_session_snapshots_user foreign key (user_id) references users (id)
+);
+
+-- Seed the journal with the sessions recorded so far
+insert into session_events (user_id, session_id, event_type, occurred_at, start_time, project_name, recorded_at)
+select user_id, id, 'STARTED', start_time, start_time, project_name, current_timestamp
+from coding_sessions
+order by id;
+
+insert into session_events (user_id, session_id, event_type, occurred_at, start_time, duration_minutes,
+        project_name, recorded_at)
+select user_id, id, case status when 'COMPLETED' then 'ENDED' else 'CANCELLED' end,
+       coalesce(end_time, start_time), start_time, duration_minutes, project_name, current_timestamp
+from coding_sessions
+where status in ('COMPLETED', 'CANCELLED')
+order by id;
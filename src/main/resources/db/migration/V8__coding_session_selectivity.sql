@@ -0,0 +1,10 @@
+-- src\main\resources\db\migration\V8__coding_session_selectivity.sql
+-- Selectivity of the per-user coding session columns, until H2 gathers statistics
+
+-- Without statistics H2 rates every column as half distinct, and then prefers
+-- the single-column foreign key index on user_id to the composite indexes, whose
+-- extra columns it counts against them. Users have many sessions each and a
+-- session has one of three statuses, so both columns are far from distinct.
+-- H2 replaces these with measured values once it analyzes the table.
+alter table coding_sessions alter column user_id selectivity 1;
+alter table coding_sessions alter column status selectivity 1;
@@ -0,0 +1,121 @@
+// src\test\java\io\github\emadbytes\codetrack\repository\CodingSessionIndexTest.java
+package io.github.emadbytes.codetrack.repository;
+
+import io.github.emadbytes.codetrack.model.CodingSession;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the schema created by the migrations lets H2 answer the hot
+ * coding session queries from the composite indexes instead of scanning the
+ * table.
+ *
+ * @see DataJpaTest
+ */
+@DataJpaTest
+class CodingSessionIndexTest {
+
+    private static final String STATUS_INDEX = "IDX_CODING_SESSIONS_USER_STATUS_START";
+    private static final String START_INDEX = "IDX_CODING_SESSIONS_USER_START_ID";
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User testUser;
+
+    /**
+     * Persists sessions for two users. Each user has a single session in
+     * progress, as the schema allows no more. No statistics are gathered:
+     * H2's ANALYZE commits the test transaction, so the index is chosen
+     * from the column selectivity set by the migrations.
+     */
+    @BeforeEach
+    void setUp() {
+        testUser = persistUser("testuser");
+        User otherUser = persistUser("otheruser");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < 200; i++) {
+            persistSession(i % 2 == 0 ? testUser : otherUser, start.plusHours(i * 5L),
+                    i < 2 ? SessionStatus.IN_PROGRESS : i % 10 == 0 ? SessionStatus.CANCELLED : SessionStatus.COMPLETED);
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void whenFindByUserAndStatus_thenUseStatusIndex() {
+        // when
+        String plan = explain("SELECT * FROM coding_sessions "
+                + "WHERE user_id = " + testUser.getId() + " AND status = 'IN_PROGRESS'");
+
+        // then
+        assertThat(plan).contains(STATUS_INDEX).doesNotContain("tableScan");
+    }
+
+    @Test
+    void whenFindLatestByUserAndStatus_thenUseStatusIndex() {
+        // when
+        String plan = explain("SELECT * FROM coding_sessions "
+                + "WHERE user_id = " + testUser.getId() + " AND status = 'IN_PROGRESS' "
+                + "ORDER BY start_time DESC FETCH FIRST 1 ROWS ONLY");
+
+        // then
+        assertThat(plan).contains(STATUS_INDEX).doesNotContain("tableScan");
+    }
+
+    @Test
+    void whenFindByUserAndStartTimeBetween_thenUseStartIndex() {
+        // when
+        String plan = explain("SELECT * FROM coding_sessions "
+                + "WHERE user_id = " + testUser.getId() + " "
+                + "AND start_time BETWEEN TIMESTAMP '2024-01-10 00:00:00' AND TIMESTAMP '2024-01-20 00:00:00'");
+
+        // then
+        assertThat(plan).contains(START_INDEX).doesNotContain("tableScan");
+    }
+
+    @Test
+    void whenSumCompletedMinutes_thenUseStatusIndex() {
+        // when
+        String plan = explain("SELECT COUNT(*), COALESCE(SUM(duration_minutes), 0) FROM coding_sessions "
+                + "WHERE user_id = " + testUser.getId() + " AND status = 'COMPLETED'");
+
+        // then
+        assertThat(plan).contains(STATUS_INDEX).doesNotContain("tableScan");
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN " + sql)
+                .getSingleResult());
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password123");
+        return entityManager.persist(user);
+    }
+
+    private void persistSession(User user, LocalDateTime startTime, SessionStatus status) {
+        CodingSession session = new CodingSession();
+        session.setUser(user);
+        session.setStartTime(startTime);
+        if (status == SessionStatus.COMPLETED) {
+            session.setEndTime(startTime.plusMinutes(45));
+            session.setDurationMinutes(45L);
+        }
+        session.setProjectName("Alpha");
+        session.setStatus(status);
+        entityManager.persist(session);
+    }
+}
@@ -0,0 +1,279 @@
+// src\test\java\io\github\emadbytes\codetrack\repository\CodingSessionRepositoryTest.java
+package io.github.emadbytes.codetrack.repository;
+
+import io.github.emadbytes.codetrack.dto.ActiveSession;
+import io.github.emadbytes.codetrack.dto.CodingSessionDTO;
+import io.github.emadbytes.codetrack.model.CodingSession;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.projection.CompletedSessionTotals;
+import io.github.emadbytes.codetrack.repository.projection.DailyProjectActivity;
+import io.github.emadbytes.codetrack.repository.projection.ProjectMinutes;
+import io.github.emadbytes.codetrack.repository.projection.SessionInterval;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration tests for CodingSessionRepository.
+ * Verifies the aggregate queries used by the dashboard against an in-memory
+ * database.
+ *
+ * @see DataJpaTest
+ * @see CodingSessionRepository
+ */
+@DataJpaTest
+class CodingSessionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CodingSessionRepository sessionRepository;
+
+    private User testUser;
+    private LocalDate day;
+
+    /**
+     * Set up method that runs before each test.
+     * Persists a user with two completed sessions on one day, one completed
+     * session on the previous day and one session still in progress.
+     */
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setPassword("password123");
+        testUser = entityManager.persist(testUser);
+
+        day = LocalDate.of(2024, 3, 14);
+        persistSession(day.atTime(9, 15), 60L, "Alpha", SessionStatus.COMPLETED);
+        persistSession(day.atTime(9, 45), 30L, "Beta", SessionStatus.COMPLETED);
+        persistSession(day.minusDays(1).atTime(20, 0), 45L, "Alpha", SessionStatus.COMPLETED);
+        persistSession(day.atTime(22, 0), null, "Alpha", SessionStatus.IN_PROGRESS);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void whenSummarizeCompletedSessions_thenCountAndSumCompletedOnly() {
+        // when
+        CompletedSessionTotals totals = sessionRepository.summarizeCompletedSessions(testUser.getId());
+
+        // then
+        assertThat(totals.getSessionCount()).isEqualTo(3L);
+        assertThat(totals.getTotalMinutes()).isEqualTo(135L);
+    }
+
+    @Test
+    void whenSumCompletedMinutesByProject_thenReturnOneRowPerProject() {
+        // when
+        List<ProjectMinutes> rows = sessionRepository.sumCompletedMinutesByProject(testUser.getId());
+
+        // then
+        assertThat(rows)
+                .extracting(ProjectMinutes::getProjectName, ProjectMinutes::getTotalMinutes)
+                .containsExactlyInAnyOrder(
+                        tuple("Alpha", 105L),
+                        tuple("Beta", 30L));
+    }
+
+    @Test
+    void whenFindCompletedIntervals_thenReturnCompletedSessionsOnly() {
+        // when
+        List<SessionInterval> rows = sessionRepository.findCompletedIntervals(testUser.getId());
+
+        // then
+        assertThat(rows)
+                .extracting(SessionInterval::getStartTime, SessionInterval::getEndTime)
+                .containsExactlyInAnyOrder(
+                        tuple(day.atTime(9, 15), day.atTime(10, 15)),
+                        tuple(day.atTime(9, 45), day.atTime(10, 15)),
+                        tuple(day.minusDays(1).atTime(20, 0), day.minusDays(1).atTime(20, 45)));
+    }
+
+    @Test
+    void whenFindDistinctCompletedStartDates_thenIgnoreDaysWithoutCompletedSessions() {
+        // given
+        persistSession(day.plusDays(1).atTime(8, 0), null, "Alpha", SessionStatus.CANCELLED);
+        entityManager.flush();
+
+        // when
+        List<LocalDate> dates = sessionRepository.findDistinctCompletedStartDates(testUser.getId());
+
+        // then
+        assertThat(dates).containsExactlyInAnyOrder(day, day.minusDays(1));
+    }
+
+    @Test
+    void whenSummarizeCompletedDailyProjectActivity_thenReturnOneRowPerDayAndProject() {
+        // when
+        List<DailyProjectActivity> rows = sessionRepository.summarizeCompletedDailyProjectActivity(
+                testUser.getId());
+
+        // then
+        assertThat(rows)
+                .extracting(DailyProjectActivity::getActivityDate, DailyProjectActivity::getProjectName,
+                        DailyProjectActivity::getSessionCount, DailyProjectActivity::getTotalMinutes)
+                .containsExactlyInAnyOrder(
+                        tuple(day, "Alpha", 1L, 60L),
+                        tuple(day, "Beta", 1L, 30L),
+                        tuple(day.minusDays(1), "Alpha", 1L, 45L));
+    }
+
+    @Test
+    void whenSeekByStartTimeAndId_thenPageThroughSessionsWithEqualStartTimes() {
+        // given
+        persistSession(day.atTime(9, 15), 5L, "Gamma", SessionStatus.COMPLETED);
+        entityManager.flush();
+        List<CodingSessionDTO> all = sessionRepository.findNewestByUser(testUser, Limit.of(10));
+
+        // when
+        List<CodingSessionDTO> firstPage = sessionRepository.findNewestByUser(testUser, Limit.of(2));
+        CodingSessionDTO last = firstPage.get(1);
+        List<CodingSessionDTO> secondPage = sessionRepository.findByUserAfter(
+                testUser, last.getStartTime(), last.getId(), Limit.of(2));
+        CodingSessionDTO first = secondPage.get(0);
+        List<CodingSessionDTO> backToFirst = sessionRepository.findByUserBefore(
+                testUser, first.getStartTime(), first.getId(), Limit.of(2));
+
+        // then
+        assertThat(all).hasSize(5);
+        assertThat(firstPage).containsExactlyElementsOf(all.subList(0, 2));
+        assertThat(secondPage).containsExactlyElementsOf(all.subList(2, 4));
+        assertThat(backToFirst).containsExactly(all.get(1), all.get(0));
+        assertThat(sessionRepository.countByUser(testUser)).isEqualTo(5L);
+    }
+
+    @Test
+    void whenFindViewById_thenReadColumnsAndUsernameWithoutManagingEntity() {
+        // given
+        CodingSession session = persistSession(day.atTime(14, 0), 90L, "Gamma", SessionStatus.COMPLETED);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        CodingSessionDTO view = sessionRepository.findViewById(session.getId()).orElseThrow();
+
+        // then
+        assertThat(view.getUsername()).isEqualTo("testuser");
+        assertThat(view.getUserId()).isEqualTo(testUser.getId());
+        assertThat(view.getProjectName()).isEqualTo("Gamma");
+        assertThat(view.getFormattedDuration()).isEqualTo("1h 30m");
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount())
+                .isZero();
+    }
+
+    @Test
+    void whenStreamByUserId_thenReturnAllSessionsOldestFirst() {
+        // when
+        List<CodingSessionDTO> exported;
+        try (Stream<CodingSessionDTO> sessions = sessionRepository.streamByUserId(testUser.getId())) {
+            exported = sessions.toList();
+        }
+
+        // then
+        assertThat(exported).hasSize(4);
+        assertThat(exported).extracting(CodingSessionDTO::getStartTime).isSorted();
+        assertThat(exported).extracting(CodingSessionDTO::getUsername).containsOnly("testuser");
+    }
+
+    @Test
+    void whenFindActiveSessions_thenReturnInProgressSessionSnapshots() {
+        // when
+        List<ActiveSession> active = sessionRepository.findActiveSessions();
+
+        // then
+        assertThat(active).containsExactly(sessionRepository.findActiveSessionByUserId(testUser.getId())
+                .orElseThrow());
+        assertThat(active.get(0).startTime()).isEqualTo(day.atTime(22, 0));
+        assertThat(active.get(0).projectName()).isEqualTo("Alpha");
+    }
+
+    @Test
+    void whenSecondSessionInProgress_thenRejectedByUniqueIndex() {
+        // given
+        persistSession(day.plusDays(1).atTime(8, 0), null, "Beta", SessionStatus.IN_PROGRESS);
+
+        // when/then
+        assertThatThrownBy(() -> entityManager.flush())
+                .isInstanceOf(PersistenceException.class)
+                .hasStackTraceContaining("UK_CODING_SESSIONS_ACTIVE_USER");
+    }
+
+    @Test
+    void whenCancelStaleSessions_thenEndThemAtCutoffInOneUpdate() {
+        // given
+        List<ActiveSession> stale = sessionRepository.findStaleActiveSessions(day.plusDays(1).atStartOfDay(),
+                Limit.of(10));
+
+        List<Long> staleIds = stale.stream().map(ActiveSession::sessionId).toList();
+        LocalDateTime cutoff = day.plusDays(1).atStartOfDay();
+
+        // when
+        int cancelled = sessionRepository.cancelInProgressSessions(staleIds, cutoff, 90 * 60);
+        int cancelledAgain = sessionRepository.cancelInProgressSessions(staleIds, cutoff, 90 * 60);
+        entityManager.clear();
+
+        // then
+        assertThat(stale).hasSize(1);
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(cancelledAgain).isZero();
+        CodingSession session = entityManager.find(CodingSession.class, stale.get(0).sessionId());
+        assertThat(session.getStatus()).isEqualTo(SessionStatus.CANCELLED);
+        assertThat(session.getEndTime()).isEqualTo(day.atTime(23, 30));
+        assertThat(session.getDurationMinutes()).isEqualTo(90L);
+        assertThat(session.getVersion()).isEqualTo(1L);
+        assertThat(sessionRepository.findStaleActiveSessions(day.plusDays(1).atStartOfDay(), Limit.of(10)))
+                .isEmpty();
+    }
+
+    @Test
+    void whenHeartbeatAtCutoffAfterStaleSearch_thenKeepSessionInProgress() {
+        // given
+        LocalDateTime cutoff = day.plusDays(1).atStartOfDay();
+        List<ActiveSession> stale = sessionRepository.findStaleActiveSessions(cutoff, Limit.of(10));
+        CodingSession active = entityManager.find(CodingSession.class, stale.get(0).sessionId());
+        // A heartbeat arrives between the search and the update
+        active.setLastHeartbeat(cutoff);
+        entityManager.flush();
+
+        // when
+        int cancelled = sessionRepository.cancelInProgressSessions(
+                stale.stream().map(ActiveSession::sessionId).toList(), cutoff, 90 * 60);
+        entityManager.clear();
+
+        // then
+        assertThat(cancelled).isZero();
+        CodingSession session = entityManager.find(CodingSession.class, stale.get(0).sessionId());
+        assertThat(session.getStatus()).isEqualTo(SessionStatus.IN_PROGRESS);
+        assertThat(session.getEndTime()).isNull();
+    }
+
+    private CodingSession persistSession(LocalDateTime startTime, Long durationMinutes, String projectName,
+            SessionStatus status) {
+        CodingSession session = new CodingSession();
+        session.setUser(testUser);
+        session.setStartTime(startTime);
+        session.setEndTime(durationMinutes != null ? startTime.plusMinutes(durationMinutes) : null);
+        session.setDurationMinutes(durationMinutes);
+        session.setProjectName(projectName);
+        session.setStatus(status);
+        return entityManager.persist(session);
+    }
+}
@@ -0,0 +1,145 @@
+// src\test\java\io\github\emadbytes\codetrack\service\CodingSessionConcurrencyTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.exception.InvalidSessionOperationException;
+import io.github.emadbytes.codetrack.model.CodingSession;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.service.impl.CodingSessionServiceImpl;
+import io.github.emadbytes.codetrack.service.stats.ActiveSessionRegistry;
+import io.github.emadbytes.codetrack.service.stats.ActivityRangeIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress tests for starting and ending coding sessions from many threads at
+ * once, against the real schema. Every request runs in its own transaction,
+ * so the tests are not wrapped in one.
+ *
+ * @see DataJpaTest
+ */
+@DataJpaTest
+@Import({ CodingSessionServiceImpl.class, ActiveSessionRegistry.class, ActivityRangeIndex.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CodingSessionConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    private CodingSessionService sessionService;
+
+    @Autowired
+    private CodingSessionRepository sessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private ExecutorService executor;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        testUser = new User();
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setPassword("password123");
+        testUser = userRepository.save(testUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        sessionRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void whenManyThreadsStartAndEndSessions_thenAtMostOneIsEverActive() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            // when
+            Outcome<CodingSession> started = race(() -> sessionService.startSession(testUser, null, "Alpha"));
+
+            // then
+            assertThat(started.failures()).isEmpty();
+            assertThat(started.successes()).hasSize(1);
+            assertThat(sessionRepository.findByUserAndStatus(testUser, SessionStatus.IN_PROGRESS)).hasSize(1);
+
+            // when
+            Long sessionId = started.successes().get(0).getId();
+            Outcome<CodingSession> ended = race(() -> sessionService.endSession(sessionId));
+
+            // then
+            assertThat(ended.failures()).isEmpty();
+            assertThat(ended.successes()).hasSize(1);
+            CodingSession session = sessionRepository.findById(sessionId).orElseThrow();
+            assertThat(session.getStatus()).isEqualTo(SessionStatus.COMPLETED);
+            assertThat(session.getVersion()).isEqualTo(1L);
+            assertThat(sessionService.getCurrentSession(testUser)).isNull();
+        }
+
+        assertThat(sessionRepository.countByUser(testUser)).isEqualTo(ROUNDS);
+    }
+
+    /**
+     * Runs the same request on every thread, released at the same moment.
+     * Rejections with {@link InvalidSessionOperationException} are expected for
+     * all but one thread; any other exception is a failure.
+     */
+    private <T> Outcome<T> race(Callable<T> request) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                go.await();
+                try {
+                    return request.call();
+                } catch (InvalidSessionOperationException e) {
+                    return null;
+                } catch (Exception e) {
+                    failures.add(e);
+                    return null;
+                }
+            }));
+        }
+        ready.await();
+        go.countDown();
+
+        List<T> successes = new ArrayList<>();
+        for (Future<T> future : futures) {
+            T result = future.get(30, TimeUnit.SECONDS);
+            if (result != null) {
+                successes.add(result);
+            }
+        }
+        return new Outcome<>(successes, List.copyOf(failures));
+    }
+
+    private record Outcome<T>(List<T> successes, List<Throwable> failures) {
+    }
+}
@@ -1,33 +1,50 @@
 // src/test/java/io/github/emadbytes/codetrack/service/CodingSessionServiceTest.java
 package io.github.emadbytes.codetrack.service;
 
+import io.github.emadbytes.codetrack.dto.ActiveSession;
+import io.github.emadbytes.codetrack.dto.CodingSessionDTO;
+import io.github.emadbytes.codetrack.dto.SessionCursor;
+import io.github.emadbytes.codetrack.dto.SessionPage;
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
 import io.github.emadbytes.codetrack.exception.CodingSessionNotFoundException;
 import io.github.emadbytes.codetrack.exception.InvalidSessionOperationException;
 import io.github.emadbytes.codetrack.model.CodingSession;
 import io.github.emadbytes.codetrack.model.SessionStatus;
 import io.github.emadbytes.codetrack.model.User;
 import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.repository.UserDailyActivityRepository;
+import io.github.emadbytes.codetrack.repository.projection.DailyTotals;
 import io.github.emadbytes.codetrack.service.impl.CodingSessionServiceImpl;
+import io.github.emadbytes.codetrack.service.stats.ActiveSessionRegistry;
+import io.github.emadbytes.codetrack.service.stats.ActivityRangeIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,13 +53,20 @@ class CodingSessionServiceTest {
     @Mock
     private CodingSessionRepository sessionRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserDailyActivityRepository dailyActivityRepository;
+
     private CodingSessionService sessionService;
     private User testUser;
     private CodingSession testSession;
 
     @BeforeEach
     void setUp() {
-        sessionService = new CodingSessionServiceImpl(sessionRepository);
+        sessionService = new CodingSessionServiceImpl(sessionRepository, eventPublisher,
+                new ActivityRangeIndex(dailyActivityRepository), new ActiveSessionRegistry(sessionRepository));
 
         // Create test user
         testUser = new User();
@@ -61,9 +85,8 @@ class CodingSessionServiceTest {
     @Test
     void whenStartSession_withNoActiveSessions_thenSucceed() {
         // given
-        given(sessionRepository.findByUserAndStatus(testUser, SessionStatus.IN_PROGRESS))
-                .willReturn(Collections.emptyList());
-        given(sessionRepository.save(any(CodingSession.class))).willReturn(testSession);
+        given(sessionRepository.findActiveSessionByUserId(1L)).willReturn(Optional.empty());
+        given(sessionRepository.saveAndFlush(any(CodingSession.class))).willReturn(testSession);
 
         // when
         CodingSession started = sessionService.startSession(testUser, "Test session", "Test Project");
@@ -72,14 +95,28 @@ class CodingSessionServiceTest {
         assertThat(started).isNotNull();
         assertThat(started.getStatus()).isEqualTo(SessionStatus.IN_PROGRESS);
         assertThat(started.getUser()).isEqualTo(testUser);
-        verify(sessionRepository).save(any(CodingSession.class));
+        verify(sessionRepository).saveAndFlush(any(CodingSession.class));
     }
 
     @Test
     void whenStartSession_withExistingActiveSession_thenThrowException() {
         // given
-        given(sessionRepository.findByUserAndStatus(testUser, SessionStatus.IN_PROGRESS))
-                .willReturn(Collections.singletonList(testSession));
+        given(sessionRepository.findActiveSessionByUserId(1L))
+                .willReturn(Optional.of(activeSession(testSession)));
+
+        // when/then
+        assertThatThrownBy(() -> sessionService.startSession(testUser, "Test session", "Test Project"))
+                .isInstanceOf(InvalidSessionOperationException.class)
+                .hasMessageContaining("already has an active coding session");
+        verify(sessionRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void whenStartSession_concurrentlyWithAnotherStart_thenThrowException() {
+        // given
+        given(sessionRepository.findActiveSessionByUserId(1L)).willReturn(Optional.empty());
+        given(sessionRepository.saveAndFlush(any(CodingSession.class)))
+                .willThrow(new DataIntegrityViolationException("uk_coding_sessions_active_user"));
 
         // when/then
         assertThatThrownBy(() -> sessionService.startSession(testUser, "Test session", "Test Project"))
@@ -91,7 +128,7 @@ class CodingSessionServiceTest {
     void whenEndSession_withActiveSession_thenSucceed() {
         // given
         given(sessionRepository.findById(1L)).willReturn(Optional.of(testSession));
-        given(sessionRepository.save(any(CodingSession.class))).willReturn(testSession);
+        given(sessionRepository.saveAndFlush(any(CodingSession.class))).willReturn(testSession);
 
         // when
         CodingSession ended = sessionService.endSession(1L);
@@ -100,6 +137,7 @@ class CodingSessionServiceTest {
         assertThat(ended).isNotNull();
         assertThat(ended.getStatus()).isEqualTo(SessionStatus.COMPLETED);
         assertThat(ended.getEndTime()).isNotNull();
+        verify(eventPublisher).publishEvent(any(SessionCompletedEvent.class));
     }
 
     @Test
@@ -114,6 +152,20 @@ class CodingSessionServiceTest {
                 .hasMessageContaining("not in progress");
     }
 
+    @Test
+    void whenEndSession_concurrentlyWithAnotherEnd_thenThrowException() {
+        // given
+        given(sessionRepository.findById(1L)).willReturn(Optional.of(testSession));
+        given(sessionRepository.saveAndFlush(any(CodingSession.class)))
+                .willThrow(new ObjectOptimisticLockingFailureException(CodingSession.class, 1L));
+
+        // when/then
+        assertThatThrownBy(() -> sessionService.endSession(1L))
+                .isInstanceOf(InvalidSessionOperationException.class)
+                .hasMessageContaining("not in progress");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     void whenGetSession_withExistingId_thenReturnSession() {
         // given
@@ -137,6 +189,31 @@ class CodingSessionServiceTest {
                 .isInstanceOf(CodingSessionNotFoundException.class);
     }
 
+    @Test
+    void whenGetSessionView_withExistingId_thenReturnProjection() {
+        // given
+        given(sessionRepository.findViewById(1L))
+                .willReturn(Optional.of(session(1L, LocalDateTime.of(2024, 3, 14, 9, 0))));
+
+        // when
+        CodingSessionDTO found = sessionService.getSessionView(1L);
+
+        // then
+        assertThat(found.getUsername()).isEqualTo("testuser");
+        assertThat(found.getFormattedDuration()).isEqualTo("0h 30m");
+        verify(sessionRepository, never()).findById(any());
+    }
+
+    @Test
+    void whenGetSessionView_withNonExistingId_thenThrowException() {
+        // given
+        given(sessionRepository.findViewById(1L)).willReturn(Optional.empty());
+
+        // when/then
+        assertThatThrownBy(() -> sessionService.getSessionView(1L))
+                .isInstanceOf(CodingSessionNotFoundException.class);
+    }
+
     @Test
     void whenGetUserSessions_thenReturnPagedResults() {
         // given
@@ -156,23 +233,106 @@ class CodingSessionServiceTest {
     @Test
     void whenGetCurrentSession_withActiveSession_thenReturnSession() {
         // given
-        given(sessionRepository.findFirstByUserAndStatusOrderByStartTimeDesc(
-                testUser, SessionStatus.IN_PROGRESS))
-                .willReturn(Optional.of(testSession));
+        given(sessionRepository.findActiveSessionByUserId(1L))
+                .willReturn(Optional.of(activeSession(testSession)));
 
         // when
-        CodingSession current = sessionService.getCurrentSession(testUser);
+        CodingSessionDTO current = sessionService.getCurrentSession(testUser);
 
         // then
         assertThat(current).isNotNull();
+        assertThat(current.getId()).isEqualTo(1L);
+        assertThat(current.getUsername()).isEqualTo("testuser");
         assertThat(current.getStatus()).isEqualTo(SessionStatus.IN_PROGRESS);
     }
 
     @Test
-    void whenCalculateTotalCodingTime_thenReturnTotal() {
+    void whenGetUserSessions_withoutCursor_thenReturnFirstPageWithNextCursor() {
         // given
-        LocalDateTime start = LocalDateTime.now().minusDays(7);
-        LocalDateTime end = LocalDateTime.now();
+        List<CodingSessionDTO> rows = Arrays.asList(
+                session(3L, LocalDateTime.of(2024, 3, 14, 12, 0)),
+                session(2L, LocalDateTime.of(2024, 3, 14, 10, 0)),
+                session(1L, LocalDateTime.of(2024, 3, 13, 10, 0)));
+        given(sessionRepository.findNewestByUser(testUser, Limit.of(3))).willReturn(rows);
+
+        // when
+        SessionPage page = sessionService.getUserSessions(testUser, null, null, 2, false);
+
+        // then
+        assertThat(page.getContent()).extracting(CodingSessionDTO::getId).containsExactly(3L, 2L);
+        assertThat(page.getPreviousCursor()).isNull();
+        assertThat(SessionCursor.decode(page.getNextCursor()))
+                .isEqualTo(new SessionCursor(LocalDateTime.of(2024, 3, 14, 10, 0), 2L));
+        assertThat(page.getTotalElements()).isNull();
+        verify(sessionRepository, never()).countByUser(any());
+    }
+
+    @Test
+    void whenGetUserSessions_withBeforeCursor_thenReturnNewerSessionsNewestFirst() {
+        // given
+        SessionCursor before = new SessionCursor(LocalDateTime.of(2024, 3, 13, 10, 0), 1L);
+        given(sessionRepository.findByUserBefore(testUser, before.startTime(), before.id(), Limit.of(3)))
+                .willReturn(Arrays.asList(
+                        session(2L, LocalDateTime.of(2024, 3, 14, 10, 0)),
+                        session(3L, LocalDateTime.of(2024, 3, 14, 12, 0))));
+        given(sessionRepository.countByUser(testUser)).willReturn(3L);
+
+        // when
+        SessionPage page = sessionService.getUserSessions(testUser, null, before, 2, true);
+
+        // then
+        assertThat(page.getContent()).extracting(CodingSessionDTO::getId).containsExactly(3L, 2L);
+        assertThat(page.getPreviousCursor()).isNull();
+        assertThat(page.getNextCursor()).isNotNull();
+        assertThat(page.getTotalElements()).isEqualTo(3L);
+    }
+
+    @Test
+    void whenCalculateTotalCodingTime_forWholeDays_thenUseCumulativeTotals() {
+        // given
+        LocalDate today = LocalDate.now();
+        given(dailyActivityRepository.findDailyTotalsByUserId(testUser.getId()))
+                .willReturn(Arrays.asList(
+                        dailyTotals(today.minusDays(8), 1L, 500L),
+                        dailyTotals(today.minusDays(7), 1L, 60L),
+                        dailyTotals(today.minusDays(1), 2L, 60L)));
+
+        // when
+        Long total = sessionService.calculateTotalCodingTime(testUser,
+                today.minusDays(7).atStartOfDay(), today.atTime(LocalTime.MAX));
+
+        // then
+        assertThat(total).isEqualTo(120L);
+        verify(sessionRepository, never()).calculateTotalDurationByUserAndDateRange(any(), any(), any());
+    }
+
+    @Test
+    void whenCalculateTotalCodingTime_withPartialDays_thenQueryOnlyTheEdges() {
+        // given
+        LocalDate today = LocalDate.now();
+        LocalDateTime start = today.minusDays(7).atTime(12, 0);
+        LocalDateTime end = today.atTime(12, 0);
+        given(dailyActivityRepository.findDailyTotalsByUserId(testUser.getId()))
+                .willReturn(Arrays.asList(dailyTotals(today.minusDays(3), 1L, 100L)));
+        given(sessionRepository.calculateTotalDurationByUserAndHalfOpenRange(
+                testUser.getId(), start, today.minusDays(6).atStartOfDay()))
+                .willReturn(15L);
+        given(sessionRepository.calculateTotalDurationByUserAndDateRange(
+                testUser.getId(), today.atStartOfDay(), end))
+                .willReturn(5L);
+
+        // when
+        Long total = sessionService.calculateTotalCodingTime(testUser, start, end);
+
+        // then
+        assertThat(total).isEqualTo(120L);
+    }
+
+    @Test
+    void whenCalculateTotalCodingTime_withinOneDay_thenReturnTotal() {
+        // given
+        LocalDateTime start = LocalDateTime.now().minusHours(3);
+        LocalDateTime end = start.plusHours(1);
         given(sessionRepository.calculateTotalDurationByUserAndDateRange(
                 testUser.getId(), start, end))
                 .willReturn(120L); // 120 minutes
@@ -202,4 +362,21 @@ class CodingSessionServiceTest {
                 .hasSize(1)
                 .contains(testSession);
     }
-}
\ No newline at end of file
+
+    private static DailyTotals dailyTotals(LocalDate date, Long sessionCount, Long totalMinutes) {
+        return new SpelAwareProxyProjectionFactory().createProjection(DailyTotals.class, Map.of(
+                "activityDate", date,
+                "sessionCount", sessionCount,
+                "totalMinutes", totalMinutes));
+    }
+
+    private CodingSessionDTO session(Long id, LocalDateTime startTime) {
+        return new CodingSessionDTO(id, testUser.getId(), testUser.getUsername(), startTime,
+                startTime.plusMinutes(30), null, "Test Project", SessionStatus.COMPLETED, 30L);
+    }
+
+    private static ActiveSession activeSession(CodingSession session) {
+        return new ActiveSession(session.getId(), session.getUser().getId(), session.getStartTime(),
+                session.getProjectName());
+    }
+}
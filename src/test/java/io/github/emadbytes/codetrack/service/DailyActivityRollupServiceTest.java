@@ -0,0 +1,156 @@
+// src\test\java\io\github\emadbytes\codetrack\service\DailyActivityRollupServiceTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.model.UserDailyActivity;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.repository.UserDailyActivityRepository;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.repository.projection.DailyProjectActivity;
+import io.github.emadbytes.codetrack.service.impl.DailyActivityRollupServiceImpl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DailyActivityRollupServiceTest {
+
+    private static final ProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UserDailyActivityRepository dailyActivityRepository;
+
+    @Mock
+    private CodingSessionRepository sessionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private DailyActivityRollupService rollupService;
+    private User testUser;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new DailyActivityRollupServiceImpl(jdbcTemplate, dailyActivityRepository, sessionRepository,
+                userRepository);
+
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+
+        day = LocalDate.of(2024, 3, 14);
+    }
+
+    @Test
+    void whenRecordCompletedSession_thenIncrementDayAndProjectInPlace() {
+        // when
+        rollupService.recordCompletedSession(completedEvent(day.atTime(10, 0), 45L, "Alpha"));
+
+        // then
+        verify(jdbcTemplate).update(startsWith("merge into user_daily_activity "), eq(1L), eq(day), eq(45L));
+        verify(jdbcTemplate).update(startsWith("merge into user_daily_project_minutes "),
+                eq("Alpha"), eq(45L), eq(1L), eq(day));
+        verify(dailyActivityRepository, never()).save(any());
+    }
+
+    @Test
+    void whenRecordCompletedSession_withoutProject_thenAddToNoProject() {
+        // when
+        rollupService.recordCompletedSession(completedEvent(day.atTime(10, 0), 20L, null));
+
+        // then
+        verify(jdbcTemplate).update(startsWith("merge into user_daily_project_minutes "),
+                eq(UserDailyActivity.NO_PROJECT), eq(20L), eq(1L), eq(day));
+    }
+
+    @Test
+    void whenDayRowInsertedConcurrently_thenAddToItOnRetry() {
+        // given
+        given(jdbcTemplate.update(startsWith("merge into user_daily_activity "), eq(1L), eq(day), eq(60L)))
+                .willThrow(new DuplicateKeyException("uk_user_daily_activity_user_date"))
+                .willReturn(1);
+
+        // when
+        rollupService.recordCompletedSession(completedEvent(day.atTime(15, 0), 60L, "Beta"));
+
+        // then
+        verify(jdbcTemplate, times(2)).update(startsWith("merge into user_daily_activity "), eq(1L), eq(day), eq(60L));
+        verify(jdbcTemplate).update(startsWith("merge into user_daily_project_minutes "),
+                eq("Beta"), eq(60L), eq(1L), eq(day));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void whenRebuild_thenReplaceRowsFromSessions() {
+        // given
+        given(userRepository.getReferenceById(1L)).willReturn(testUser);
+        given(sessionRepository.summarizeCompletedDailyProjectActivity(1L)).willReturn(Arrays.asList(
+                dailyProjectActivity(day, "Alpha", 2L, 90L),
+                dailyProjectActivity(day, null, 1L, 15L),
+                dailyProjectActivity(day.plusDays(1), "Beta", 1L, 30L)));
+
+        // when
+        int rows = rollupService.rebuild(1L);
+
+        // then
+        assertThat(rows).isEqualTo(2);
+        ArgumentCaptor<Collection<UserDailyActivity>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(dailyActivityRepository).saveAll(saved.capture());
+        List<UserDailyActivity> days = new ArrayList<>(saved.getValue());
+        UserDailyActivity first = days.stream()
+                .filter(activity -> activity.getActivityDate().equals(day))
+                .findFirst()
+                .orElseThrow();
+        assertThat(first.getSessionCount()).isEqualTo(3L);
+        assertThat(first.getTotalMinutes()).isEqualTo(105L);
+        assertThat(first.getProjectMinutes())
+                .containsEntry("Alpha", 90L)
+                .containsEntry(UserDailyActivity.NO_PROJECT, 15L);
+    }
+
+    private SessionCompletedEvent completedEvent(LocalDateTime startTime, Long minutes, String projectName) {
+        return new SessionCompletedEvent(10L, testUser.getId(), startTime, startTime.plusMinutes(minutes),
+                minutes, projectName);
+    }
+
+    private static DailyProjectActivity dailyProjectActivity(LocalDate date, String projectName,
+            Long sessionCount, Long totalMinutes) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("activityDate", date);
+        row.put("projectName", projectName);
+        row.put("sessionCount", sessionCount);
+        row.put("totalMinutes", totalMinutes);
+        return projections.createProjection(DailyProjectActivity.class, row);
+    }
+}
@@ -3,22 +3,37 @@ package io.github.emadbytes.codetrack.service;
 
 import io.github.emadbytes.codetrack.dto.DashboardStatsDTO;
 import io.github.emadbytes.codetrack.dto.DailyActivityDTO;
+import io.github.emadbytes.codetrack.dto.HeatmapDTO;
 import io.github.emadbytes.codetrack.model.CodingSession;
 import io.github.emadbytes.codetrack.model.SessionStatus;
 import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.model.UserDailyActivity;
 import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.repository.UserDailyActivityRepository;
+import io.github.emadbytes.codetrack.repository.projection.EndedSession;
+import io.github.emadbytes.codetrack.repository.projection.SessionInterval;
 import io.github.emadbytes.codetrack.service.impl.DashboardServiceImpl;
+import io.github.emadbytes.codetrack.service.stats.ActiveDayIndex;
+import io.github.emadbytes.codetrack.service.stats.ActivityRangeIndex;
+import io.github.emadbytes.codetrack.service.stats.DashboardSectionRunner;
+import io.github.emadbytes.codetrack.service.stats.DashboardStatsCache;
+import io.github.emadbytes.codetrack.service.stats.ProductivityHeatmap;
+import io.github.emadbytes.codetrack.service.stats.SessionColumnStore;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,13 +41,27 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class DashboardServiceTest {
 
+        private static final ProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
         @Mock
         private CodingSessionRepository sessionRepository;
 
+        @Mock
+        private DailyActivityRollupService rollupService;
+
+        @Mock
+        private UserDailyActivityRepository dailyActivityRepository;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
         private DashboardService dashboardService;
         private User testUser;
         private CodingSession testSession;
@@ -42,7 +71,14 @@ class DashboardServiceTest {
                 // Print to verify setup is working
                 System.out.println("Starting setUp");
 
-                dashboardService = new DashboardServiceImpl(sessionRepository);
+                dashboardService = new DashboardServiceImpl(rollupService,
+                                new ActiveDayIndex(sessionRepository),
+                                new DashboardStatsCache(100, Duration.ofMinutes(5)),
+                                new DashboardSectionRunner(transactionManager, Runnable::run, false,
+                                                Duration.ofSeconds(2)),
+                                new ProductivityHeatmap(sessionRepository),
+                                new ActivityRangeIndex(dailyActivityRepository),
+                                new SessionColumnStore(sessionRepository, 1024 * 1024));
 
                 testUser = new User();
                 testUser.setId(1L);
@@ -64,15 +100,14 @@ class DashboardServiceTest {
         void whenGetRecentActivity_thenReturnLastSevenDays() {
                 // given
                 LocalDate today = LocalDate.now();
-                LocalDateTime weekStart = today.minusDays(6).atStartOfDay();
-                LocalDateTime weekEnd = today.atTime(LocalTime.MAX);
+                LocalDate weekStart = today.minusDays(6);
 
-                given(sessionRepository.findByUserAndStartTimeBetween(
-                                eq(testUser),
+                given(rollupService.getDailyActivity(
+                                eq(testUser.getId()),
                                 eq(weekStart), // Use specific date
-                                eq(weekEnd) // Use specific date
+                                eq(today) // Use specific date
                 ))
-                                .willReturn(Arrays.asList(testSession));
+                                .willReturn(Arrays.asList(dailyActivity(today, "Test Project", 60L)));
 
                 // when
                 List<DailyActivityDTO> activity = dashboardService.getRecentActivity(testUser);
@@ -94,9 +129,8 @@ class DashboardServiceTest {
                 LocalDate startDate = LocalDate.now().minusDays(7);
                 LocalDate endDate = LocalDate.now();
 
-                given(sessionRepository.findByUserAndStartTimeBetween(
-                                eq(testUser), any(LocalDateTime.class), any(LocalDateTime.class)))
-                                .willReturn(Arrays.asList(testSession));
+                given(rollupService.getDailyActivity(testUser.getId(), startDate, endDate))
+                                .willReturn(Arrays.asList(dailyActivity(endDate, "Test Project", 60L)));
 
                 // when
                 Map<LocalDate, DailyActivityDTO> stats = dashboardService.getDetailedStats(
@@ -111,8 +145,9 @@ class DashboardServiceTest {
         @Test
         void whenGetProjectStats_thenReturnProjectDistribution() {
                 // given
-                given(sessionRepository.findByUserAndStatus(testUser, SessionStatus.COMPLETED))
-                                .willReturn(Arrays.asList(testSession));
+                given(sessionRepository.findEndedSessions(testUser.getId()))
+                                .willReturn(List.of(endedSession(LocalDateTime.now().minusHours(2), 60L,
+                                                "Test Project")));
 
                 // when
                 Map<String, Long> projectStats = dashboardService.getProjectStats(testUser);
@@ -127,21 +162,26 @@ class DashboardServiceTest {
         @Test
         void whenCalculateLongestStreak_thenReturnMaxStreak() {
                 // given
-                given(sessionRepository.findByUser(testUser))
-                                .willReturn(Arrays.asList(testSession));
+                LocalDate today = LocalDate.now();
+                given(sessionRepository.findDistinctCompletedStartDates(testUser.getId()))
+                                .willReturn(Arrays.asList(
+                                                today.minusDays(5),
+                                                today.minusDays(4),
+                                                today.minusDays(3),
+                                                today));
 
                 // when
                 Long longestStreak = dashboardService.calculateLongestStreak(testUser);
 
                 // then
-                assertThat(longestStreak).isEqualTo(1L);
+                assertThat(longestStreak).isEqualTo(3L);
         }
 
         @Test
         void whenNoSessions_thenReturnEmptyStats() {
                 // given
-                given(sessionRepository.findByUserAndStatus(eq(testUser), eq(SessionStatus.COMPLETED)))
-                                .willReturn(Arrays.asList());
+                given(sessionRepository.findEndedSessions(testUser.getId()))
+                                .willReturn(List.of());
 
                 // when
                 DashboardStatsDTO stats = dashboardService.getDashboardStats(testUser);
@@ -153,4 +193,104 @@ class DashboardServiceTest {
                 assertThat(stats.getCurrentStreak()).isEqualTo(0L);
                 assertThat(stats.getProjectTimeDistribution()).isEmpty();
         }
-}
\ No newline at end of file
+
+        @Test
+        void whenCalculateCurrentStreak_thenCountConsecutiveDaysEndingToday() {
+                // given
+                LocalDate today = LocalDate.now();
+                given(sessionRepository.findDistinctCompletedStartDates(testUser.getId()))
+                                .willReturn(Arrays.asList(
+                                                today.minusDays(3),
+                                                today.minusDays(1),
+                                                today));
+
+                // when
+                Long currentStreak = dashboardService.calculateCurrentStreak(testUser);
+                dashboardService.calculateCurrentStreak(testUser);
+
+                // then
+                assertThat(currentStreak).isEqualTo(2L);
+                verify(sessionRepository, times(1)).findDistinctCompletedStartDates(testUser.getId());
+                verify(sessionRepository, never()).findByUserAndStartTimeBetween(any(), any(), any());
+        }
+
+        @Test
+        void whenGetProductivityHeatmap_thenSplitSessionsAcrossHours() {
+                // given
+                LocalDateTime monday = LocalDate.of(2024, 3, 11).atTime(9, 30);
+                given(sessionRepository.findCompletedIntervals(testUser.getId()))
+                                .willReturn(List.of(sessionInterval(monday, 90L)));
+
+                // when
+                HeatmapDTO heatmap = dashboardService.getProductivityHeatmap(testUser);
+
+                // then
+                assertThat(heatmap.getMinutes()[0][9]).isEqualTo(30L);
+                assertThat(heatmap.getMinutes()[0][10]).isEqualTo(60L);
+                assertThat(heatmap.getMaxMinutes()).isEqualTo(60L);
+                assertThat(heatmap.getMostProductiveHour()).isEqualTo(10);
+        }
+
+        @Test
+        void whenGetDashboardStats_thenUseAggregatesAndSessionColumnsOnly() {
+                // given
+                LocalDate today = LocalDate.now();
+                List<LocalDate> days = Arrays.asList(
+                                today,
+                                today.minusDays(1));
+                given(sessionRepository.findEndedSessions(testUser.getId()))
+                                .willReturn(Arrays.asList(
+                                                endedSession(today.atTime(9, 0), 60L, "Test Project"),
+                                                endedSession(today.minusDays(1).atTime(14, 0), 30L, null)));
+                given(sessionRepository.findCompletedIntervals(testUser.getId()))
+                                .willReturn(Arrays.asList(
+                                                sessionInterval(today.atTime(9, 0), 60L),
+                                                sessionInterval(today.minusDays(1).atTime(14, 0), 30L)));
+                given(rollupService.getDailyActivity(eq(testUser.getId()), any(LocalDate.class), eq(today)))
+                                .willReturn(Arrays.asList(
+                                                dailyActivity(today.minusDays(1), "Test Project", 30L),
+                                                dailyActivity(today, null, 60L)));
+                given(sessionRepository.findDistinctCompletedStartDates(testUser.getId()))
+                                .willReturn(days);
+
+                // when
+                DashboardStatsDTO stats = dashboardService.getDashboardStats(testUser);
+
+                // then
+                assertThat(stats.getTotalSessions()).isEqualTo(2L);
+                assertThat(stats.getTotalCodingTime()).isEqualTo(90L);
+                assertThat(stats.getAverageSessionDuration()).isEqualTo(45L);
+                assertThat(stats.getCurrentStreak()).isEqualTo(2L);
+                assertThat(stats.getLongestStreak()).isEqualTo(2L);
+                assertThat(stats.getMostProductiveHour()).isEqualTo(9);
+                assertThat(stats.getProjectTimeDistribution())
+                                .containsEntry("Test Project", 60L)
+                                .containsEntry("Unspecified", 30L);
+                assertThat(stats.getLastSevenDaysActivity())
+                                .hasSize(7)
+                                .containsEntry(today, 60L)
+                                .containsEntry(today.minusDays(1), 30L);
+                verify(sessionRepository, never()).findByUser(any());
+                verify(sessionRepository, never()).findByUserAndStatus(any(), any());
+        }
+
+        private static EndedSession endedSession(LocalDateTime startTime, Long minutes, String projectName) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("startTime", startTime);
+                row.put("durationMinutes", minutes);
+                row.put("projectName", projectName);
+                row.put("status", SessionStatus.COMPLETED);
+                return projections.createProjection(EndedSession.class, row);
+        }
+
+        private static SessionInterval sessionInterval(LocalDateTime startTime, Long minutes) {
+                return projections.createProjection(SessionInterval.class,
+                                Map.of("startTime", startTime, "endTime", startTime.plusMinutes(minutes)));
+        }
+
+        private UserDailyActivity dailyActivity(LocalDate date, String projectName, Long minutes) {
+                UserDailyActivity activity = new UserDailyActivity(testUser, date);
+                activity.addSession(projectName, minutes);
+                return activity;
+        }
+}
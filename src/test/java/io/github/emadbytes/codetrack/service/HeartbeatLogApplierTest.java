@@ -0,0 +1,103 @@
+// src\test\java\io\github\emadbytes\codetrack\service\HeartbeatLogApplierTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatLogApplier;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatWriteAheadLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HeartbeatLogApplierTest {
+
+    @Mock
+    private HeartbeatService heartbeatService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @TempDir
+    private Path directory;
+
+    private HeartbeatWriteAheadLog writeAheadLog;
+    private HeartbeatLogApplier applier;
+    private User testUser;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        writeAheadLog = new HeartbeatWriteAheadLog(directory, 4096);
+        applier = new HeartbeatLogApplier(writeAheadLog, heartbeatService, userRepository, 100);
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (applier.isRunning()) {
+            applier.stop();
+        }
+        writeAheadLog.close();
+    }
+
+    @Test
+    void whenApplyingFailsUnexpectedly_thenRetryUntilApplied() throws InterruptedException {
+        // given
+        List<HeartbeatService.Heartbeat> batch = List.of(
+                new HeartbeatService.Heartbeat(LocalDateTime.of(2024, 3, 14, 9, 0), "CodeTrack", "java"));
+        long end = writeAheadLog.append(testUser.getId(), batch);
+        given(userRepository.findById(testUser.getId())).willReturn(Optional.of(testUser));
+        given(heartbeatService.ingest(testUser, batch))
+                .willThrow(new IllegalStateException("Unexpected failure"))
+                .willReturn(new HeartbeatService.Result(1, 0, 1, 0));
+
+        // when
+        applier.start();
+        awaitApplied(end);
+
+        // then
+        assertThat(writeAheadLog.getAppliedPosition()).isEqualTo(end);
+        assertThat(applier.isApplying()).isTrue();
+        verify(heartbeatService, times(2)).ingest(eq(testUser), anyList());
+    }
+
+    @Test
+    void whenNotStartedOrStopped_thenNotApplying() {
+        // given
+        assertThat(applier.isApplying()).isFalse();
+        applier.start();
+        assertThat(applier.isApplying()).isTrue();
+
+        // when
+        applier.stop();
+
+        // then
+        assertThat(applier.isApplying()).isFalse();
+    }
+
+    private void awaitApplied(long position) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (writeAheadLog.getAppliedPosition() < position && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+}
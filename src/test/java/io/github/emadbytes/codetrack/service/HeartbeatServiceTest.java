@@ -0,0 +1,305 @@
+// src\test\java\io\github\emadbytes\codetrack\service\HeartbeatServiceTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.dto.ActiveSession;
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
+import io.github.emadbytes.codetrack.model.CodingSession;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatServiceImpl;
+import io.github.emadbytes.codetrack.service.impl.HeartbeatWriteBuffer;
+import io.github.emadbytes.codetrack.service.stats.ActiveSessionRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HeartbeatServiceTest {
+
+    @Mock
+    private CodingSessionRepository sessionRepository;
+
+    @Mock
+    private HeartbeatWriteBuffer writeBuffer;
+
+    @Mock
+    private SessionJournalService sessionJournalService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private HeartbeatService heartbeatService;
+    private User testUser;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        heartbeatService = heartbeatService(HeartbeatWriteBuffer.FlushMode.SYNC);
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @Test
+    void whenHeartbeatsWithoutActiveSession_thenStartOneSession() {
+        // given
+        given(sessionRepository.findActiveSessionByUserId(1L)).willReturn(Optional.empty());
+        givenSavedSessionsGetIds();
+
+        // when
+        HeartbeatService.Result result = heartbeatService.ingest(testUser, List.of(
+                heartbeat(now.minusMinutes(2), "Alpha", "java"),
+                heartbeat(now.minusMinutes(4), "Alpha", "xml")));
+
+        // then
+        assertThat(result).isEqualTo(new HeartbeatService.Result(2, 0, 1, 0));
+        ArgumentCaptor<CodingSession> saved = ArgumentCaptor.forClass(CodingSession.class);
+        verify(sessionRepository).saveAndFlush(saved.capture());
+        assertThat(saved.getValue().getStatus()).isEqualTo(SessionStatus.IN_PROGRESS);
+        assertThat(saved.getValue().getStartTime()).isEqualTo(now.minusMinutes(4));
+        assertThat(saved.getValue().getLastHeartbeat()).isEqualTo(now.minusMinutes(2));
+        assertThat(saved.getValue().getDescription()).isEqualTo("Edited: xml, java");
+        verify(eventPublisher).publishEvent(any(SessionStartedEvent.class));
+    }
+
+    @Test
+    void whenIdleGapInBatch_thenCompleteFirstSessionAndStartAnother() {
+        // given
+        given(sessionRepository.findActiveSessionByUserId(1L)).willReturn(Optional.empty());
+        given(sessionRepository.save(any(CodingSession.class))).willAnswer(invocation -> {
+            CodingSession session = invocation.getArgument(0);
+            session.setId(99L);
+            return session;
+        });
+        givenSavedSessionsGetIds();
+
+        // when
+        HeartbeatService.Result result = heartbeatService.ingest(testUser, List.of(
+                heartbeat(now.minusMinutes(60), "Alpha", "java"),
+                heartbeat(now.minusMinutes(50), "Alpha", "java"),
+                heartbeat(now.minusMinutes(5), "Alpha", "java")));
+
+        // then
+        assertThat(result).isEqualTo(new HeartbeatService.Result(3, 0, 2, 1));
+        ArgumentCaptor<CodingSession> completed = ArgumentCaptor.forClass(CodingSession.class);
+        verify(sessionRepository).save(completed.capture());
+        assertThat(completed.getValue().getStatus()).isEqualTo(SessionStatus.COMPLETED);
+        assertThat(completed.getValue().getEndTime()).isEqualTo(now.minusMinutes(50));
+        assertThat(completed.getValue().getDurationMinutes()).isEqualTo(10L);
+        verify(eventPublisher).publishEvent(any(SessionCompletedEvent.class));
+        verify(eventPublisher).publishEvent(any(SessionStartedEvent.class));
+    }
+
+    @Test
+    void whenSameBatchAppliedTwice_thenRecordItsSessionsOnce() {
+        // given
+        given(sessionRepository.findActiveSessionByUserId(1L)).willReturn(Optional.empty());
+        given(sessionRepository.save(any(CodingSession.class))).willAnswer(invocation -> {
+            CodingSession session = invocation.getArgument(0);
+            session.setId(99L);
+            return session;
+        });
+        List<HeartbeatService.Heartbeat> batch = List.of(
+                heartbeat(now.minusHours(3), "Alpha", "java"),
+                heartbeat(now.minusHours(3).plusMinutes(10), "Alpha", "java"),
+                heartbeat(now.minusHours(2), "Alpha", "java"),
+                heartbeat(now.minusHours(2).plusMinutes(5), "Alpha", "java"));
+        HeartbeatService.Result first = heartbeatService.ingest(testUser, batch);
+        given(sessionRepository.findLastHeartbeatSessionEnd(1L))
+                .willReturn(Optional.of(now.minusHours(2).plusMinutes(5)));
+
+        // when
+        HeartbeatService.Result second = heartbeatService.ingest(testUser, batch);
+
+        // then
+        assertThat(first).isEqualTo(new HeartbeatService.Result(4, 0, 2, 2));
+        assertThat(second).isEqualTo(new HeartbeatService.Result(0, 4, 0, 0));
+        verify(sessionRepository, times(2)).save(any(CodingSession.class));
+        verify(sessionRepository, never()).saveAndFlush(any());
+        verify(eventPublisher, times(2)).publishEvent(any(SessionCompletedEvent.class));
+    }
+
+    @Test
+    void whenNextBatchExtendsKnownSession_thenOnlyRecordLastHeartbeat() {
+        // given
+        given(sessionRepository.findActiveSessionByUserId(1L)).willReturn(
+                Optional.empty(),
+                Optional.of(new ActiveSession(100L, 1L, now.minusMinutes(10), "Alpha")));
+        givenSavedSessionsGetIds();
+        heartbeatService.ingest(testUser, List.of(heartbeat(now.minusMinutes(10), "Alpha", "java")));
+        given(sessionRepository.recordHeartbeat(100L, now.minusMinutes(1))).willReturn(1);
+
+        // when
+        HeartbeatService.Result result = heartbeatService.ingest(testUser, List.of(
+                heartbeat(now.minusMinutes(5), "Alpha", "java"),
+                heartbeat(now.minusMinutes(1), "Alpha", "java"),
+                heartbeat(now.minusMinutes(12), "Alpha", "java"),
+                heartbeat(now.plusHours(1), "Alpha", "java")));
+
+        // then
+        assertThat(result).isEqualTo(new HeartbeatService.Result(2, 2, 0, 0));
+        verify(sessionRepository).recordHeartbeat(100L, now.minusMinutes(1));
+        verify(sessionJournalService).recordHeartbeats(Map.of(100L, now.minusMinutes(1)));
+        verify(sessionRepository, never()).findById(any());
+        verify(sessionRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    void whenKnownSessionCompletedElsewhere_thenReadSessionAgain() {
+        // given
+        given(sessionRepository.findActiveSessionByUserId(1L)).willReturn(
+                Optional.empty(),
+                Optional.of(new ActiveSession(100L, 1L, now.minusMinutes(10), "Alpha")));
+        givenSavedSessionsGetIds();
+        heartbeatService.ingest(testUser, List.of(heartbeat(now.minusMinutes(10), "Alpha", "java")));
+        CodingSession ended = session(100L, now.minusMinutes(10), now.minusMinutes(10));
+        ended.setStatus(SessionStatus.COMPLETED);
+        given(sessionRepository.findById(100L)).willReturn(Optional.of(ended));
+
+        // when
+        ((HeartbeatServiceImpl) heartbeatService).onSessionCompleted(SessionCompletedEvent.of(ended));
+        heartbeatService.ingest(testUser, List.of(heartbeat(now.minusMinutes(5), "Alpha", "java")));
+
+        // then
+        verify(sessionRepository).findById(100L);
+        verify(sessionRepository, never()).recordHeartbeat(any(), any());
+        verify(sessionRepository, times(2)).saveAndFlush(any());
+    }
+
+    @Test
+    void whenAsyncFlushMode_thenBufferLastHeartbeatWithoutTransaction() {
+        // given
+        heartbeatService = heartbeatService(HeartbeatWriteBuffer.FlushMode.ASYNC);
+        CodingSession recorded = session(5L, now.minusMinutes(30), now.minusMinutes(3));
+        given(sessionRepository.findActiveSessionByUserId(1L))
+                .willReturn(Optional.of(new ActiveSession(5L, 1L, recorded.getStartTime(), "Alpha")));
+        given(sessionRepository.findById(5L)).willReturn(Optional.of(recorded));
+
+        // when
+        HeartbeatService.Result result = heartbeatService.ingest(testUser, List.of(
+                heartbeat(now.minusMinutes(2), "Alpha", "java"),
+                heartbeat(now.minusMinutes(1), "Alpha", "java")));
+
+        // then
+        assertThat(result).isEqualTo(new HeartbeatService.Result(2, 0, 0, 0));
+        verify(writeBuffer).enqueue(5L, now.minusMinutes(1));
+        verify(sessionRepository, never()).recordHeartbeat(any(), any());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void whenSessionStartedByHand_thenFirstHeartbeatJoinsIt() {
+        // given
+        CodingSession manual = session(5L, now.minusHours(2), null);
+        given(sessionRepository.findActiveSessionByUserId(1L))
+                .willReturn(Optional.of(new ActiveSession(5L, 1L, manual.getStartTime(), "Alpha")));
+        given(sessionRepository.findById(5L)).willReturn(Optional.of(manual));
+        given(sessionRepository.recordHeartbeat(5L, now.minusMinutes(1))).willReturn(1);
+
+        // when
+        HeartbeatService.Result result = heartbeatService.ingest(testUser, List.of(
+                heartbeat(now.minusMinutes(1), "Alpha", "java")));
+
+        // then
+        assertThat(result).isEqualTo(new HeartbeatService.Result(1, 0, 0, 0));
+        verify(sessionRepository).recordHeartbeat(5L, now.minusMinutes(1));
+        verify(sessionRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void whenHeartbeatForOtherProject_thenCompleteRecordedSession() {
+        // given
+        CodingSession recorded = session(5L, now.minusMinutes(30), now.minusMinutes(3));
+        given(sessionRepository.findActiveSessionByUserId(1L))
+                .willReturn(Optional.of(new ActiveSession(5L, 1L, recorded.getStartTime(), "Alpha")));
+        given(sessionRepository.findById(5L)).willReturn(Optional.of(recorded));
+        givenSavedSessionsGetIds();
+
+        // when
+        HeartbeatService.Result result = heartbeatService.ingest(testUser, List.of(
+                heartbeat(now.minusMinutes(1), "Beta", "py")));
+
+        // then
+        assertThat(result).isEqualTo(new HeartbeatService.Result(1, 0, 1, 1));
+        assertThat(recorded.getStatus()).isEqualTo(SessionStatus.COMPLETED);
+        assertThat(recorded.getEndTime()).isEqualTo(now.minusMinutes(3));
+        assertThat(recorded.getDurationMinutes()).isEqualTo(27L);
+        verify(sessionRepository, times(2)).saveAndFlush(any());
+    }
+
+    @Test
+    void whenCloseIdleSessions_thenCompleteAtLastHeartbeat() {
+        // given
+        CodingSession idle = session(5L, now.minusMinutes(60), now.minusMinutes(40));
+        given(sessionRepository.findIdleHeartbeatSessions(any(), any(Limit.class)))
+                .willReturn(List.of(new ActiveSession(5L, 1L, idle.getStartTime(), "Alpha")));
+        given(sessionRepository.findById(5L)).willReturn(Optional.of(idle));
+
+        // when
+        int closed = heartbeatService.closeIdleSessions();
+
+        // then
+        assertThat(closed).isEqualTo(1);
+        verify(writeBuffer).flush();
+        assertThat(idle.getStatus()).isEqualTo(SessionStatus.COMPLETED);
+        assertThat(idle.getEndTime()).isEqualTo(now.minusMinutes(40));
+        assertThat(idle.getDurationMinutes()).isEqualTo(20L);
+        verify(eventPublisher).publishEvent(any(SessionCompletedEvent.class));
+    }
+
+    private HeartbeatService heartbeatService(HeartbeatWriteBuffer.FlushMode flushMode) {
+        return new HeartbeatServiceImpl(sessionRepository, new ActiveSessionRegistry(sessionRepository), writeBuffer,
+                sessionJournalService, eventPublisher, transactionManager, Duration.ofMinutes(15), flushMode);
+    }
+
+    private void givenSavedSessionsGetIds() {
+        given(sessionRepository.saveAndFlush(any(CodingSession.class))).willAnswer(invocation -> {
+            CodingSession session = invocation.getArgument(0);
+            if (session.getId() == null) {
+                session.setId(100L);
+            }
+            return session;
+        });
+    }
+
+    private CodingSession session(Long id, LocalDateTime startTime, LocalDateTime lastHeartbeat) {
+        CodingSession session = new CodingSession();
+        session.setId(id);
+        session.setUser(testUser);
+        session.setStartTime(startTime);
+        session.setLastHeartbeat(lastHeartbeat);
+        session.setProjectName("Alpha");
+        session.setStatus(SessionStatus.IN_PROGRESS);
+        return session;
+    }
+
+    private static HeartbeatService.Heartbeat heartbeat(LocalDateTime time, String project, String fileType) {
+        return new HeartbeatService.Heartbeat(time, project, fileType);
+    }
+}
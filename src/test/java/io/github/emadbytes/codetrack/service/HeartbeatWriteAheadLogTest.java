@@ -0,0 +1,118 @@
+// src\test\java\io\github\emadbytes\codetrack\service\HeartbeatWriteAheadLogTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.service.impl.HeartbeatWriteAheadLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeartbeatWriteAheadLogTest {
+
+    @TempDir
+    private Path directory;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.of(2024, 3, 14, 9, 0, 30, 250_000_000);
+    }
+
+    @Test
+    void whenBatchesAppended_thenReadThemBackInOrder() throws IOException {
+        // given
+        try (HeartbeatWriteAheadLog log = new HeartbeatWriteAheadLog(directory, 4096)) {
+            List<HeartbeatService.Heartbeat> first = List.of(
+                    new HeartbeatService.Heartbeat(now, "CodeTrack", "java"),
+                    new HeartbeatService.Heartbeat(now.plusMinutes(1), null, null));
+            List<HeartbeatService.Heartbeat> second = List.of(heartbeat(2));
+            log.append(1L, first);
+            long end = log.append(2L, second);
+
+            // when
+            HeartbeatWriteAheadLog.Chunk chunk = log.read(0L, 10);
+
+            // then
+            assertThat(chunk.entries()).containsExactly(
+                    new HeartbeatWriteAheadLog.Entry(1L, first),
+                    new HeartbeatWriteAheadLog.Entry(2L, second));
+            assertThat(chunk.nextPosition()).isEqualTo(end);
+            HeartbeatWriteAheadLog.Statistics statistics = log.getStatistics();
+            assertThat(statistics.durablePosition()).isEqualTo(end);
+            assertThat(statistics.lagBytes()).isEqualTo(end);
+            assertThat(statistics.appendedRecords()).isEqualTo(2L);
+        }
+    }
+
+    @Test
+    void whenSegmentFull_thenRotateAndDeleteAppliedSegments() throws IOException {
+        // given
+        try (HeartbeatWriteAheadLog log = new HeartbeatWriteAheadLog(directory, 128)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(1L, List.of(heartbeat(i)));
+            }
+            assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+            // when
+            HeartbeatWriteAheadLog.Chunk chunk = log.read(log.getAppliedPosition(), 100);
+            log.markApplied(chunk.nextPosition(), chunk.entries().size());
+
+            // then
+            assertThat(chunk.entries()).hasSize(10);
+            assertThat(chunk.entries().get(9).heartbeats()).containsExactly(heartbeat(9));
+            assertThat(segmentFiles()).hasSize(1);
+            assertThat(log.getStatistics().lagBytes()).isZero();
+            assertThat(log.read(log.getAppliedPosition(), 100).entries()).isEmpty();
+        }
+    }
+
+    @Test
+    void whenReopenedAfterCrash_thenResumeFromCheckpointAndCutOffTornRecord() throws IOException {
+        // given
+        long applied;
+        long end;
+        try (HeartbeatWriteAheadLog log = new HeartbeatWriteAheadLog(directory, 4096)) {
+            applied = log.append(1L, List.of(heartbeat(0)));
+            end = log.append(1L, List.of(heartbeat(1)));
+            log.markApplied(applied, 1);
+        }
+        // A record the crash interrupted: its length is written, its payload is not
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(200).putInt(42).putInt(7).flip(), end);
+        }
+
+        // when
+        try (HeartbeatWriteAheadLog log = new HeartbeatWriteAheadLog(directory, 4096)) {
+            long next = log.append(1L, List.of(heartbeat(2)));
+
+            // then
+            assertThat(log.getAppliedPosition()).isEqualTo(applied);
+            assertThat(next).isGreaterThan(end);
+            assertThat(log.read(applied, 10).entries())
+                    .extracting(HeartbeatWriteAheadLog.Entry::heartbeats)
+                    .containsExactly(List.of(heartbeat(1)), List.of(heartbeat(2)));
+        }
+    }
+
+    private HeartbeatService.Heartbeat heartbeat(int minutes) {
+        return new HeartbeatService.Heartbeat(now.plusMinutes(minutes), "CodeTrack", "java");
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".wal")).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+// src\test\java\io\github\emadbytes\codetrack\service\HeartbeatWriteBufferTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.service.impl.HeartbeatWriteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class HeartbeatWriteBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SessionJournalService sessionJournalService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> rows;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.of(2024, 3, 14, 9, 0);
+    }
+
+    @Test
+    void whenSameSessionEnqueuedRepeatedly_thenWriteLatestHeartbeatOnce() {
+        // given
+        HeartbeatWriteBuffer buffer = buffer(4, 100, 100);
+        buffer.enqueue(5L, now.plusMinutes(1));
+        buffer.enqueue(5L, now.plusMinutes(3));
+        buffer.enqueue(5L, now.plusMinutes(2));
+
+        // when
+        int written = buffer.flush();
+
+        // then
+        assertThat(written).isEqualTo(1);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(now.plusMinutes(3), 5L, now.plusMinutes(3)));
+        verify(sessionJournalService).recordHeartbeats(Map.of(5L, now.plusMinutes(3)));
+        HeartbeatWriteBuffer.Statistics statistics = buffer.getStatistics();
+        assertThat(statistics.enqueued()).isEqualTo(3L);
+        assertThat(statistics.coalesced()).isEqualTo(2L);
+        assertThat(statistics.pending()).isZero();
+    }
+
+    @Test
+    void whenStripeReachesBatchSize_thenFlushItRightAway() {
+        // given
+        HeartbeatWriteBuffer buffer = buffer(1, 100, 2);
+
+        // when
+        buffer.enqueue(5L, now);
+        buffer.enqueue(6L, now);
+
+        // then
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getValue()).hasSize(2);
+        assertThat(buffer.getStatistics().pending()).isZero();
+    }
+
+    @Test
+    void whenBufferFull_thenProducerFlushesEveryStripe() {
+        // given
+        HeartbeatWriteBuffer buffer = buffer(4, 3, 100);
+        buffer.enqueue(5L, now);
+        buffer.enqueue(6L, now);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        // when
+        buffer.enqueue(7L, now);
+
+        // then
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+        HeartbeatWriteBuffer.Statistics statistics = buffer.getStatistics();
+        assertThat(statistics.backpressureFlushes()).isEqualTo(1L);
+        assertThat(statistics.written()).isEqualTo(3L);
+        assertThat(statistics.pending()).isZero();
+    }
+
+    @Test
+    void whenFlushFails_thenKeepHeartbeatsForNextFlush() {
+        // given
+        HeartbeatWriteBuffer buffer = buffer(1, 100, 100);
+        buffer.enqueue(5L, now);
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willThrow(new QueryTimeoutException("timeout"));
+
+        // when / then
+        assertThatThrownBy(buffer::flush).isInstanceOf(QueryTimeoutException.class);
+        assertThat(buffer.getStatistics().pending()).isEqualTo(1);
+        assertThat(buffer.getStatistics().written()).isZero();
+    }
+
+    @Test
+    void whenClosed_thenFlushPendingAndWriteLaterHeartbeatsDirectly() {
+        // given
+        HeartbeatWriteBuffer buffer = buffer(4, 100, 100);
+        buffer.enqueue(5L, now);
+
+        // when
+        buffer.close();
+        buffer.enqueue(6L, now.plusMinutes(1));
+
+        // then
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rows.capture());
+        assertThat(rows.getAllValues()).extracting(List::size).containsExactly(1, 1);
+        assertThat(buffer.getStatistics().pending()).isZero();
+    }
+
+    private HeartbeatWriteBuffer buffer(int stripes, int capacity, int batchSize) {
+        return new HeartbeatWriteBuffer(jdbcTemplate, sessionJournalService, transactionManager, stripes, capacity,
+                batchSize);
+    }
+}
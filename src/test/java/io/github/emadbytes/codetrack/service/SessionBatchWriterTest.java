@@ -0,0 +1,93 @@
+// src\test\java\io\github\emadbytes\codetrack\service\SessionBatchWriterTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.model.CodingSession;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.service.impl.SessionBatchWriter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SessionBatchWriterTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private SessionJournalService sessionJournalService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SessionBatchWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new SessionBatchWriter(entityManager, sessionJournalService, transactionManager);
+    }
+
+    @Test
+    void whenWrite_thenFlushAndClearEveryBatchInOneTransaction() {
+        // given
+        given(entityManager.unwrap(Session.class)).willReturn(session);
+        given(entityManager.getReference(eq(User.class), any())).willAnswer(invocation -> {
+            User user = new User();
+            user.setId(invocation.getArgument(1));
+            return user;
+        });
+        LocalDateTime start = LocalDateTime.of(2024, 3, 14, 9, 0);
+        List<SessionBatchWriter.NewSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sessions.add(new SessionBatchWriter.NewSession(1L, start.plusDays(i), start.plusDays(i).plusMinutes(45),
+                    SessionStatus.COMPLETED, "Alpha", null));
+        }
+
+        // when
+        writer.write(sessions, 2);
+
+        // then
+        ArgumentCaptor<CodingSession> persisted = ArgumentCaptor.forClass(CodingSession.class);
+        verify(entityManager, times(5)).persist(persisted.capture());
+        assertThat(persisted.getAllValues()).extracting(CodingSession::getDurationMinutes).containsOnly(45L);
+        assertThat(persisted.getAllValues()).extracting(s -> s.getUser().getId()).containsOnly(1L);
+        verify(sessionJournalService).recordInserted(persisted.getAllValues());
+        verify(session).setJdbcBatchSize(2);
+        // Two full batches and the remainder
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void whenNothingToWrite_thenDoNotStartTransaction() {
+        // when
+        writer.write(List.of(), 2);
+
+        // then
+        verify(transactionManager, never()).getTransaction(any());
+    }
+}
@@ -0,0 +1,98 @@
+// src\test\java\io\github\emadbytes\codetrack\service\SessionExportServiceTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.dto.CodingSessionDTO;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.service.impl.SessionExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class SessionExportServiceTest {
+
+    @Mock
+    private CodingSessionRepository sessionRepository;
+
+    private SessionExportService exportService;
+    private ByteArrayOutputStream output;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new SessionExportServiceImpl(sessionRepository, Jackson2ObjectMapperBuilder.json().build());
+        output = new ByteArrayOutputStream();
+    }
+
+    @Test
+    void whenExportUserSessionsAsCsv_thenQuoteFieldsThatNeedIt() throws Exception {
+        // given
+        AtomicBoolean closed = new AtomicBoolean();
+        given(sessionRepository.streamByUserId(1L)).willReturn(Stream.of(
+                session(1L, "Alpha", "plain", 60L),
+                session(2L, "Beta, Gamma", "said \"hi\"\nthen left", null))
+                .onClose(() -> closed.set(true)));
+
+        // when
+        long written = exportService.exportUserSessions(1L, SessionExportService.Format.CSV, output);
+
+        // then
+        assertThat(written).isEqualTo(2L);
+        assertThat(closed).isTrue();
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,user_id,username,project_name,description,status,start_time,end_time,duration_minutes\n"
+                        + "1,7,testuser,Alpha,plain,COMPLETED,2024-03-14T09:00,2024-03-14T10:00,60\n"
+                        + "2,7,testuser,\"Beta, Gamma\",\"said \"\"hi\"\"\nthen left\",COMPLETED,"
+                        + "2024-03-14T09:00,2024-03-14T10:00,\n");
+    }
+
+    @Test
+    void whenExportAllSessionsAsNdjson_thenWriteOneObjectPerLine() throws Exception {
+        // given
+        given(sessionRepository.streamAll()).willReturn(Stream.of(
+                session(1L, "Alpha", null, 60L),
+                session(2L, "Beta", null, 30L)));
+
+        // when
+        long written = exportService.exportAllSessions(SessionExportService.Format.NDJSON, output);
+
+        // then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(2L);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{").contains("\"id\":1", "\"projectName\":\"Alpha\"",
+                "\"startTime\":\"2024-03-14T09:00:00\"");
+        assertThat(lines[1]).contains("\"id\":2", "\"durationMinutes\":30");
+    }
+
+    @Test
+    void whenUserHasNoSessions_thenWriteOnlyCsvHeader() throws Exception {
+        // given
+        given(sessionRepository.streamByUserId(1L)).willReturn(Stream.empty());
+
+        // when
+        long written = exportService.exportUserSessions(1L, SessionExportService.Format.CSV, output);
+
+        // then
+        assertThat(written).isZero();
+        assertThat(output.toString(StandardCharsets.UTF_8)).hasLineCount(1);
+    }
+
+    private static CodingSessionDTO session(Long id, String projectName, String description, Long durationMinutes) {
+        LocalDateTime start = LocalDateTime.of(2024, 3, 14, 9, 0);
+        return new CodingSessionDTO(id, 7L, "testuser", start, start.plusHours(1), description, projectName,
+                SessionStatus.COMPLETED, durationMinutes);
+    }
+}
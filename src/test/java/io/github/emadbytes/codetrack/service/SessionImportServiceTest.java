@@ -0,0 +1,170 @@
+// src\test\java\io\github\emadbytes\codetrack\service\SessionImportServiceTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.service.impl.SessionBatchWriter;
+import io.github.emadbytes.codetrack.service.impl.SessionImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SessionImportServiceTest {
+
+    private static final String CSV_HEADER =
+            "id,user_id,username,project_name,description,status,start_time,end_time,duration_minutes\n";
+
+    @Mock
+    private SessionBatchWriter sessionBatchWriter;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DailyActivityRollupService rollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SessionImportService importService;
+    private List<List<SessionBatchWriter.NewSession>> writtenBatches;
+
+    @BeforeEach
+    void setUp() {
+        importService = new SessionImportServiceImpl(sessionBatchWriter, userRepository,
+                rollupService, eventPublisher, Jackson2ObjectMapperBuilder.json().build(), 2, 10);
+        writtenBatches = new ArrayList<>();
+    }
+
+    @Test
+    void whenImportUserSessionsFromCsv_thenWriteInBatchesAndRebuildRollup() throws Exception {
+        // given
+        givenBatchWriter();
+        String csv = CSV_HEADER
+                + "1,9,someone,Alpha,plain,COMPLETED,2024-03-14T09:00,2024-03-14T10:00,60\n"
+                + "2,9,someone,\"Beta, Gamma\",\"multi\nline\",COMPLETED,2024-03-14T11:00,2024-03-14T11:30,30\n"
+                + "3,9,someone,Alpha,,COMPLETED,2024-03-15T09:00,2024-03-15T09:45,45\n";
+
+        // when
+        SessionImportService.Report report = importService.importUserSessions(1L,
+                SessionExportService.Format.CSV, input(csv));
+
+        // then
+        assertThat(report.imported()).isEqualTo(3L);
+        assertThat(report.rejected()).isZero();
+        // Batch size 2: one full batch and the remainder
+        assertThat(writtenBatches).extracting(List::size).containsExactly(2, 1);
+        assertThat(writtenBatches.stream().flatMap(List::stream))
+                .extracting(SessionBatchWriter.NewSession::userId, SessionBatchWriter.NewSession::projectName,
+                        SessionBatchWriter.NewSession::description, SessionBatchWriter.NewSession::status)
+                .containsExactly(
+                        tuple(1L, "Alpha", "plain", SessionStatus.COMPLETED),
+                        tuple(1L, "Beta, Gamma", "multi\nline", SessionStatus.COMPLETED),
+                        tuple(1L, "Alpha", null, SessionStatus.COMPLETED));
+        verify(rollupService).rebuild(1L);
+        verify(eventPublisher).publishEvent(new SessionsImportedEvent(1L, 3L));
+    }
+
+    @Test
+    void whenRowsAreInvalid_thenSkipAndReportThemWithLineNumbers() throws Exception {
+        // given
+        givenBatchWriter();
+        String csv = CSV_HEADER
+                + "1,9,someone,Alpha,,COMPLETED,2024-03-14T09:00,2024-03-14T10:00,60\n"
+                + "2,9,someone,Alpha,,COMPLETED,not-a-time,2024-03-14T10:00,60\n"
+                + "3,9,someone,Alpha,,COMPLETED,2024-03-14T10:00,2024-03-14T09:00,60\n"
+                + "4,9,someone,Alpha,,IN_PROGRESS,2024-03-14T10:00,2024-03-14T11:00,\n"
+                + "5,9,someone,Alpha,,COMPLETED,2024-03-14T10:00,,\n";
+
+        // when
+        SessionImportService.Report report = importService.importUserSessions(1L,
+                SessionExportService.Format.CSV, input(csv));
+
+        // then
+        assertThat(report.imported()).isEqualTo(1L);
+        assertThat(report.rejected()).isEqualTo(4L);
+        assertThat(report.errors())
+                .extracting(SessionImportService.RowError::line)
+                .containsExactly(3L, 4L, 5L, 6L);
+        assertThat(report.errors().get(0).message()).contains("start time");
+        assertThat(writtenBatches).extracting(List::size).containsExactly(1);
+    }
+
+    @Test
+    void whenImportSessionsFromNdjson_thenResolveOwnersByUsername() throws Exception {
+        // given
+        givenBatchWriter();
+        User alice = new User();
+        alice.setId(5L);
+        given(userRepository.findByUsername("alice")).willReturn(Optional.of(alice));
+        given(userRepository.findByUsername("nobody")).willReturn(Optional.empty());
+        String ndjson = """
+                {"username":"alice","startTime":"2024-03-14T09:00:00","endTime":"2024-03-14T10:00:00","projectName":"Alpha"}
+                {"username":"nobody","startTime":"2024-03-14T09:00:00","endTime":"2024-03-14T10:00:00"}
+
+                {"username":"alice","startTime":"2024-03-15T09:00:00","endTime":"2024-03-15T09:30:00"}
+                not json
+                """;
+
+        // when
+        SessionImportService.Report report = importService.importSessions(
+                SessionExportService.Format.NDJSON, input(ndjson));
+
+        // then
+        assertThat(report.imported()).isEqualTo(2L);
+        assertThat(report.errors())
+                .extracting(SessionImportService.RowError::line)
+                .containsExactly(2L, 5L);
+        assertThat(report.errors().get(0).message()).isEqualTo("Unknown user: nobody");
+        verify(userRepository).findByUsername("alice");
+        verify(rollupService).rebuild(5L);
+        verify(eventPublisher).publishEvent(new SessionsImportedEvent(5L, 2L));
+    }
+
+    @Test
+    void whenNothingIsValid_thenDoNotTouchDatabase() throws Exception {
+        // when
+        SessionImportService.Report report = importService.importUserSessions(1L,
+                SessionExportService.Format.CSV, input(CSV_HEADER + "1,9,x,Alpha,,COMPLETED,,,\n"));
+
+        // then
+        assertThat(report.imported()).isZero();
+        assertThat(report.rejected()).isEqualTo(1L);
+        verify(sessionBatchWriter, never()).write(any(), anyInt());
+        verify(rollupService, never()).rebuild(any());
+    }
+
+    private void givenBatchWriter() {
+        // The importer reuses its batch list, so copy what is written
+        willAnswer(invocation -> writtenBatches.add(List.copyOf(invocation.getArgument(0))))
+                .given(sessionBatchWriter).write(any(), eq(2));
+    }
+
+    private static InputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,137 @@
+// src\test\java\io\github\emadbytes\codetrack\service\SessionJournalConcurrencyTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.model.UserDailyActivity;
+import io.github.emadbytes.codetrack.repository.UserDailyActivityRepository;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.service.impl.SessionJournalServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests for journal snapshots taken while another transaction is still
+ * appending events, against the real schema. Each append commits on its
+ * own, so the tests are not wrapped in one transaction.
+ *
+ * @see DataJpaTest
+ * @see SessionJournalService
+ */
+@DataJpaTest
+@Import(SessionJournalServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SessionJournalConcurrencyTest {
+
+    @Autowired
+    private SessionJournalService journalService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDailyActivityRepository dailyActivityRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+    private User testUser;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        testUser = new User();
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setPassword("password123");
+        testUser = userRepository.save(testUser);
+        day = LocalDate.of(2024, 3, 14);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        jdbcTemplate.update("delete from session_snapshots");
+        jdbcTemplate.update("delete from session_events");
+        dailyActivityRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void whenEventCommitsAfterLaterOneWasSnapshotted_thenReplayIt() throws Exception {
+        // given
+        CountDownLatch appended = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Future<?> slow = executor.submit(() -> transaction.executeWithoutResult(status -> {
+            journalService.recordCompleted(completed(1L, day.atTime(9, 0), 60L));
+            appended.countDown();
+            try {
+                commit.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(appended.await(5, TimeUnit.SECONDS)).isTrue();
+        // Assigned a higher ID than the slow event, but committed first
+        journalService.recordCompleted(completed(2L, day.atTime(14, 0), 30L));
+
+        // when
+        SessionJournalService.Snapshot snapshot;
+        try {
+            snapshot = journalService.takeSnapshot(testUser.getId());
+        } finally {
+            commit.countDown();
+        }
+        slow.get(5, TimeUnit.SECONDS);
+        journalService.replay(testUser.getId());
+
+        // then
+        assertThat(snapshot.days()).isEmpty();
+        assertThat(dailyActivity())
+                .extracting(UserDailyActivity::getSessionCount, UserDailyActivity::getTotalMinutes)
+                .containsExactly(tuple(2L, 90L));
+        assertThat(journalService.takeSnapshot(testUser.getId()).days()).containsExactly(
+                new SessionJournalService.Day(day, 2L, 90L, Map.of("Alpha", 90L)));
+    }
+
+    private SessionCompletedEvent completed(Long sessionId, LocalDateTime startTime, Long minutes) {
+        return new SessionCompletedEvent(sessionId, testUser.getId(), startTime, startTime.plusMinutes(minutes),
+                minutes, "Alpha");
+    }
+
+    private List<UserDailyActivity> dailyActivity() {
+        return dailyActivityRepository.findByUserIdAndActivityDateBetweenOrderByActivityDate(
+                testUser.getId(), day.minusDays(7), day.plusDays(7));
+    }
+}
@@ -0,0 +1,186 @@
+// src\test\java\io\github\emadbytes\codetrack\service\SessionJournalServiceTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.model.CodingSession;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.model.UserDailyActivity;
+import io.github.emadbytes.codetrack.repository.UserDailyActivityRepository;
+import io.github.emadbytes.codetrack.service.impl.SessionJournalServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration tests for SessionJournalService.
+ * Appends events, snapshots and replays them against the real schema.
+ *
+ * @see DataJpaTest
+ * @see SessionJournalService
+ */
+@DataJpaTest
+@Import(SessionJournalServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@RecordApplicationEvents
+class SessionJournalServiceTest {
+
+    @Autowired
+    private SessionJournalService journalService;
+
+    @Autowired
+    private UserDailyActivityRepository dailyActivityRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private User testUser;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+        testUser.setPassword("password123");
+        testUser = entityManager.persist(testUser);
+        day = LocalDate.of(2024, 3, 14);
+    }
+
+    @Test
+    void whenReplay_thenRebuildDailyActivityFromEndedEvents() {
+        // given
+        journalService.recordStarted(new SessionStartedEvent(1L, testUser.getId(), day.atTime(9, 0), "Alpha"));
+        journalService.recordCompleted(completed(1L, day.atTime(9, 0), 60L, "Alpha"));
+        journalService.recordCompleted(completed(2L, day.atTime(14, 0), 30L, "Beta"));
+        journalService.recordCompleted(completed(3L, day.plusDays(1).atTime(10, 0), 45L, null));
+
+        // when
+        int rows = journalService.replay(testUser.getId());
+
+        // then
+        assertThat(rows).isEqualTo(2);
+        assertThat(dailyActivity())
+                .extracting(UserDailyActivity::getActivityDate, UserDailyActivity::getSessionCount,
+                        UserDailyActivity::getTotalMinutes, UserDailyActivity::getProjectMinutes)
+                .containsExactly(
+                        tuple(day, 2L, 90L, Map.of("Alpha", 60L, "Beta", 30L)),
+                        tuple(day.plusDays(1), 1L, 45L, Map.of(UserDailyActivity.NO_PROJECT, 45L)));
+        assertThat(events.stream(SessionsImportedEvent.class))
+                .containsExactly(new SessionsImportedEvent(testUser.getId(), 3L));
+    }
+
+    @Test
+    void whenReplayAfterSnapshot_thenStartFromSnapshot() {
+        // given
+        journalService.recordCompleted(completed(1L, day.atTime(9, 0), 60L, "Alpha"));
+        SessionJournalService.Snapshot snapshot = journalService.takeSnapshot(testUser.getId());
+        // Events covered by the snapshot are no longer needed
+        jdbcTemplate.update("delete from session_events where id <= ?", snapshot.lastEventId());
+        journalService.recordCompleted(completed(2L, day.atTime(14, 0), 30L, "Alpha"));
+
+        // when
+        journalService.replay(testUser.getId());
+
+        // then
+        assertThat(snapshot.days()).containsExactly(
+                new SessionJournalService.Day(day, 1L, 60L, Map.of("Alpha", 60L)));
+        assertThat(dailyActivity())
+                .extracting(UserDailyActivity::getSessionCount, UserDailyActivity::getTotalMinutes)
+                .containsExactly(tuple(2L, 90L));
+    }
+
+    @Test
+    void whenSnapshotTakenInAppendingTransaction_thenIncludeItsOwnEvents() {
+        // given
+        journalService.recordCompleted(completed(1L, day.atTime(9, 0), 60L, "Alpha"));
+
+        // when
+        SessionJournalService.Snapshot snapshot = journalService.takeSnapshot(testUser.getId());
+
+        // then
+        assertThat(snapshot.lastEventId()).isPositive();
+        assertThat(snapshot.days()).containsExactly(
+                new SessionJournalService.Day(day, 1L, 60L, Map.of("Alpha", 60L)));
+    }
+
+    @Test
+    void whenSessionsInserted_thenAppendStartAndEndOfEach() {
+        // given
+        CodingSession completed = persistSession(day.atTime(9, 0), day.atTime(10, 0), SessionStatus.COMPLETED);
+        CodingSession active = persistSession(day.atTime(11, 0), null, SessionStatus.IN_PROGRESS);
+
+        // when
+        journalService.recordInserted(List.of(completed, active));
+
+        // then
+        assertThat(jdbcTemplate.queryForList(
+                "select event_type from session_events where user_id = ? order by id",
+                String.class, testUser.getId()))
+                .containsExactly("STARTED", "ENDED", "STARTED");
+    }
+
+    @Test
+    void whenHeartbeatRecorded_thenAppendOnlyForWrittenHeartbeat() {
+        // given
+        CodingSession active = persistSession(day.atTime(11, 0), null, SessionStatus.IN_PROGRESS);
+        jdbcTemplate.update("update coding_sessions set last_heartbeat = ? where id = ?",
+                day.atTime(11, 30), active.getId());
+
+        // when
+        journalService.recordHeartbeats(Map.of(active.getId(), day.atTime(11, 30)));
+        journalService.recordHeartbeats(Map.of(active.getId(), day.atTime(11, 45)));
+
+        // then
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from session_events where event_type = 'HEARTBEAT'", Long.class))
+                .isEqualTo(1L);
+    }
+
+    private SessionCompletedEvent completed(Long sessionId, LocalDateTime startTime, Long minutes, String project) {
+        return new SessionCompletedEvent(sessionId, testUser.getId(), startTime, startTime.plusMinutes(minutes),
+                minutes, project);
+    }
+
+    private CodingSession persistSession(LocalDateTime startTime, LocalDateTime endTime, SessionStatus status) {
+        CodingSession session = new CodingSession();
+        session.setUser(testUser);
+        session.setStartTime(startTime);
+        session.setEndTime(endTime);
+        session.setDurationMinutes(endTime != null ? 60L : null);
+        session.setProjectName("Alpha");
+        session.setStatus(status);
+        session = entityManager.persist(session);
+        entityManager.flush();
+        return session;
+    }
+
+    private List<UserDailyActivity> dailyActivity() {
+        return dailyActivityRepository.findByUserIdAndActivityDateBetweenOrderByActivityDate(
+                testUser.getId(), day.minusDays(7), day.plusDays(7));
+    }
+}
@@ -0,0 +1,144 @@
+// src\test\java\io\github\emadbytes\codetrack\service\SessionReaperServiceTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.dto.ActiveSession;
+import io.github.emadbytes.codetrack.event.SessionsReapedEvent;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.service.impl.SessionReaperServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SessionReaperServiceTest {
+
+    private static final Duration IDLE_CUTOFF = Duration.ofHours(12);
+
+    @Mock
+    private CodingSessionRepository sessionRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SessionReaperService reaperService;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        reaperService = new SessionReaperServiceImpl(sessionRepository, eventPublisher, transactionManager, 2);
+        start = LocalDateTime.of(2024, 3, 14, 9, 0);
+    }
+
+    @Test
+    void whenStaleSessionsSpanSeveralChunks_thenCancelChunkByChunk() {
+        // given
+        given(sessionRepository.findStaleActiveSessions(any(), any(Limit.class))).willReturn(
+                List.of(stale(1L, 10L), stale(2L, 20L)),
+                List.of(stale(3L, 10L)));
+        given(sessionRepository.cancelInProgressSessions(anyList(), any(LocalDateTime.class), anyLong()))
+                .willReturn(2, 1);
+
+        // when
+        SessionReaperService.Report report = reaperService.reapStaleSessions(IDLE_CUTOFF);
+
+        // then
+        assertThat(report.reaped()).isEqualTo(3L);
+        assertThat(report.users()).isEqualTo(2);
+        assertThat(report.chunks()).isEqualTo(2);
+        verify(sessionRepository).cancelInProgressSessions(List.of(1L, 2L), report.cutoff(),
+                IDLE_CUTOFF.toSeconds());
+        verify(sessionRepository).cancelInProgressSessions(List.of(3L), report.cutoff(), IDLE_CUTOFF.toSeconds());
+        ArgumentCaptor<SessionsReapedEvent> events = ArgumentCaptor.forClass(SessionsReapedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .extracting(SessionsReapedEvent::userId, SessionsReapedEvent::sessionIds)
+                .containsExactly(
+                        tuple(10L, List.of(1L)),
+                        tuple(20L, List.of(2L)),
+                        tuple(10L, List.of(3L)));
+    }
+
+    @Test
+    void whenLastChunkIsFull_thenCheckForMoreAndStopWhenNoneLeft() {
+        // given
+        given(sessionRepository.findStaleActiveSessions(any(), any(Limit.class))).willReturn(
+                List.of(stale(1L, 10L), stale(2L, 10L)),
+                List.of());
+        given(sessionRepository.cancelInProgressSessions(anyList(), any(LocalDateTime.class), anyLong()))
+                .willReturn(2);
+
+        // when
+        SessionReaperService.Report report = reaperService.reapStaleSessions(IDLE_CUTOFF);
+
+        // then
+        assertThat(report.reaped()).isEqualTo(2L);
+        assertThat(report.chunks()).isEqualTo(1);
+        verify(sessionRepository, times(2)).findStaleActiveSessions(any(), any(Limit.class));
+        verify(sessionRepository, times(1)).cancelInProgressSessions(anyList(), any(LocalDateTime.class), anyLong());
+    }
+
+    @Test
+    void whenSessionResumedBeforeUpdate_thenKeepItRegistered() {
+        // given
+        given(sessionRepository.findStaleActiveSessions(any(), any(Limit.class))).willReturn(
+                List.of(stale(1L, 10L), stale(2L, 20L)),
+                List.of());
+        given(sessionRepository.cancelInProgressSessions(anyList(), any(LocalDateTime.class), anyLong()))
+                .willReturn(1);
+        given(sessionRepository.findInProgressIds(List.of(1L, 2L))).willReturn(List.of(2L));
+
+        // when
+        SessionReaperService.Report report = reaperService.reapStaleSessions(IDLE_CUTOFF);
+
+        // then
+        assertThat(report.reaped()).isEqualTo(1L);
+        assertThat(report.users()).isEqualTo(1);
+        ArgumentCaptor<SessionsReapedEvent> events = ArgumentCaptor.forClass(SessionsReapedEvent.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        assertThat(events.getValue().userId()).isEqualTo(10L);
+        assertThat(events.getValue().sessionIds()).containsExactly(1L);
+    }
+
+    @Test
+    void whenNoStaleSessions_thenUpdateNothing() {
+        // given
+        given(sessionRepository.findStaleActiveSessions(any(), any(Limit.class))).willReturn(List.of());
+
+        // when
+        SessionReaperService.Report report = reaperService.reapStaleSessions(IDLE_CUTOFF);
+
+        // then
+        assertThat(report.reaped()).isZero();
+        assertThat(report.chunks()).isZero();
+        assertThat(report.cutoff()).isBefore(LocalDateTime.now().minus(IDLE_CUTOFF).plusMinutes(1));
+        verify(sessionRepository, never()).cancelInProgressSessions(anyList(), any(LocalDateTime.class), anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private ActiveSession stale(Long sessionId, Long userId) {
+        return new ActiveSession(sessionId, userId, start, "Alpha");
+    }
+}
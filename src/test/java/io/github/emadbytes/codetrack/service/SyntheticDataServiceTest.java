@@ -0,0 +1,165 @@
+// src\test\java\io\github\emadbytes\codetrack\service\SyntheticDataServiceTest.java
+package io.github.emadbytes.codetrack.service;
+
+import io.github.emadbytes.codetrack.event.SessionsImportedEvent;
+import io.github.emadbytes.codetrack.model.User;
+import io.github.emadbytes.codetrack.repository.UserRepository;
+import io.github.emadbytes.codetrack.service.impl.SessionBatchWriter;
+import io.github.emadbytes.codetrack.service.impl.SyntheticDataServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SyntheticDataServiceTest {
+
+    private static final Comparator<SessionBatchWriter.NewSession> BY_USER_AND_START = Comparator
+            .comparing(SessionBatchWriter.NewSession::userId)
+            .thenComparing(SessionBatchWriter.NewSession::startTime);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SessionBatchWriter sessionBatchWriter;
+
+    @Mock
+    private DailyActivityRollupService rollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private SyntheticDataService syntheticDataService;
+    private Queue<SessionBatchWriter.NewSession> written;
+    private AtomicLong nextUserId;
+
+    @BeforeEach
+    void setUp() {
+        syntheticDataService = new SyntheticDataServiceImpl(userRepository, sessionBatchWriter, rollupService,
+                eventPublisher, passwordEncoder);
+        written = new ConcurrentLinkedQueue<>();
+        nextUserId = new AtomicLong(1);
+    }
+
+    @Test
+    void whenGenerate_thenCreateUsersAndWriteSessionsInBatches() {
+        // given
+        givenEmptyDatabase();
+
+        // when
+        SyntheticDataService.Summary summary = syntheticDataService.generate(settings(42L, 1.1));
+
+        // then
+        assertThat(summary.users()).isEqualTo(5);
+        assertThat(summary.sessions()).isEqualTo(written.size()).isPositive();
+        assertThat(written).allSatisfy(session -> {
+            assertThat(session.endTime()).isAfter(session.startTime());
+            assertThat(session.endTime().toLocalDate()).isEqualTo(session.startTime().toLocalDate());
+            assertThat(session.startTime().toLocalDate()).isBefore(LocalDate.of(2024, 1, 1));
+        });
+        verify(passwordEncoder, times(1)).encode(anyString());
+        verify(rollupService, times(5)).rebuild(any());
+        verify(eventPublisher, times(5)).publishEvent(any(SessionsImportedEvent.class));
+    }
+
+    @Test
+    void whenGenerateTwiceWithSameSeed_thenProduceSameSessions() {
+        // given
+        givenEmptyDatabase();
+
+        // when
+        syntheticDataService.generate(settings(7L, 1.1));
+        List<SessionBatchWriter.NewSession> first = drainSorted();
+        nextUserId.set(1);
+        syntheticDataService.generate(settings(7L, 1.1));
+        List<SessionBatchWriter.NewSession> second = drainSorted();
+
+        // then
+        assertThat(first).isNotEmpty().isEqualTo(second);
+    }
+
+    @Test
+    void whenSkewed_thenActivityIsConcentratedOnFewUsers() {
+        // given
+        givenEmptyDatabase();
+
+        // when
+        syntheticDataService.generate(settings(42L, 2.0));
+
+        // then
+        Map<Long, Long> sessionsByUser = written.stream()
+                .collect(Collectors.groupingBy(SessionBatchWriter.NewSession::userId, Collectors.counting()));
+        long busiest = sessionsByUser.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertThat(busiest).isGreaterThan(written.size() / 2);
+    }
+
+    @Test
+    void whenSyntheticUsersExist_thenSkipGeneration() {
+        // given
+        given(userRepository.findByUsername("loaduser000001")).willReturn(Optional.of(new User()));
+
+        // when
+        SyntheticDataService.Summary summary = syntheticDataService.generate(settings(42L, 1.1));
+
+        // then
+        assertThat(summary.sessions()).isZero();
+        verify(userRepository, never()).saveAll(any());
+        verify(sessionBatchWriter, never()).write(any(), anyInt());
+    }
+
+    private void givenEmptyDatabase() {
+        given(userRepository.findByUsername("loaduser000001")).willReturn(Optional.empty());
+        given(passwordEncoder.encode(anyString())).willReturn("hash");
+        given(userRepository.saveAll(any())).willAnswer(invocation -> {
+            List<User> saved = new ArrayList<>();
+            for (User user : invocation.<Iterable<User>>getArgument(0)) {
+                user.setId(nextUserId.getAndIncrement());
+                saved.add(user);
+            }
+            return saved;
+        });
+        // Batches are reused by the generator, so copy what is written
+        willAnswer(invocation -> written.addAll(invocation.getArgument(0)))
+                .given(sessionBatchWriter).write(any(), anyInt());
+    }
+
+    private List<SessionBatchWriter.NewSession> drainSorted() {
+        List<SessionBatchWriter.NewSession> sessions = new ArrayList<>(written);
+        sessions.sort(BY_USER_AND_START);
+        written.clear();
+        return sessions;
+    }
+
+    private static SyntheticDataService.Settings settings(long seed, double skew) {
+        return new SyntheticDataService.Settings(5, 1, 2.0, 4, skew, seed, 3, 50, "loaduser",
+                LocalDate.of(2024, 1, 1));
+    }
+}
@@ -0,0 +1,137 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\ActiveDayIndexTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveDayIndexTest {
+
+    @Mock
+    private CodingSessionRepository sessionRepository;
+
+    private ActiveDayIndex activeDayIndex;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        activeDayIndex = new ActiveDayIndex(sessionRepository);
+        today = LocalDate.of(2024, 3, 14);
+    }
+
+    @Test
+    void whenRunSpansSeveralWords_thenCountWholeRun() {
+        // given
+        List<LocalDate> days = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            days.add(today.minusDays(i));
+        }
+        days.add(today.minusDays(400));
+        given(sessionRepository.findDistinctCompletedStartDates(1L)).willReturn(days);
+
+        // when
+        long current = activeDayIndex.currentStreak(1L, today);
+        long longest = activeDayIndex.longestStreak(1L, today);
+
+        // then
+        assertThat(current).isEqualTo(150L);
+        assertThat(longest).isEqualTo(150L);
+    }
+
+    @Test
+    void whenDaysAfterToday_thenIgnoreThemForLongestStreak() {
+        // given
+        given(sessionRepository.findDistinctCompletedStartDates(1L)).willReturn(List.of(
+                today.minusDays(1), today, today.plusDays(1), today.plusDays(2)));
+
+        // when
+        long longest = activeDayIndex.longestStreak(1L, today);
+
+        // then
+        assertThat(longest).isEqualTo(2L);
+    }
+
+    @Test
+    void whenNoActivityToday_thenCurrentStreakIsZero() {
+        // given
+        given(sessionRepository.findDistinctCompletedStartDates(1L)).willReturn(List.of(
+                today.minusDays(3), today.minusDays(2), today.minusDays(1)));
+
+        // when
+        long current = activeDayIndex.currentStreak(1L, today);
+        long longest = activeDayIndex.longestStreak(1L, today);
+
+        // then
+        assertThat(current).isZero();
+        assertThat(longest).isEqualTo(3L);
+    }
+
+    @Test
+    void whenSessionCompletedBeforeLoadedDays_thenExtendStreak() {
+        // given
+        given(sessionRepository.findDistinctCompletedStartDates(1L)).willReturn(List.of(today));
+        activeDayIndex.currentStreak(1L, today);
+
+        // when
+        for (int i = 1; i <= 100; i++) {
+            activeDayIndex.onSessionCompleted(new SessionCompletedEvent(10L + i, 1L,
+                    today.minusDays(i).atTime(9, 0), today.minusDays(i).atTime(10, 0), 60L, "Alpha"));
+        }
+
+        // then
+        assertThat(activeDayIndex.currentStreak(1L, today)).isEqualTo(101L);
+        assertThat(activeDayIndex.longestStreak(1L, today)).isEqualTo(101L);
+    }
+
+    @Test
+    void whenSessionCompletedWhileLoading_thenLoadAgain() throws Exception {
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(sessionRepository.findDistinctCompletedStartDates(1L))
+                .willAnswer(invocation -> {
+                    // The first load read its rows before the session of today committed
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of(today.minusDays(1));
+                })
+                .willReturn(List.of(today.minusDays(1), today));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // when
+            Future<Long> streak = executor.submit(() -> activeDayIndex.currentStreak(1L, today));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            activeDayIndex.onSessionCompleted(new SessionCompletedEvent(11L, 1L,
+                    today.atTime(9, 0), today.atTime(10, 0), 60L, "Alpha"));
+            release.countDown();
+
+            // then
+            assertThat(streak.get(5, TimeUnit.SECONDS)).isEqualTo(2L);
+            verify(sessionRepository, times(2)).findDistinctCompletedStartDates(1L);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\ActiveSessionRegistryTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.dto.ActiveSession;
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
+import io.github.emadbytes.codetrack.event.SessionsReapedEvent;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveSessionRegistryTest {
+
+    @Mock
+    private CodingSessionRepository sessionRepository;
+
+    private ActiveSessionRegistry registry;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ActiveSessionRegistry(sessionRepository);
+        start = LocalDateTime.of(2024, 3, 14, 9, 0);
+    }
+
+    @Test
+    void whenLoaded_thenAnswerFromMemory() {
+        // given
+        given(sessionRepository.findActiveSessions()).willReturn(List.of(
+                new ActiveSession(10L, 1L, start, "Alpha"),
+                new ActiveSession(20L, 2L, start, null)));
+
+        // when
+        registry.load();
+
+        // then
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.find(1L)).map(ActiveSession::sessionId).contains(10L);
+        assertThat(registry.find(3L)).isEmpty();
+        verify(sessionRepository, never()).findActiveSessionByUserId(any());
+    }
+
+    @Test
+    void whenNotLoaded_thenAnswerFromDatabase() {
+        // given
+        given(sessionRepository.findActiveSessionByUserId(1L))
+                .willReturn(Optional.of(new ActiveSession(10L, 1L, start, "Alpha")));
+
+        // when
+        Optional<ActiveSession> active = registry.find(1L);
+
+        // then
+        assertThat(active).map(ActiveSession::projectName).contains("Alpha");
+    }
+
+    @Test
+    void whenSessionStartedAndCompleted_thenRegisterAndRemoveIt() {
+        // given
+        given(sessionRepository.findActiveSessions()).willReturn(List.of());
+        registry.load();
+
+        // when
+        registry.onSessionStarted(new SessionStartedEvent(10L, 1L, start, "Alpha"));
+        Optional<ActiveSession> started = registry.find(1L);
+        registry.onSessionCompleted(completed(10L, 1L));
+
+        // then
+        assertThat(started).map(ActiveSession::sessionId).contains(10L);
+        assertThat(registry.find(1L)).isEmpty();
+    }
+
+    @Test
+    void whenOlderSessionCompleted_thenKeepNewerSession() {
+        // given
+        given(sessionRepository.findActiveSessions()).willReturn(List.of());
+        registry.load();
+        registry.onSessionStarted(new SessionStartedEvent(11L, 1L, start.plusHours(1), "Beta"));
+
+        // when
+        registry.onSessionCompleted(completed(10L, 1L));
+
+        // then
+        assertThat(registry.find(1L)).map(ActiveSession::sessionId).contains(11L);
+    }
+
+    @Test
+    void whenSessionStartedWhileLoading_thenKeepEventSnapshot() {
+        // given
+        registry.onSessionStarted(new SessionStartedEvent(11L, 1L, start.plusHours(1), "Beta"));
+        given(sessionRepository.findActiveSessions()).willReturn(List.of(
+                new ActiveSession(10L, 1L, start, "Alpha")));
+
+        // when
+        registry.load();
+
+        // then
+        assertThat(registry.find(1L)).map(ActiveSession::sessionId).contains(11L);
+    }
+
+    @Test
+    void whenSessionsReaped_thenRemoveOnlyReapedSession() {
+        // given
+        given(sessionRepository.findActiveSessions()).willReturn(List.of(
+                new ActiveSession(10L, 1L, start, "Alpha"),
+                new ActiveSession(20L, 2L, start, "Beta")));
+        registry.load();
+
+        // when
+        registry.onSessionsReaped(new SessionsReapedEvent(1L, List.of(10L)));
+        registry.onSessionsReaped(new SessionsReapedEvent(2L, List.of(19L)));
+
+        // then
+        assertThat(registry.find(1L)).isEmpty();
+        assertThat(registry.find(2L)).map(ActiveSession::sessionId).contains(20L);
+    }
+
+    private SessionCompletedEvent completed(Long sessionId, Long userId) {
+        return new SessionCompletedEvent(sessionId, userId, start, start.plusMinutes(30), 30L, "Alpha");
+    }
+}
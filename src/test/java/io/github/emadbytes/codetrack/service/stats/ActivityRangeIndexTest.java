@@ -0,0 +1,83 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\ActivityRangeIndexTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.repository.UserDailyActivityRepository;
+import io.github.emadbytes.codetrack.repository.projection.DailyTotals;
+import io.github.emadbytes.codetrack.service.stats.ActivityRangeIndex.RangeTotals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityRangeIndexTest {
+
+    private static final ProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
+    @Mock
+    private UserDailyActivityRepository dailyActivityRepository;
+
+    private ActivityRangeIndex activityRangeIndex;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        activityRangeIndex = new ActivityRangeIndex(dailyActivityRepository);
+        day = LocalDate.of(2024, 3, 14);
+    }
+
+    @Test
+    void whenRangeCoversSomeDays_thenSumOnlyThoseDays() {
+        // given
+        given(dailyActivityRepository.findDailyTotalsByUserId(1L)).willReturn(List.of(
+                dailyTotals(day.minusDays(400), 1L, 10L),
+                dailyTotals(day.minusDays(30), 2L, 90L),
+                dailyTotals(day, 1L, 45L)));
+
+        // when
+        RangeTotals lastMonth = activityRangeIndex.totals(1L, day.minusDays(30), day);
+        RangeTotals lastYear = activityRangeIndex.totals(1L, day.minusYears(1), day.minusDays(1));
+        RangeTotals future = activityRangeIndex.totals(1L, day.plusDays(1), day.plusYears(1));
+
+        // then
+        assertThat(lastMonth).isEqualTo(new RangeTotals(3L, 135L));
+        assertThat(lastYear).isEqualTo(new RangeTotals(2L, 90L));
+        assertThat(future).isEqualTo(new RangeTotals(0L, 0L));
+    }
+
+    @Test
+    void whenSessionCompletedOutsideLoadedDays_thenIncludeIt() {
+        // given
+        given(dailyActivityRepository.findDailyTotalsByUserId(1L)).willReturn(List.of(dailyTotals(day, 1L, 45L)));
+        activityRangeIndex.totals(1L, day, day);
+
+        // when
+        activityRangeIndex.onSessionCompleted(new SessionCompletedEvent(10L, 1L,
+                day.minusDays(500).atTime(9, 0), day.minusDays(500).atTime(10, 0), 60L, "Alpha"));
+        activityRangeIndex.onSessionCompleted(new SessionCompletedEvent(11L, 1L,
+                day.plusDays(500).atTime(9, 0), day.plusDays(500).atTime(9, 30), 30L, "Alpha"));
+
+        // then
+        assertThat(activityRangeIndex.totals(1L, day.minusYears(5), day.plusYears(5)))
+                .isEqualTo(new RangeTotals(3L, 135L));
+    }
+
+    private static DailyTotals dailyTotals(LocalDate date, Long sessionCount, Long totalMinutes) {
+        return projections.createProjection(DailyTotals.class, Map.of(
+                "activityDate", date,
+                "sessionCount", sessionCount,
+                "totalMinutes", totalMinutes));
+    }
+}
@@ -0,0 +1,126 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\DashboardAccumulatorAllocationTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Allocation benchmark of the primitive accumulators against the boxed maps
+ * they replace. Accumulates one dashboard request worth of sessions into
+ * day, hour and project totals both ways and compares the garbage allocated
+ * per request, as reported by the JVM for the current thread.
+ * <p>
+ * The numbers depend on the JVM, so the benchmark is left out of the default
+ * build and runs with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class DashboardAccumulatorAllocationTest {
+
+    private static final int SESSIONS = 5000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 100;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private LocalDate today;
+    private long[] epochDays;
+    private int[] hours;
+    private long[] minutes;
+    private String[] projects;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.of(2024, 3, 14);
+        epochDays = new long[SESSIONS];
+        hours = new int[SESSIONS];
+        minutes = new long[SESSIONS];
+        projects = new String[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            epochDays[i] = today.minusDays(i % 60).toEpochDay();
+            hours[i] = (i * 7) % 24;
+            // Above the range of cached Long instances
+            minutes[i] = 200 + i % 100;
+            projects[i] = "Project " + i % 20;
+        }
+    }
+
+    @Test
+    void whenAccumulatingPrimitives_thenAllocateFarLessThanBoxedMaps() {
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        // given
+        assertThat(accumulatePrimitives()).isEqualTo(accumulateBoxed());
+
+        // when
+        long boxedBytes = bytesPerRound(this::accumulateBoxed);
+        long primitiveBytes = bytesPerRound(this::accumulatePrimitives);
+
+        // then
+        System.out.printf("Bytes allocated per request for %d sessions: boxed maps %d, primitive accumulators %d%n",
+                SESSIONS, boxedBytes, primitiveBytes);
+        assertThat(primitiveBytes).isLessThan(boxedBytes / 10);
+    }
+
+    private long accumulateBoxed() {
+        Map<LocalDate, Long> days = new HashMap<>();
+        Map<Integer, Long> hourTotals = new HashMap<>();
+        Map<String, Long> projectTotals = new HashMap<>();
+        LocalDate monthStart = today.withDayOfMonth(1);
+        for (int i = 0; i < SESSIONS; i++) {
+            LocalDate day = LocalDate.ofEpochDay(epochDays[i]);
+            if (!day.isBefore(monthStart)) {
+                days.merge(day, minutes[i], Long::sum);
+            }
+            hourTotals.merge(hours[i], minutes[i], Long::sum);
+            projectTotals.merge(projects[i], minutes[i], Long::sum);
+        }
+        int bestHour = hourTotals.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(-1);
+        long dayTotal = days.values().stream().mapToLong(Long::longValue).sum();
+        return checksum(dayTotal, bestHour, projectTotals.get("Project 7"));
+    }
+
+    private long accumulatePrimitives() {
+        DayWindow days = DayWindow.between(today.withDayOfMonth(1), today);
+        HourOfDayTotals hourTotals = new HourOfDayTotals();
+        StringLongMap projectTotals = new StringLongMap();
+        for (int i = 0; i < SESSIONS; i++) {
+            days.add(epochDays[i], minutes[i]);
+            hourTotals.add(hours[i], minutes[i]);
+            projectTotals.add(projects[i], minutes[i]);
+        }
+        return checksum(days.sum(), hourTotals.maxHour(), projectTotals.get("Project 7"));
+    }
+
+    private long bytesPerRound(LongSupplier round) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += round.getAsLong();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += round.getAsLong();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertThat(sink).isNotZero();
+        return allocated / MEASURED_ROUNDS;
+    }
+
+    private static long checksum(long dayTotal, int bestHour, long projectTotal) {
+        return dayTotal * 31 * 31 + bestHour * 31L + projectTotal;
+    }
+}
@@ -0,0 +1,130 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\DashboardSectionRunnerTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardSectionRunnerTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void whenSequential_thenRunSectionOnCallingThread() {
+        // given
+        DashboardSectionRunner runner = new DashboardSectionRunner(transactionManager, executor, false,
+                Duration.ofSeconds(1));
+        Thread caller = Thread.currentThread();
+
+        // when
+        Thread sectionThread = runner.fork("thread", Thread::currentThread, null).join();
+
+        // then
+        assertThat(sectionThread).isSameAs(caller);
+        verify(transactionManager).getTransaction(any());
+    }
+
+    @Test
+    void whenParallel_thenRunSectionsConcurrentlyInOwnTransactions() {
+        // given
+        DashboardSectionRunner runner = new DashboardSectionRunner(transactionManager, executor, true,
+                Duration.ofSeconds(5));
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        // when
+        DashboardSectionRunner.Section<Boolean> first = runner.fork("first", () -> awaitOther(bothStarted), false);
+        DashboardSectionRunner.Section<Boolean> second = runner.fork("second", () -> awaitOther(bothStarted), false);
+
+        // then
+        assertThat(first.join()).isTrue();
+        assertThat(second.join()).isTrue();
+        assertThat(first.isFallback()).isFalse();
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    void whenSectionExceedsTimeout_thenInterruptItAndReturnFallback() throws InterruptedException {
+        // given
+        DashboardSectionRunner runner = new DashboardSectionRunner(transactionManager, executor, true,
+                Duration.ofMillis(50));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try {
+            // when
+            DashboardSectionRunner.Section<Boolean> slow = runner.fork("slow", () -> {
+                try {
+                    return release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                    return true;
+                }
+            }, false);
+
+            // then
+            assertThat(slow.join()).isFalse();
+            assertThat(slow.isFallback()).isTrue();
+            assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void whenSectionFails_thenRethrowCause() {
+        // given
+        DashboardSectionRunner runner = new DashboardSectionRunner(transactionManager, executor, true,
+                Duration.ofSeconds(1));
+
+        // when
+        DashboardSectionRunner.Section<Object> failing = runner.fork("failing", () -> {
+            throw new IllegalArgumentException("boom");
+        }, null);
+
+        // then
+        assertThatThrownBy(failing::join)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("boom");
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
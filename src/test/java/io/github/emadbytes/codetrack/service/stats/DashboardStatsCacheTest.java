@@ -0,0 +1,180 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\DashboardStatsCacheTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.dto.DashboardStatsDTO;
+import io.github.emadbytes.codetrack.event.SessionStartedEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardStatsCacheTest {
+
+    private MutableClock clock;
+    private DashboardStatsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(LocalDateTime.of(2024, 3, 14, 12, 0).toInstant(ZoneOffset.UTC));
+        cache = new DashboardStatsCache(2, Duration.ofMinutes(5), clock);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void whenGetStatsTwice_thenComputeOnce() {
+        // when
+        DashboardStatsDTO first = cache.getStats(1L, this::load);
+        DashboardStatsDTO second = cache.getStats(1L, this::load);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getStatistics().hits()).isEqualTo(1L);
+        assertThat(cache.getStatistics().misses()).isEqualTo(1L);
+    }
+
+    @Test
+    void whenSessionStarted_thenRecompute() {
+        // given
+        cache.getStats(1L, this::load);
+
+        // when
+        cache.onSessionStarted(new SessionStartedEvent(10L, 1L, LocalDateTime.now(), "Alpha"));
+        cache.getStats(1L, this::load);
+
+        // then
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getStatistics().invalidations()).isEqualTo(1L);
+    }
+
+    @Test
+    void whenDateChanges_thenRecompute() {
+        // given
+        clock.set(LocalDateTime.of(2024, 3, 14, 23, 59).toInstant(ZoneOffset.UTC));
+        cache.getStats(1L, this::load);
+
+        // when
+        clock.set(LocalDateTime.of(2024, 3, 15, 0, 1).toInstant(ZoneOffset.UTC));
+        cache.getStats(1L, this::load);
+
+        // then
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getStatistics().evictions()).isEqualTo(1L);
+    }
+
+    @Test
+    void whenTimeToLiveExpires_thenRecompute() {
+        // given
+        cache.getStats(1L, this::load);
+
+        // when
+        clock.set(clock.instant().plus(Duration.ofMinutes(5)));
+        cache.getStats(1L, this::load);
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenMoreUsersThanMaxEntries_thenEvictLeastRecentlyUsed() {
+        // given
+        cache.getStats(1L, this::load);
+        cache.getStats(2L, this::load);
+        cache.getStats(1L, this::load);
+
+        // when
+        cache.getStats(3L, this::load);
+        cache.getStats(1L, this::load);
+
+        // then
+        assertThat(loads).hasValue(3);
+        assertThat(cache.getStatistics().size()).isEqualTo(2);
+        assertThat(cache.getStatistics().evictions()).isEqualTo(1L);
+    }
+
+    @Test
+    void whenInvalidatedWhileLoading_thenDoNotCacheResult() {
+        // when
+        cache.getStats(1L, () -> {
+            cache.invalidate(1L);
+            return load();
+        });
+        cache.getStats(1L, this::load);
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void whenOtherUserInvalidatedWhileLoading_thenCacheResult() {
+        // when
+        cache.getStats(1L, () -> {
+            cache.invalidate(2L);
+            return load();
+        });
+        cache.getStats(1L, this::load);
+
+        // then
+        assertThat(loads).hasValue(1);
+        assertThat(cache.getStatistics().hits()).isEqualTo(1L);
+    }
+
+    @Test
+    void whenStatsPartial_thenDoNotCacheThem() {
+        // when
+        cache.getStats(1L, () -> {
+            DashboardStatsDTO stats = load();
+            stats.setPartial(true);
+            return stats;
+        });
+        cache.getStats(1L, this::load);
+        cache.getStats(1L, this::load);
+
+        // then
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getStatistics().hits()).isEqualTo(1L);
+    }
+
+    private DashboardStatsDTO load() {
+        loads.incrementAndGet();
+        return new DashboardStatsDTO();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\DayWindowTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DayWindowTest {
+
+    private final LocalDate firstDay = LocalDate.of(2024, 3, 1);
+
+    @Test
+    void whenValuesAdded_thenSumPerDayWithinWindow() {
+        // given
+        DayWindow window = DayWindow.between(firstDay, firstDay.plusDays(6));
+
+        // when
+        boolean first = window.add(firstDay, 30L);
+        boolean last = window.add(firstDay.plusDays(6).toEpochDay(), 45L);
+        window.add(firstDay, 15L);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(last).isTrue();
+        assertThat(window.length()).isEqualTo(7);
+        assertThat(window.get(0)).isEqualTo(45L);
+        assertThat(window.get(6)).isEqualTo(45L);
+        assertThat(window.dayAt(6)).isEqualTo(firstDay.plusDays(6));
+        assertThat(window.sum()).isEqualTo(90L);
+    }
+
+    @Test
+    void whenDayOutsideWindow_thenIgnoreValue() {
+        // given
+        DayWindow window = DayWindow.between(firstDay, firstDay.plusDays(6));
+
+        // when
+        boolean before = window.add(firstDay.minusDays(1), 30L);
+        boolean after = window.add(firstDay.plusDays(7), 30L);
+
+        // then
+        assertThat(before).isFalse();
+        assertThat(after).isFalse();
+        assertThat(window.sum()).isZero();
+    }
+
+    @Test
+    void whenLastDayBeforeFirst_thenWindowIsEmpty() {
+        // when
+        DayWindow window = DayWindow.between(firstDay, firstDay.minusDays(1));
+
+        // then
+        assertThat(window.length()).isZero();
+        assertThat(window.add(firstDay, 30L)).isFalse();
+        assertThat(window.sum()).isZero();
+    }
+}
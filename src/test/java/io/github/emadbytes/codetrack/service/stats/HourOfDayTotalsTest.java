@@ -0,0 +1,52 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\HourOfDayTotalsTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HourOfDayTotalsTest {
+
+    @Test
+    void whenValuesAdded_thenSumPerHourAndFindMaximum() {
+        // given
+        HourOfDayTotals totals = new HourOfDayTotals();
+
+        // when
+        totals.add(9, 30L);
+        totals.add(14, 45L);
+        totals.add(9, 20L);
+        totals.add(23, 10L);
+
+        // then
+        assertThat(totals.get(9)).isEqualTo(50L);
+        assertThat(totals.get(14)).isEqualTo(45L);
+        assertThat(totals.get(0)).isZero();
+        assertThat(totals.maxHour()).isEqualTo(9);
+    }
+
+    @Test
+    void whenHoursTie_thenPickEarlierHour() {
+        // given
+        HourOfDayTotals totals = new HourOfDayTotals();
+
+        // when
+        totals.add(16, 60L);
+        totals.add(8, 60L);
+
+        // then
+        assertThat(totals.maxHour()).isEqualTo(8);
+    }
+
+    @Test
+    void whenNoPositiveTotal_thenNoMaximum() {
+        // given
+        HourOfDayTotals totals = new HourOfDayTotals();
+
+        // when
+        totals.add(10, 0L);
+
+        // then
+        assertThat(totals.maxHour()).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,158 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\PlatformSessionColumnsTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for PlatformSessionColumns.
+ * Refreshes the columns from journal events written to the real schema.
+ *
+ * @see DataJpaTest
+ * @see PlatformSessionColumns
+ */
+@DataJpaTest
+@Import(PlatformSessionColumns.class)
+@TestPropertySource(properties = "codetrack.analytics.refresh-page-size=2")
+class PlatformSessionColumnsTest {
+
+    @Autowired
+    private PlatformSessionColumns platformColumns;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User alice;
+    private User bob;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        // The bean lives in the cached context, its rows survive the rollback of earlier tests
+        platformColumns.clear();
+        alice = persistUser("alice");
+        bob = persistUser("bob");
+        day = LocalDate.of(2024, 3, 14);
+    }
+
+    @Test
+    void whenRefreshed_thenTotalCompletedSessionsPerUserProjectAndDay() {
+        // given
+        recordEnded(alice, day.atTime(9, 0), 60L, "Alpha");
+        recordEnded(alice, day.plusDays(1).atTime(9, 0), 30L, null);
+        recordEnded(bob, day.atTime(14, 0), 45L, "Alpha");
+        recordEvent(bob, "STARTED", day.atTime(16, 0), null, "Beta", LocalDateTime.now());
+
+        // when
+        int appended = platformColumns.refresh();
+
+        // then
+        assertThat(appended).isEqualTo(3);
+        assertThat(platformColumns.totalsByUser(null, null))
+                .filteredOn(totals -> totals.userId() == alice.getId() || totals.userId() == bob.getId())
+                .containsExactly(
+                new PlatformSessionColumns.UserTotals(alice.getId(), 2L, 90L),
+                new PlatformSessionColumns.UserTotals(bob.getId(), 1L, 45L));
+        assertThat(platformColumns.totalsByProject(day, day)).containsExactly(
+                new PlatformSessionColumns.ProjectTotals("Alpha", 2L, 105L));
+        assertThat(platformColumns.totalsByDay(day.minusDays(1), day.plusDays(1))).containsExactly(
+                new PlatformSessionColumns.DayTotals(day.minusDays(1), 0L, 0L),
+                new PlatformSessionColumns.DayTotals(day, 2L, 105L),
+                new PlatformSessionColumns.DayTotals(day.plusDays(1), 1L, 30L));
+    }
+
+    @Test
+    void whenRefreshedAgain_thenAppendOnlyNewEvents() {
+        // given
+        recordEnded(alice, day.atTime(9, 0), 60L, "Alpha");
+        platformColumns.refresh();
+        recordEnded(bob, day.atTime(10, 0), 15L, "Beta");
+
+        // when
+        int appended = platformColumns.refresh();
+
+        // then
+        assertThat(appended).isEqualTo(1);
+        assertThat(platformColumns.totalsByProject(null, null)).containsExactly(
+                new PlatformSessionColumns.ProjectTotals("Alpha", 1L, 60L),
+                new PlatformSessionColumns.ProjectTotals("Beta", 1L, 15L));
+        PlatformSessionColumns.Statistics statistics = platformColumns.getStatistics();
+        assertThat(statistics.sessions()).isEqualTo(2);
+        assertThat(statistics.users()).isEqualTo(2);
+        assertThat(statistics.blocks()).isEqualTo(1);
+        assertThat(statistics.refreshes()).isEqualTo(2L);
+    }
+
+    @Test
+    void whenEventCommittedAfterLaterOne_thenAppendItOnNextRefresh() {
+        // given
+        recordEnded(alice, day.atTime(9, 0), 60L, "Alpha");
+        long lateId = jdbcTemplate.queryForObject("select max(id) from session_events", Long.class) + 1;
+        // The event after the late one commits first
+        recordEndedWithId(lateId + 1, bob, day.atTime(10, 0), 15L, "Alpha");
+        int appendedBefore = platformColumns.refresh();
+        long gapIdsBefore = platformColumns.getStatistics().gapIds();
+        recordEndedWithId(lateId, bob, day.atTime(11, 0), 30L, "Beta");
+
+        // when
+        int appended = platformColumns.refresh();
+
+        // then
+        assertThat(appendedBefore).isEqualTo(2);
+        assertThat(appended).isEqualTo(1);
+        assertThat(platformColumns.totalsByProject(null, null)).containsExactly(
+                new PlatformSessionColumns.ProjectTotals("Alpha", 2L, 75L),
+                new PlatformSessionColumns.ProjectTotals("Beta", 1L, 30L));
+        PlatformSessionColumns.Statistics statistics = platformColumns.getStatistics();
+        assertThat(statistics.gapIds()).isEqualTo(gapIdsBefore - 1);
+        assertThat(statistics.lastEventId()).isEqualTo(lateId + 1);
+    }
+
+    @Test
+    void whenDayRangeTooLong_thenReject() {
+        // when / then
+        assertThatThrownBy(() -> platformColumns.totalsByDay(day, day.plusDays(PlatformSessionColumns.MAX_DAY_RANGE)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password123");
+        return entityManager.persist(user);
+    }
+
+    private void recordEnded(User user, LocalDateTime startTime, Long minutes, String project) {
+        recordEvent(user, "ENDED", startTime, minutes, project, LocalDateTime.now().minusHours(1));
+    }
+
+    private void recordEndedWithId(long id, User user, LocalDateTime startTime, Long minutes, String project) {
+        jdbcTemplate.update("insert into session_events (id, user_id, session_id, event_type, occurred_at, "
+                + "start_time, duration_minutes, project_name, recorded_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                id, user.getId(), 1L, "ENDED", startTime, startTime, minutes, project, LocalDateTime.now());
+    }
+
+    private void recordEvent(User user, String type, LocalDateTime startTime, Long minutes, String project,
+            LocalDateTime recordedAt) {
+        jdbcTemplate.update("insert into session_events (user_id, session_id, event_type, occurred_at, start_time, "
+                + "duration_minutes, project_name, recorded_at) values (?, ?, ?, ?, ?, ?, ?, ?)",
+                user.getId(), 1L, type, startTime, startTime, minutes, project, recordedAt);
+    }
+}
@@ -0,0 +1,123 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\ProductivityHeatmapTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.repository.projection.SessionInterval;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ProductivityHeatmapTest {
+
+    @Mock
+    private CodingSessionRepository sessionRepository;
+
+    private ProductivityHeatmap heatmap;
+
+    @BeforeEach
+    void setUp() {
+        heatmap = new ProductivityHeatmap(sessionRepository);
+    }
+
+    @Test
+    void whenSessionCrossesMidnightOnSunday_thenSplitIntoMonday() {
+        // given
+        given(sessionRepository.findCompletedIntervals(1L)).willReturn(List.of());
+        heatmap.mostProductiveHour(1L);
+        LocalDateTime sundayEvening = LocalDateTime.of(2024, 3, 17, 23, 40);
+
+        // when
+        heatmap.onSessionCompleted(completedEvent(sundayEvening, sundayEvening.plusMinutes(50)));
+
+        // then
+        long[][] minutes = heatmap.minutesByWeekdayAndHour(1L);
+        assertThat(minutes[6][23]).isEqualTo(20L);
+        assertThat(minutes[0][0]).isEqualTo(30L);
+        assertThat(heatmap.mostProductiveHour(1L)).isEqualTo(0);
+        verify(sessionRepository, times(1)).findCompletedIntervals(1L);
+    }
+
+    @Test
+    void whenUserNotLoaded_thenIgnoreCompletedSession() {
+        // given
+        LocalDateTime start = LocalDateTime.of(2024, 3, 13, 9, 0);
+        heatmap.onSessionCompleted(completedEvent(start, start.plusHours(1)));
+        given(sessionRepository.findCompletedIntervals(1L)).willReturn(List.of());
+
+        // when
+        Integer hour = heatmap.mostProductiveHour(1L);
+
+        // then
+        assertThat(hour).isNull();
+    }
+
+    @Test
+    void whenSessionCompletedWhileLoading_thenCountItOnce() throws Exception {
+        // given
+        LocalDateTime start = LocalDateTime.of(2024, 3, 13, 9, 0);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(sessionRepository.findCompletedIntervals(1L))
+                .willAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                })
+                .willReturn(List.of(interval(start, start.plusHours(1))));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // when
+            Future<long[][]> minutes = executor.submit(() -> heatmap.minutesByWeekdayAndHour(1L));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            heatmap.onSessionCompleted(completedEvent(start, start.plusHours(1)));
+            release.countDown();
+
+            // then
+            assertThat(minutes.get(5, TimeUnit.SECONDS)[2][9]).isEqualTo(60L);
+            assertThat(heatmap.minutesByWeekdayAndHour(1L)[2][9]).isEqualTo(60L);
+            verify(sessionRepository, times(2)).findCompletedIntervals(1L);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static SessionCompletedEvent completedEvent(LocalDateTime start, LocalDateTime end) {
+        return new SessionCompletedEvent(10L, 1L, start, end,
+                Duration.between(start, end).toMinutes(), "Alpha");
+    }
+
+    private static SessionInterval interval(LocalDateTime start, LocalDateTime end) {
+        return new SessionInterval() {
+            @Override
+            public LocalDateTime getStartTime() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndTime() {
+                return end;
+            }
+        };
+    }
+}
@@ -0,0 +1,173 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\SessionColumnStoreTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import io.github.emadbytes.codetrack.event.SessionCompletedEvent;
+import io.github.emadbytes.codetrack.model.SessionStatus;
+import io.github.emadbytes.codetrack.repository.CodingSessionRepository;
+import io.github.emadbytes.codetrack.repository.projection.EndedSession;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SessionColumnStoreTest {
+
+    private static final ProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+
+    @Mock
+    private CodingSessionRepository sessionRepository;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2024, 3, 14, 9, 0);
+    }
+
+    @Test
+    void whenLoaded_thenSumCompletedSessionsPerProject() {
+        // given
+        SessionColumnStore store = new SessionColumnStore(sessionRepository, 1024 * 1024);
+        given(sessionRepository.findEndedSessions(1L)).willReturn(List.of(
+                endedSession(start, 90, "Alpha", SessionStatus.COMPLETED),
+                endedSession(start.plusDays(1), 30, "Alpha", SessionStatus.COMPLETED),
+                endedSession(start.plusDays(2), 45, null, SessionStatus.COMPLETED),
+                endedSession(start.plusDays(3), 20, "Beta", SessionStatus.CANCELLED)));
+
+        // when
+        ActivityRangeIndex.RangeTotals totals = store.completedTotals(1L);
+        Map<String, Long> projects = new HashMap<>();
+        store.forEachProject(1L, projects::put);
+
+        // then
+        assertThat(totals).isEqualTo(new ActivityRangeIndex.RangeTotals(3L, 165L));
+        assertThat(projects).hasSize(2)
+                .containsEntry("Alpha", 120L)
+                .containsEntry(null, 45L);
+    }
+
+    @Test
+    void whenSessionCompleted_thenAppendToLoadedColumns() {
+        // given
+        SessionColumnStore store = new SessionColumnStore(sessionRepository, 1024 * 1024);
+        given(sessionRepository.findEndedSessions(1L)).willReturn(List.of(
+                endedSession(start, 60, "Alpha", SessionStatus.COMPLETED)));
+        store.completedTotals(1L);
+
+        // when
+        for (int i = 1; i <= 20; i++) {
+            store.onSessionCompleted(new SessionCompletedEvent((long) i, 1L, start.plusDays(i),
+                    start.plusDays(i).plusMinutes(30), 30L, "Project " + i % 3));
+        }
+
+        // then
+        assertThat(store.completedTotals(1L)).isEqualTo(new ActivityRangeIndex.RangeTotals(21L, 660L));
+        assertThat(store.getStatistics().sessions()).isEqualTo(21L);
+        verify(sessionRepository, times(1)).findEndedSessions(1L);
+    }
+
+    @Test
+    void whenDurationNotWholeMinutes_thenSumRecordedMinutes() {
+        // given
+        SessionColumnStore store = new SessionColumnStore(sessionRepository, 1024 * 1024);
+        given(sessionRepository.findEndedSessions(1L)).willReturn(List.of());
+        store.completedTotals(1L);
+        LocalDateTime started = start.plusNanos(700_000_000L);
+        LocalDateTime ended = start.plusMinutes(30).plusNanos(200_000_000L);
+
+        // when
+        store.onSessionCompleted(new SessionCompletedEvent(1L, 1L, started, ended,
+                Duration.between(started, ended).toMinutes(), "Alpha"));
+
+        // then
+        assertThat(store.completedTotals(1L)).isEqualTo(new ActivityRangeIndex.RangeTotals(1L, 29L));
+    }
+
+    @Test
+    void whenSessionCompletedWhileLoading_thenLoadAgain() throws Exception {
+        // given
+        SessionColumnStore store = new SessionColumnStore(sessionRepository, 1024 * 1024);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(sessionRepository.findEndedSessions(1L))
+                .willAnswer(invocation -> {
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of(endedSession(start, 60, "Alpha", SessionStatus.COMPLETED));
+                })
+                .willReturn(List.of(
+                        endedSession(start, 60, "Alpha", SessionStatus.COMPLETED),
+                        endedSession(start.plusDays(1), 30, "Alpha", SessionStatus.COMPLETED)));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // when
+            Future<ActivityRangeIndex.RangeTotals> totals = executor.submit(() -> store.completedTotals(1L));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            store.onSessionCompleted(new SessionCompletedEvent(2L, 1L, start.plusDays(1),
+                    start.plusDays(1).plusMinutes(30), 30L, "Alpha"));
+            release.countDown();
+
+            // then
+            assertThat(totals.get(5, TimeUnit.SECONDS)).isEqualTo(new ActivityRangeIndex.RangeTotals(2L, 90L));
+            assertThat(store.getStatistics().loads()).isEqualTo(1L);
+            verify(sessionRepository, times(2)).findEndedSessions(1L);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void whenOverBudget_thenEvictLeastRecentlyUsedUser() {
+        // given
+        SessionColumnStore store = new SessionColumnStore(sessionRepository, 1L);
+        given(sessionRepository.findEndedSessions(1L)).willReturn(List.of());
+        given(sessionRepository.findEndedSessions(2L)).willReturn(List.of());
+        store.completedTotals(1L);
+
+        // when
+        store.completedTotals(2L);
+        store.completedTotals(2L);
+        store.completedTotals(1L);
+
+        // then
+        SessionColumnStore.Statistics statistics = store.getStatistics();
+        assertThat(statistics.users()).isEqualTo(1);
+        assertThat(statistics.loads()).isEqualTo(3L);
+        assertThat(statistics.evictions()).isEqualTo(2L);
+        verify(sessionRepository, times(2)).findEndedSessions(1L);
+        verify(sessionRepository, times(1)).findEndedSessions(2L);
+    }
+
+    private static EndedSession endedSession(LocalDateTime startTime, long minutes, String projectName,
+            SessionStatus status) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("startTime", startTime);
+        row.put("durationMinutes", minutes);
+        row.put("projectName", projectName);
+        row.put("status", status);
+        return projections.createProjection(EndedSession.class, row);
+    }
+}
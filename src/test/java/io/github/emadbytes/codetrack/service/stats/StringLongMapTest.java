@@ -0,0 +1,69 @@
+// src\test\java\io\github\emadbytes\codetrack\service\stats\StringLongMapTest.java
+package io.github.emadbytes.codetrack.service.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringLongMapTest {
+
+    @Test
+    void whenKeysAddedRepeatedly_thenSumPerKey() {
+        // given
+        StringLongMap map = new StringLongMap();
+
+        // when
+        map.add("Alpha", 60L);
+        map.add("Beta", 30L);
+        map.add("Alpha", 15L);
+        map.add(null, 5L);
+
+        // then
+        assertThat(map.size()).isEqualTo(3);
+        assertThat(map.get("Alpha")).isEqualTo(75L);
+        assertThat(map.get("Beta")).isEqualTo(30L);
+        assertThat(map.get(null)).isEqualTo(5L);
+        assertThat(map.get("Gamma")).isZero();
+        assertThat(map.containsKey("Gamma")).isFalse();
+        assertThat(map.toMap()).hasSize(3)
+                .containsEntry("Alpha", 75L)
+                .containsEntry(null, 5L);
+    }
+
+    @Test
+    void whenTableGrows_thenKeepEveryTotal() {
+        // given
+        StringLongMap map = new StringLongMap(2);
+        Map<String, Long> expected = new HashMap<>();
+
+        // when
+        for (int i = 0; i < 5000; i++) {
+            String project = "Project " + (i % 1000);
+            map.add(project, i);
+            expected.merge(project, (long) i, Long::sum);
+        }
+
+        // then
+        assertThat(map.size()).isEqualTo(1000);
+        assertThat(map.toMap()).isEqualTo(expected);
+    }
+
+    @Test
+    void whenKeysCollide_thenKeepThemApart() {
+        // given
+        StringLongMap map = new StringLongMap();
+
+        // when
+        // "Aa" and "BB" have the same hash code
+        map.add("Aa", 1L);
+        map.add("BB", 2L);
+
+        // then
+        assertThat(map.get("Aa")).isEqualTo(1L);
+        assertThat(map.get("BB")).isEqualTo(2L);
+        assertThat(map.size()).isEqualTo(2);
+    }
+}